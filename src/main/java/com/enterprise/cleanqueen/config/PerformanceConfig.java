@@ -1,6 +1,7 @@
 package com.enterprise.cleanqueen.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,4 +22,32 @@ public class PerformanceConfig {
         executor.initialize();
         return executor;
     }
+    
+    // BCrypt hashing is CPU bound, so bulk operations hash on one thread per core
+    @Bean(name = "passwordHashingExecutor")
+    public Executor passwordHashingExecutor() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors);
+        executor.setQueueCapacity(1000);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("CleanQueen-Hash-");
+        executor.initialize();
+        return executor;
+    }
+    
+    // Review images are compressed and uploaded concurrently; a full queue makes the request thread do the work itself
+    @Bean(name = "imageUploadExecutor")
+    public Executor imageUploadExecutor() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors * 2);
+        executor.setQueueCapacity(50);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("CleanQueen-Image-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -81,6 +81,7 @@ public class SecurityConfig {
                 .requestMatchers("/actuator/**").permitAll() // Allow actuator endpoints
                 .requestMatchers(HttpMethod.GET, "/projects/user/**").authenticated() // Require authentication for get projects by user
                 .requestMatchers(HttpMethod.GET, "/projects/*/tasks").authenticated() // Require authentication for get project tasks
+                .requestMatchers(HttpMethod.GET, "/projects/*/tasks/stream").authenticated() // Require authentication for streamed project tasks
 
                 // Admin only endpoints
                 .requestMatchers("/admin/**").hasRole("ADMIN")
@@ -1,6 +1,12 @@
 package com.enterprise.cleanqueen.controller;
 
+import java.time.LocalDate;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -9,8 +15,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.enterprise.cleanqueen.dto.admin.AdminDashboardResponse;
+import com.enterprise.cleanqueen.dto.admin.AdminSearchResponse;
+import com.enterprise.cleanqueen.dto.admin.BulkCreateSupervisorsRequest;
+import com.enterprise.cleanqueen.dto.admin.BulkCreateSupervisorsResponse;
 import com.enterprise.cleanqueen.dto.admin.CreateSupervisorRequest;
 import com.enterprise.cleanqueen.dto.admin.CreateSupervisorResponse;
 import com.enterprise.cleanqueen.dto.admin.SendProjectCodeRequest;
@@ -21,6 +33,9 @@ import com.enterprise.cleanqueen.dto.admin.GetAllCustomersResponse;
 import com.enterprise.cleanqueen.dto.admin.GetAllCleaningRequestsResponse;
 import com.enterprise.cleanqueen.dto.admin.GetAllProjectsResponse;
 import com.enterprise.cleanqueen.dto.common.ApiErrorResponse;
+import com.enterprise.cleanqueen.enums.CleaningRequestStatus;
+import com.enterprise.cleanqueen.enums.ExportFormat;
+import com.enterprise.cleanqueen.enums.ProjectStatus;
 import com.enterprise.cleanqueen.service.AdminService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -102,6 +117,81 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Create Supervisors in Bulk",
+            description = """
+        **Create up to 500 supervisor accounts in one request, from JSON or CSV.**
+        
+        **Admin Only Access:**
+        - Only users with ADMIN role can create supervisors
+        - Requires valid JWT token in Authorization header
+        
+        **Input:**
+        - `application/json`: `{"supervisors": [{"firstName", "lastName", "email", "phoneNumber"}, ...]}`
+        - `text/csv`: header row `firstName,lastName,email,phoneNumber` followed by one supervisor per line
+        
+        **Process:**
+        1. Every row is validated; invalid rows, repeated emails and already registered emails are reported and skipped
+        2. Temporary passwords are generated and hashed in parallel
+        3. Valid supervisors are created together
+        4. Credential emails are sent to all created supervisors
+        
+        **Response:**
+        - One result per input row (numbered from 1, excluding the CSV header) with the new supervisor ID or the reason it was skipped
+        """,
+            tags = {"Admin Management"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "✅ Bulk creation processed - see per-row results",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = BulkCreateSupervisorsResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "400",
+                description = "❌ Empty upload, too many rows or malformed CSV",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "401",
+                description = "❌ Unauthorized - Invalid or missing authentication token",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "403",
+                description = "❌ Access denied - Admin role required",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        )
+    })
+    @PostMapping(value = "/supervisors/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createSupervisors(
+            @Parameter(description = "Supervisors to create", required = true)
+            @Valid @RequestBody BulkCreateSupervisorsRequest request) {
+        BulkCreateSupervisorsResponse response = adminService.createSupervisors(request.getSupervisors());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(hidden = true)
+    @PostMapping(value = "/supervisors/bulk", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createSupervisorsFromCsv(@RequestBody String csv) {
+        BulkCreateSupervisorsResponse response = adminService.createSupervisorsFromCsv(csv);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "Send Project Code to Customer",
             description = """
@@ -176,6 +266,11 @@ public class AdminController {
         - Returns list of all supervisor accounts with basic information
         - Includes account status (active/inactive)
         - Excludes sensitive information like passwords
+        
+        **Pagination and Search:**
+        - Newest accounts first, up to `limit` per page (default 50, max 200)
+        - Pass `nextCursor` from a response as `cursor` to get the following page
+        - `search` matches the start of the first name, last name or email
         """,
             tags = {"Admin Management"}
     )
@@ -207,8 +302,14 @@ public class AdminController {
     })
     @GetMapping("/supervisors")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getAllSupervisors() {
-        GetAllSupervisorsResponse response = adminService.getAllSupervisors();
+    public ResponseEntity<?> getAllSupervisors(
+            @Parameter(description = "Prefix of the first name, last name or email", example = "jo")
+            @RequestParam(value = "search", required = false) String search,
+            @Parameter(description = "Cursor from the previous page's nextCursor")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Maximum number of supervisors to return (1-200)", example = "50")
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        GetAllSupervisorsResponse response = adminService.getAllSupervisors(search, cursor, limit);
         return ResponseEntity.ok(response);
     }
 
@@ -225,6 +326,11 @@ public class AdminController {
         - Returns list of all customer accounts with basic information
         - Includes account status (active/inactive)
         - Excludes sensitive information like passwords
+        
+        **Pagination and Search:**
+        - Newest accounts first, up to `limit` per page (default 50, max 200)
+        - Pass `nextCursor` from a response as `cursor` to get the following page
+        - `search` matches the start of the first name, last name or email
         """,
             tags = {"Admin Management"}
     )
@@ -256,8 +362,14 @@ public class AdminController {
     })
     @GetMapping("/customers")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getAllCustomers() {
-        GetAllCustomersResponse response = adminService.getAllCustomers();
+    public ResponseEntity<?> getAllCustomers(
+            @Parameter(description = "Prefix of the first name, last name or email", example = "jo")
+            @RequestParam(value = "search", required = false) String search,
+            @Parameter(description = "Cursor from the previous page's nextCursor")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Maximum number of customers to return (1-200)", example = "50")
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        GetAllCustomersResponse response = adminService.getAllCustomers(search, cursor, limit);
         return ResponseEntity.ok(response);
     }
 
@@ -310,10 +422,71 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Export Cleaning Requests",
+            description = """
+        **Export cleaning requests as NDJSON or CSV.**
+        
+        **Admin Only Access:**
+        - Only users with ADMIN role can export cleaning requests
+        - Requires valid JWT token in Authorization header
+        
+        **Response:**
+        - Streamed as a file download while rows are read, newest first
+        - `ndjson`: one JSON object per line, same fields as the cleaning request listing
+        - `csv`: header row followed by one row per request
+        - Optional filters: status and creation date range (inclusive)
+        """,
+            tags = {"Admin Management"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "✅ Cleaning request export streamed successfully"
+        ),
+        @ApiResponse(
+                responseCode = "401",
+                description = "❌ Unauthorized - Invalid or missing authentication token",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "403",
+                description = "❌ Access denied - Admin role required",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        )
+    })
+    @GetMapping("/cleaning-requests/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCleaningRequests(
+            @Parameter(description = "Export file format", example = "CSV")
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Only requests with this status")
+            @RequestParam(value = "status", required = false) CleaningRequestStatus status,
+            @Parameter(description = "Only requests created on or after this date", example = "2025-01-01")
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Only requests created on or before this date", example = "2025-03-31")
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        StreamingResponseBody body = outputStream ->
+                adminService.exportCleaningRequests(format, status, from, to, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("cleaning-requests." + format.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @Operation(
             summary = "Delete Task (Soft Delete)",
             description = """
-        **Soft delete a task by setting its status to inactive.**
+        **Soft delete a task and all of its subtasks by setting their status to inactive.**
         
         **Admin Only Access:**
         - Only users with ADMIN role can delete tasks
@@ -322,7 +495,8 @@ public class AdminController {
         **Important:**
         - This is a soft delete operation (sets status to 0/inactive)
         - Task data is preserved for audit purposes
-        - Task will not appear in active listings
+        - The task and its subtasks will not appear in any listings, hierarchies or statistics
+        - Deleting a task that is already deleted succeeds again without further changes
         """,
             tags = {"Admin Management"}
     )
@@ -369,10 +543,126 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Search Cleaning Requests and Projects",
+            description = """
+        **Search cleaning requests and projects by words or word prefixes.**
+        
+        **Admin Only Access:**
+        - Only users with ADMIN role can search
+        - Requires valid JWT token in Authorization header
+        
+        **Matching:**
+        - Cleaning requests: name, service address, service type and additional details
+        - Projects: name and address
+        - Every word of the query must match the start of a word, case and accent insensitive
+        - Results are ordered by creation date (newest first), up to `limit` of each kind (default 20)
+        """,
+            tags = {"Admin Management"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "✅ Search completed successfully",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = AdminSearchResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "400",
+                description = "❌ Search query is required",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "401",
+                description = "❌ Unauthorized - Invalid or missing authentication token",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "403",
+                description = "❌ Access denied - Admin role required",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        )
+    })
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> search(
+            @Parameter(description = "Words or word prefixes to search for", required = true, example = "main street")
+            @RequestParam("q") String query,
+            @Parameter(description = "Maximum number of results of each kind (1-200)", example = "20")
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        AdminSearchResponse response = adminService.search(query, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Get Admin Dashboard",
+            description = """
+        **Retrieve the operations dashboard summary.**
+        
+        **Admin Only Access:**
+        - Only users with ADMIN role can access this endpoint
+        - Requires valid JWT token in Authorization header
+        
+        **Summary Includes:**
+        - Project counts by status
+        - Cleaning request counts by status
+        - Number of active supervisors
+        - Number of completed tasks that are not rated yet
+        - Total number of reviews and the average rating
+        
+        **Freshness:**
+        - Counters are updated together with every change and fully recomputed every 15 minutes
+        """,
+            tags = {"Admin Management"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "✅ Dashboard summary retrieved successfully",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = AdminDashboardResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "401",
+                description = "❌ Unauthorized - Invalid or missing authentication token",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "403",
+                description = "❌ Access denied - Admin role required",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        )
+    })
+    @GetMapping("/dashboard")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getDashboard() {
+        AdminDashboardResponse response = adminService.getDashboard();
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "Get All Projects",
             description = """
-        **Retrieve all projects in the system with detailed information.**
+        **Retrieve all projects in the system with detailed information, newest first.**
         
         **Admin Only Access:**
         - Only users with ADMIN role can access this endpoint
@@ -386,6 +676,11 @@ public class AdminController {
         - Task statistics (total tasks, completed tasks)
         - Project rating and timestamps
         
+        **Pagination and Filters:**
+        - Returns up to `limit` projects (default 50, max 200) per page
+        - Pass `nextCursor` from a response as `cursor` to get the following page
+        - Optional filters: status, due date range, customer ID, supervisor ID
+        
         **Use Cases:**
         - System monitoring and overview
         - Project management dashboard
@@ -422,8 +717,23 @@ public class AdminController {
     })
     @GetMapping("/projects")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getAllProjects() {
-        GetAllProjectsResponse response = adminService.getAllProjects();
+    public ResponseEntity<?> getAllProjects(
+            @Parameter(description = "Only projects with this status")
+            @RequestParam(value = "status", required = false) ProjectStatus status,
+            @Parameter(description = "Only projects due on or after this date", example = "2025-01-01")
+            @RequestParam(value = "dueDateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateFrom,
+            @Parameter(description = "Only projects due on or before this date", example = "2025-12-31")
+            @RequestParam(value = "dueDateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateTo,
+            @Parameter(description = "Only projects of this customer", example = "USER01")
+            @RequestParam(value = "customerId", required = false) String customerId,
+            @Parameter(description = "Only projects of this supervisor", example = "SUP001")
+            @RequestParam(value = "supervisorId", required = false) String supervisorId,
+            @Parameter(description = "Cursor from the previous page's nextCursor")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Maximum number of projects to return (1-200)", example = "50")
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        GetAllProjectsResponse response = adminService.getAllProjects(
+                status, dueDateFrom, dueDateTo, customerId, supervisorId, cursor, limit);
         return ResponseEntity.ok(response);
     }
 }
@@ -3,6 +3,7 @@ package com.enterprise.cleanqueen.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,7 +12,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.enterprise.cleanqueen.dto.common.ApiErrorResponse;
 import com.enterprise.cleanqueen.dto.project.ProjectCreateRequest;
@@ -21,6 +25,7 @@ import com.enterprise.cleanqueen.dto.project.ProjectTaskHierarchyResponse;
 import com.enterprise.cleanqueen.dto.project.ProjectTaskReviewsResponse;
 import com.enterprise.cleanqueen.dto.project.ProjectUpdateRequest;
 import com.enterprise.cleanqueen.dto.project.ProjectUpdateResponse;
+import com.enterprise.cleanqueen.exception.ResourceNotFoundException;
 import com.enterprise.cleanqueen.service.ProjectService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -213,6 +218,10 @@ public class ProjectController {
                         schema = @Schema(implementation = ProjectListResponse.class)
                 )
         ),
+        @ApiResponse(
+                responseCode = "304",
+                description = "✅ Not modified - the client's copy (If-None-Match) is still current"
+        ),
         @ApiResponse(
                 responseCode = "401",
                 description = "❌ Unauthorized - Invalid or missing authentication token",
@@ -234,11 +243,18 @@ public class ProjectController {
     @SecurityRequirement(name = "JWT Authentication")
     public ResponseEntity<?> getProjectsByUserId(
             @Parameter(description = "User ID to get projects for", required = true, example = "USER123")
-            @PathVariable String userId) {
+            @PathVariable String userId,
+            WebRequest webRequest) {
+
+        // Answer unchanged polls with 304 before loading any project
+        String eTag = projectService.getProjectsByUserIdETag(userId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
         ProjectListResponse response = projectService.getProjectsByUserId(userId);
         logger.info("Retrieved {} projects for user: {}", response.getTotalProjects(), userId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     @Operation(
@@ -279,6 +295,10 @@ public class ProjectController {
                         schema = @Schema(implementation = ProjectTaskHierarchyResponse.class)
                 )
         ),
+        @ApiResponse(
+                responseCode = "304",
+                description = "✅ Not modified - the client's copy (If-None-Match) is still current"
+        ),
         @ApiResponse(
                 responseCode = "401",
                 description = "❌ Unauthorized - Invalid or missing authentication token",
@@ -300,18 +320,106 @@ public class ProjectController {
     @SecurityRequirement(name = "JWT Authentication")
     public ResponseEntity<?> getProjectTaskHierarchy(
             @Parameter(description = "Project ID to get task hierarchy for", required = true, example = "ABC123")
-            @PathVariable String projectId) {
+            @PathVariable String projectId,
+            WebRequest webRequest) {
+
+        // Answer unchanged polls with 304 before assembling the hierarchy
+        String eTag = projectService.getProjectTaskHierarchyETag(projectId);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
         ProjectTaskHierarchyResponse response = projectService.getProjectTaskHierarchy(projectId);
         logger.info("Retrieved task hierarchy for project: {} with {} total tasks", 
                    projectId, response.getProject().getTotalTasks());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    @Operation(
+            summary = "Stream Project Task Hierarchy",
+            description = """
+        **Stream the complete task hierarchy of a project for very large task trees.**
+        
+        **Authentication Required:**
+        - Valid JWT token required
+        - Accessible by: Customer, Supervisor, Admin roles
+        
+        **Returns:**
+        - Same document as the task hierarchy endpoint
+        - Written while tasks are read, so server memory stays bounded
+        - Subtasks are listed in task ID order
+        - Projects created before the hierarchy index are indexed on their first request
+        
+        **Use Cases:**
+        - Projects with deep or wide task trees
+        - Clients that parse the hierarchy incrementally
+        """,
+            tags = {"Project Management"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "✅ Project hierarchy streamed successfully",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ProjectTaskHierarchyResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "304",
+                description = "✅ Not modified - the client's copy (If-None-Match) is still current"
+        ),
+        @ApiResponse(
+                responseCode = "401",
+                description = "❌ Unauthorized - Invalid or missing authentication token",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "404",
+                description = "❌ Project not found",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        )
+    })
+    @GetMapping("/{projectId}/tasks/stream")
+    @SecurityRequirement(name = "JWT Authentication")
+    public ResponseEntity<StreamingResponseBody> streamProjectTaskHierarchy(
+            @Parameter(description = "Project ID to stream task hierarchy for", required = true, example = "ABC123")
+            @PathVariable String projectId,
+            WebRequest webRequest) {
+
+        // The validator lookup also rejects unknown projects before the response is committed
+        String eTag = projectService.getProjectTaskHierarchyETag(projectId);
+        if (eTag == null) {
+            throw new ResourceNotFoundException("Project", "ID", projectId);
+        }
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        // Before the response is committed, as the stream can only follow indexed tasks
+        projectService.indexTaskHierarchy(projectId);
+        StreamingResponseBody body = outputStream -> projectService.streamProjectTaskHierarchy(projectId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .body(body);
     }
 
     @Operation(
             summary = "Get Project Tasks with Reviews",
             description = """
-        **Retrieve all tasks in a project with their review information.**
+        **Retrieve the tasks of a project with their review information, one page at a time.**
+        
+        **Pagination and Filtering:**
+        - Tasks in creation order, up to `limit` per page (default 50, max 200)
+        - Pass `nextCursor` from a response as `cursor` to get the following page
+        - `reviewedOnly=true` returns only tasks that have a review
         
         **Returns for each task:**
         - Task ID and name
@@ -340,6 +448,10 @@ public class ProjectController {
                         schema = @Schema(implementation = ProjectTaskReviewsResponse.class)
                 )
         ),
+        @ApiResponse(
+                responseCode = "304",
+                description = "✅ Not modified - the client's copy (If-None-Match) is still current"
+        ),
         @ApiResponse(
                 responseCode = "401",
                 description = "❌ Unauthorized - Invalid or missing authentication token",
@@ -370,11 +482,24 @@ public class ProjectController {
     @SecurityRequirement(name = "JWT Authentication")
     public ResponseEntity<?> getProjectTaskReviews(
             @Parameter(description = "Project ID to get task reviews for", required = true, example = "PROJ123")
-            @PathVariable String projectId) {
+            @PathVariable String projectId,
+            @Parameter(description = "Only return tasks that have been reviewed", example = "false")
+            @RequestParam(value = "reviewedOnly", defaultValue = "false") boolean reviewedOnly,
+            @Parameter(description = "Cursor from the previous page's nextCursor")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Maximum number of tasks to return (1-200)", example = "50")
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
+
+        // Answer unchanged polls with 304 before loading tasks and reviews
+        String eTag = projectService.getProjectTaskReviewsETag(projectId, reviewedOnly, cursor, limit);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
-        ProjectTaskReviewsResponse response = projectService.getProjectTaskReviews(projectId);
-        logger.info("Retrieved task reviews for project: {} with {} total tasks", 
+        ProjectTaskReviewsResponse response = projectService.getProjectTaskReviews(projectId, reviewedOnly, cursor, limit);
+        logger.info("Retrieved task reviews for project: {} with {} tasks in this page", 
                    projectId, response.getTotalTasks());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 }
@@ -8,12 +8,14 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.MediaType;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -23,6 +25,8 @@ import jakarta.validation.constraints.Size;
 import java.util.List;
 
 import com.enterprise.cleanqueen.dto.common.ApiErrorResponse;
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsRequest;
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsResponse;
 import com.enterprise.cleanqueen.dto.review.CreateReviewRequest;
 import com.enterprise.cleanqueen.dto.review.CreateReviewResponse;
 import com.enterprise.cleanqueen.service.ReviewService;
@@ -64,11 +68,12 @@ public class ReviewController {
         - Images stored securely on Cloudflare CDN
         - If image upload fails, entire review creation is rolled back
         
-        **Intelligent Rating Propagation:**
-        1. Review created on leaf task → Task gets the review rating
+        **Intelligent Rating Propagation (asynchronous):**
+        1. Review created on leaf task → Task gets the review rating, propagation is queued
         2. System checks parent task → If ALL sibling tasks have ratings → Calculate parent's average
         3. Propagation bubbles up through ALL parent levels automatically
         4. Finally → Project rating = average of all root-level task ratings
+        5. Parent and project ratings are updated by a background worker, usually within a second
         
         **Example Propagation:**
         ```
@@ -86,12 +91,16 @@ public class ReviewController {
         - rating: integer 1-5 (required)
         - comment: string (optional)
         - images: file array max 2 items (optional)
+        - imageKeys: upload keys from `POST /reviews/image-uploads`, max 2 items (optional, instead of images)
+        
+        **Direct Uploads:** Images sent as `imageKeys` are checked for existence, size and content type,
+        then stored as uploaded and compressed in the background after the review is created
         
         **Business Rules:**
         - Only leaf tasks (no children) can be reviewed
         - Customer must own the project
         - Task must belong to customer's project
-        - Automatic rating calculation and propagation
+        - Automatic rating calculation and asynchronous propagation (`ratingPropagated` is false until processed)
         - Images uploaded to CDN before review creation
         """,
             tags = {"Task Reviews"}
@@ -99,7 +108,7 @@ public class ReviewController {
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "200",
-                description = "✅ Review created successfully with rating propagation and image URLs",
+                description = "✅ Review created successfully with rating propagation queued and image URLs",
                 content = @Content(
                         mediaType = "application/json",
                         schema = @Schema(implementation = CreateReviewResponse.class)
@@ -148,6 +157,10 @@ public class ReviewController {
             @RequestParam(value = "images", required = false) 
             @Size(max = 2, message = "Maximum 2 images are allowed") List<MultipartFile> images,
             
+            @Parameter(description = "Keys of images uploaded through presigned URLs (maximum 2)", required = false)
+            @RequestParam(value = "imageKeys", required = false)
+            @Size(max = 2, message = "Maximum 2 images are allowed") List<String> imageKeys,
+            
             Authentication authentication) {
 
         // Create request object
@@ -156,10 +169,78 @@ public class ReviewController {
         request.setRating(rating);
         request.setComment(comment);
         request.setImages(images);
+        request.setImageKeys(imageKeys);
 
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         CreateReviewResponse response = reviewService.createReview(request, userDetails.getUsername());
         logger.info("Review created for task: {} with rating: {}", response.getTaskId(), response.getRating());
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+            summary = "Create Review Image Upload URLs",
+            description = """
+        **Get short-lived presigned URLs to upload review images straight to storage, without sending them through the API.**
+        
+        **Customer Only Access:**
+        - Only customers can request upload URLs
+        - URLs are only issued for a leaf task of the customer's project that has not been reviewed yet
+        - Upload keys are reserved for the requesting customer and task
+        
+        **Process:**
+        1. Request one URL per image for the task, with its content type and exact size in bytes (max 2 images, 25MB each)
+        2. `PUT` each image to its `uploadUrl` with the returned `Content-Type` before `expiresAt`
+        3. Create the review for the same task with the returned `uploadKey` values as `imageKeys`
+        
+        **Unused uploads:** images that are not attached to a review within the upload retention period
+        (24 hours by default) are deleted
+        
+        **Supported formats:** JPEG, PNG, GIF, WebP
+        """,
+            tags = {"Task Reviews"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "✅ Upload URLs created successfully",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = CreateImageUploadUrlsResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "400",
+                description = "❌ Too many images, unsupported format or size, or the task cannot be reviewed",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "401",
+                description = "❌ Unauthorized - Invalid or missing authentication token",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "403",
+                description = "❌ Access denied - Customer role required",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = ApiErrorResponse.class)
+                )
+        )
+    })
+    @PostMapping(value = "/image-uploads", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<?> createImageUploadUrls(
+            @Parameter(description = "Images to upload", required = true)
+            @Valid @RequestBody CreateImageUploadUrlsRequest request,
+            Authentication authentication) {
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        CreateImageUploadUrlsResponse response = reviewService.createImageUploadUrls(request, userDetails.getUsername());
+        return ResponseEntity.ok(response);
+    }
 }
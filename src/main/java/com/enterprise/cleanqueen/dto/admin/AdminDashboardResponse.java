@@ -0,0 +1,112 @@
+package com.enterprise.cleanqueen.dto.admin;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.enterprise.cleanqueen.enums.CleaningRequestStatus;
+import com.enterprise.cleanqueen.enums.ProjectStatus;
+
+public class AdminDashboardResponse {
+    
+    private boolean success;
+    private String message;
+    private Map<ProjectStatus, Long> projectsByStatus;
+    private Map<CleaningRequestStatus, Long> cleaningRequestsByStatus;
+    private long activeSupervisors;
+    private long unratedCompletedTasks;
+    private long totalReviews;
+    private Double averageRating;
+    private LocalDateTime timestamp;
+    
+    // Constructors
+    public AdminDashboardResponse() {
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    public AdminDashboardResponse(boolean success, String message, Map<ProjectStatus, Long> projectsByStatus,
+                                  Map<CleaningRequestStatus, Long> cleaningRequestsByStatus, long activeSupervisors,
+                                  long unratedCompletedTasks, long totalReviews, Double averageRating) {
+        this();
+        this.success = success;
+        this.message = message;
+        this.projectsByStatus = projectsByStatus;
+        this.cleaningRequestsByStatus = cleaningRequestsByStatus;
+        this.activeSupervisors = activeSupervisors;
+        this.unratedCompletedTasks = unratedCompletedTasks;
+        this.totalReviews = totalReviews;
+        this.averageRating = averageRating;
+    }
+    
+    // Getters and Setters
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public Map<ProjectStatus, Long> getProjectsByStatus() {
+        return projectsByStatus;
+    }
+    
+    public void setProjectsByStatus(Map<ProjectStatus, Long> projectsByStatus) {
+        this.projectsByStatus = projectsByStatus;
+    }
+    
+    public Map<CleaningRequestStatus, Long> getCleaningRequestsByStatus() {
+        return cleaningRequestsByStatus;
+    }
+    
+    public void setCleaningRequestsByStatus(Map<CleaningRequestStatus, Long> cleaningRequestsByStatus) {
+        this.cleaningRequestsByStatus = cleaningRequestsByStatus;
+    }
+    
+    public long getActiveSupervisors() {
+        return activeSupervisors;
+    }
+    
+    public void setActiveSupervisors(long activeSupervisors) {
+        this.activeSupervisors = activeSupervisors;
+    }
+    
+    public long getUnratedCompletedTasks() {
+        return unratedCompletedTasks;
+    }
+    
+    public void setUnratedCompletedTasks(long unratedCompletedTasks) {
+        this.unratedCompletedTasks = unratedCompletedTasks;
+    }
+    
+    public long getTotalReviews() {
+        return totalReviews;
+    }
+    
+    public void setTotalReviews(long totalReviews) {
+        this.totalReviews = totalReviews;
+    }
+    
+    public Double getAverageRating() {
+        return averageRating;
+    }
+    
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
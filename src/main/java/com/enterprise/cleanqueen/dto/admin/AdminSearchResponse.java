@@ -0,0 +1,81 @@
+package com.enterprise.cleanqueen.dto.admin;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.enterprise.cleanqueen.dto.request.CleaningRequestSummaryDto;
+
+public class AdminSearchResponse {
+    
+    private boolean success;
+    private String message;
+    private String query;
+    private List<CleaningRequestSummaryDto> cleaningRequests;
+    private List<GetAllProjectsResponse.ProjectInfo> projects;
+    private LocalDateTime timestamp;
+    
+    // Constructors
+    public AdminSearchResponse() {
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    public AdminSearchResponse(boolean success, String message, String query,
+                               List<CleaningRequestSummaryDto> cleaningRequests,
+                               List<GetAllProjectsResponse.ProjectInfo> projects) {
+        this();
+        this.success = success;
+        this.message = message;
+        this.query = query;
+        this.cleaningRequests = cleaningRequests;
+        this.projects = projects;
+    }
+    
+    // Getters and Setters
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public String getQuery() {
+        return query;
+    }
+    
+    public void setQuery(String query) {
+        this.query = query;
+    }
+    
+    public List<CleaningRequestSummaryDto> getCleaningRequests() {
+        return cleaningRequests;
+    }
+    
+    public void setCleaningRequests(List<CleaningRequestSummaryDto> cleaningRequests) {
+        this.cleaningRequests = cleaningRequests;
+    }
+    
+    public List<GetAllProjectsResponse.ProjectInfo> getProjects() {
+        return projects;
+    }
+    
+    public void setProjects(List<GetAllProjectsResponse.ProjectInfo> projects) {
+        this.projects = projects;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
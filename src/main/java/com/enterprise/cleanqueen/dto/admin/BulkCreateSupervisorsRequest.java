@@ -0,0 +1,25 @@
+package com.enterprise.cleanqueen.dto.admin;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+@Schema(description = "Request to create several supervisor accounts at once")
+public class BulkCreateSupervisorsRequest {
+    
+    @Schema(description = "Supervisors to create; every entry is validated and reported separately", required = true)
+    @NotEmpty(message = "At least one supervisor is required")
+    private List<CreateSupervisorRequest> supervisors;
+
+    // Constructors
+    public BulkCreateSupervisorsRequest() {}
+    
+    public BulkCreateSupervisorsRequest(List<CreateSupervisorRequest> supervisors) {
+        this.supervisors = supervisors;
+    }
+    
+    // Getters and Setters
+    public List<CreateSupervisorRequest> getSupervisors() { return supervisors; }
+    public void setSupervisors(List<CreateSupervisorRequest> supervisors) { this.supervisors = supervisors; }
+}
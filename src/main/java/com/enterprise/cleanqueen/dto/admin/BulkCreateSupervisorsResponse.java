@@ -0,0 +1,83 @@
+package com.enterprise.cleanqueen.dto.admin;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BulkCreateSupervisorsResponse {
+    
+    private boolean success;
+    private String message;
+    private List<SupervisorCreationResult> results;
+    private int totalCreated;
+    private int totalFailed;
+    private LocalDateTime timestamp;
+    
+    // Constructors
+    public BulkCreateSupervisorsResponse() {
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    public BulkCreateSupervisorsResponse(boolean success, String message, List<SupervisorCreationResult> results) {
+        this();
+        this.success = success;
+        this.message = message;
+        this.results = results;
+        if (results != null) {
+            this.totalCreated = (int) results.stream().filter(SupervisorCreationResult::isSuccess).count();
+            this.totalFailed = results.size() - this.totalCreated;
+        }
+    }
+    
+    // Getters and Setters
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public List<SupervisorCreationResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<SupervisorCreationResult> results) {
+        this.results = results;
+        if (results != null) {
+            this.totalCreated = (int) results.stream().filter(SupervisorCreationResult::isSuccess).count();
+            this.totalFailed = results.size() - this.totalCreated;
+        }
+    }
+    
+    public int getTotalCreated() {
+        return totalCreated;
+    }
+    
+    public void setTotalCreated(int totalCreated) {
+        this.totalCreated = totalCreated;
+    }
+    
+    public int getTotalFailed() {
+        return totalFailed;
+    }
+    
+    public void setTotalFailed(int totalFailed) {
+        this.totalFailed = totalFailed;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -20,9 +20,15 @@ public class GetAllProjectsResponse {
     @Schema(description = "List of all projects in the system")
     private List<ProjectInfo> projects;
     
-    @Schema(description = "Total number of projects", example = "15")
+    @Schema(description = "Number of projects in this page", example = "15")
     private int totalProjects;
     
+    @Schema(description = "Whether more projects follow this page", example = "true")
+    private boolean hasMore;
+    
+    @Schema(description = "Cursor to pass to get the next page, null on the last page", example = "MjAyNS0wMS0xNVQxMDozMDowMHxBQkMxMjM")
+    private String nextCursor;
+    
     @Schema(description = "Response timestamp")
     private LocalDateTime timestamp;
     
@@ -39,6 +45,12 @@ public class GetAllProjectsResponse {
         this.timestamp = LocalDateTime.now();
     }
     
+    public GetAllProjectsResponse(boolean success, String message, List<ProjectInfo> projects, String nextCursor) {
+        this(success, message, projects);
+        this.hasMore = nextCursor != null;
+        this.nextCursor = nextCursor;
+    }
+    
     // Getters and Setters
     public boolean isSuccess() {
         return success;
@@ -73,6 +85,22 @@ public class GetAllProjectsResponse {
         this.totalProjects = totalProjects;
     }
     
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
@@ -11,6 +11,8 @@ public class GetAllSupervisorsResponse {
     private String message;
     private List<UserSummaryDto> supervisors;
     private int totalCount;
+    private boolean hasMore;
+    private String nextCursor;
     private LocalDateTime timestamp;
     
     // Constructors
@@ -26,6 +28,12 @@ public class GetAllSupervisorsResponse {
         this.totalCount = supervisors != null ? supervisors.size() : 0;
     }
     
+    public GetAllSupervisorsResponse(boolean success, String message, List<UserSummaryDto> supervisors, String nextCursor) {
+        this(success, message, supervisors);
+        this.hasMore = nextCursor != null;
+        this.nextCursor = nextCursor;
+    }
+    
     // Getters and Setters
     public boolean isSuccess() {
         return success;
@@ -60,6 +68,22 @@ public class GetAllSupervisorsResponse {
         this.totalCount = totalCount;
     }
     
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
@@ -0,0 +1,32 @@
+package com.enterprise.cleanqueen.dto.admin;
+
+import java.time.LocalDateTime;
+
+/**
+ * Searchable text of one cleaning request or project, as loaded into the admin search index
+ */
+public class SearchDocument {
+
+    private final String id;
+    private final String text;
+    private final LocalDateTime createdAt;
+
+    public SearchDocument(String id, String text, LocalDateTime createdAt) {
+        this.id = id;
+        this.text = text;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,62 @@
+package com.enterprise.cleanqueen.dto.admin;
+
+public class SupervisorCreationResult {
+    
+    private int row;
+    private String email;
+    private boolean success;
+    private String message;
+    private String supervisorId;
+    
+    // Constructors
+    public SupervisorCreationResult() {}
+    
+    public SupervisorCreationResult(int row, String email, boolean success, String message, String supervisorId) {
+        this.row = row;
+        this.email = email;
+        this.success = success;
+        this.message = message;
+        this.supervisorId = supervisorId;
+    }
+    
+    // Getters and Setters
+    public int getRow() {
+        return row;
+    }
+    
+    public void setRow(int row) {
+        this.row = row;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public String getSupervisorId() {
+        return supervisorId;
+    }
+    
+    public void setSupervisorId(String supervisorId) {
+        this.supervisorId = supervisorId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.enterprise.cleanqueen.dto.project;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.enterprise.cleanqueen.enums.ProjectStatus;
@@ -120,6 +121,14 @@ public class ProjectTaskHierarchyResponse {
             this.updatedAt = updatedAt;
         }
         
+        /**
+         * Deep copy of these details, including every task of the hierarchy
+         */
+        public ProjectDetails copy() {
+            return new ProjectDetails(projectId, projectCode, projectName, description, status,
+                                    TaskHierarchy.copyAll(rootTasks), totalTasks, completedTasks, createdAt, updatedAt);
+        }
+        
         // Getters and Setters
         public String getProjectId() {
             return projectId;
@@ -267,6 +276,26 @@ public class ProjectTaskHierarchyResponse {
             this.subtasks = subtasks;
         }
         
+        /**
+         * Deep copy of this task and its subtasks
+         */
+        public TaskHierarchy copy() {
+            return new TaskHierarchy(taskId, taskName, description, status, priority, estimatedHours,
+                                   assignedUserId, assignedUserName, dueDate, averageRating, createdAt, updatedAt,
+                                   copyAll(subtasks));
+        }
+        
+        static List<TaskHierarchy> copyAll(List<TaskHierarchy> tasks) {
+            if (tasks == null) {
+                return null;
+            }
+            List<TaskHierarchy> copies = new ArrayList<>(tasks.size());
+            for (TaskHierarchy task : tasks) {
+                copies.add(task.copy());
+            }
+            return copies;
+        }
+        
         // Getters and Setters
         public String getTaskId() {
             return taskId;
@@ -23,9 +23,15 @@ public class ProjectTaskReviewsResponse {
     @Schema(description = "List of tasks with review information")
     private List<TaskReviewInfo> tasks;
     
-    @Schema(description = "Total number of tasks", example = "5")
+    @Schema(description = "Number of tasks in this page", example = "5")
     private int totalTasks;
     
+    @Schema(description = "Whether more tasks follow this page", example = "true")
+    private boolean hasMore;
+    
+    @Schema(description = "Cursor to pass to get the next page, null on the last page", example = "MjAyNS0wMS0xNVQxMDozMDowMHxUQVNLMTIzNA")
+    private String nextCursor;
+    
     @Schema(description = "Response timestamp")
     private LocalDateTime timestamp;
     
@@ -45,6 +51,13 @@ public class ProjectTaskReviewsResponse {
         this.timestamp = LocalDateTime.now();
     }
     
+    public ProjectTaskReviewsResponse(boolean success, String message, String projectId, 
+                                    String projectName, List<TaskReviewInfo> tasks, String nextCursor) {
+        this(success, message, projectId, projectName, tasks);
+        this.hasMore = nextCursor != null;
+        this.nextCursor = nextCursor;
+    }
+    
     // Getters and Setters
     public boolean isSuccess() {
         return success;
@@ -95,6 +108,22 @@ public class ProjectTaskReviewsResponse {
         this.totalTasks = totalTasks;
     }
     
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
@@ -0,0 +1,68 @@
+package com.enterprise.cleanqueen.dto.project;
+
+public class ProjectTaskStatistics {
+
+    private String projectId;
+    private int totalTasks;
+    private int completedTasks;
+    private int activeTasks;
+
+    // Constructors
+    public ProjectTaskStatistics() {}
+
+    public ProjectTaskStatistics(String projectId, Long totalTasks, Long completedTasks, Long activeTasks) {
+        this.projectId = projectId;
+        this.totalTasks = totalTasks != null ? totalTasks.intValue() : 0;
+        this.completedTasks = completedTasks != null ? completedTasks.intValue() : 0;
+        this.activeTasks = activeTasks != null ? activeTasks.intValue() : 0;
+    }
+
+    /**
+     * Statistics for a project without any tasks
+     */
+    public static ProjectTaskStatistics empty(String projectId) {
+        return new ProjectTaskStatistics(projectId, 0L, 0L, 0L);
+    }
+
+    /**
+     * Check whether both statistics hold the same counts
+     */
+    public boolean hasSameCounts(ProjectTaskStatistics other) {
+        return totalTasks == other.totalTasks
+                && completedTasks == other.completedTasks
+                && activeTasks == other.activeTasks;
+    }
+
+    // Getters and Setters
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(int totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(int completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public int getActiveTasks() {
+        return activeTasks;
+    }
+
+    public void setActiveTasks(int activeTasks) {
+        this.activeTasks = activeTasks;
+    }
+}
@@ -0,0 +1,57 @@
+package com.enterprise.cleanqueen.dto.project;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Cheap summary of the state of one or more projects, used to build
+ * HTTP validators without loading the projects themselves
+ */
+public class ProjectVersionStamp {
+
+    private long projectCount;
+    private LocalDateTime lastUpdatedAt;
+    private long treeVersionSum;
+
+    // Constructors
+    public ProjectVersionStamp() {}
+
+    public ProjectVersionStamp(Long projectCount, LocalDateTime lastUpdatedAt, Long treeVersionSum) {
+        this.projectCount = projectCount != null ? projectCount : 0L;
+        this.lastUpdatedAt = lastUpdatedAt;
+        this.treeVersionSum = treeVersionSum != null ? treeVersionSum : 0L;
+    }
+
+    /**
+     * Build a strong entity tag for the given representation of the stamped projects
+     */
+    public String toETag(String representation) {
+        long updatedAtMillis = lastUpdatedAt != null ? lastUpdatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+        return String.format("\"%s-%d-%d-%d\"", representation, projectCount, updatedAtMillis, treeVersionSum);
+    }
+
+    // Getters and Setters
+    public long getProjectCount() {
+        return projectCount;
+    }
+
+    public void setProjectCount(long projectCount) {
+        this.projectCount = projectCount;
+    }
+
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    public void setLastUpdatedAt(LocalDateTime lastUpdatedAt) {
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+
+    public long getTreeVersionSum() {
+        return treeVersionSum;
+    }
+
+    public void setTreeVersionSum(long treeVersionSum) {
+        this.treeVersionSum = treeVersionSum;
+    }
+}
@@ -0,0 +1,73 @@
+package com.enterprise.cleanqueen.dto.project;
+
+import java.time.LocalDateTime;
+
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+
+/**
+ * Flat, unmanaged projection of a task used when streaming a project hierarchy
+ */
+public class TaskHierarchyRow {
+
+    private final String taskId;
+    private final String taskName;
+    private final String description;
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final Float averageRating;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final String path;
+
+    public TaskHierarchyRow(String taskId, String taskName, String description, TaskStatus status,
+                            TaskPriority priority, Float averageRating, LocalDateTime createdAt,
+                            LocalDateTime updatedAt, String path) {
+        this.taskId = taskId;
+        this.taskName = taskName;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.averageRating = averageRating;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.path = path;
+    }
+
+    // Getters
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public Float getAverageRating() {
+        return averageRating;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
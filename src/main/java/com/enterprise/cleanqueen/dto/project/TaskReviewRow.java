@@ -0,0 +1,49 @@
+package com.enterprise.cleanqueen.dto.project;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a task joined with its review, if any, used to list a project's task reviews
+ */
+public class TaskReviewRow {
+
+    private final String taskId;
+    private final String taskName;
+    private final LocalDateTime createdAt;
+    private final String reviewComment;
+    private final Integer rating;
+
+    public TaskReviewRow(String taskId, String taskName, LocalDateTime createdAt,
+                         String reviewComment, Integer rating) {
+        this.taskId = taskId;
+        this.taskName = taskName;
+        this.createdAt = createdAt;
+        this.reviewComment = reviewComment;
+        this.rating = rating;
+    }
+
+    // Getters
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getReviewComment() {
+        return reviewComment;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public boolean hasReview() {
+        return rating != null; // Rating is mandatory on a review
+    }
+}
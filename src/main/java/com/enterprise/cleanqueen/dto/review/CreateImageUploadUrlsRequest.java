@@ -0,0 +1,102 @@
+package com.enterprise.cleanqueen.dto.review;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Request presigned URLs to upload review images directly to storage")
+public class CreateImageUploadUrlsRequest {
+
+    @Schema(description = "Task the images will be attached to; must be a task the customer can still review", example = "ABCD1234", required = true)
+    @NotBlank(message = "Task ID is required")
+    private String taskId;
+
+    @Schema(description = "Images to upload (maximum 2)", required = true)
+    @NotEmpty(message = "At least one image is required")
+    @Size(max = 2, message = "Maximum 2 images are allowed")
+    @Valid
+    private List<ImageUpload> images;
+
+    // Constructors
+    public CreateImageUploadUrlsRequest() {
+    }
+
+    public CreateImageUploadUrlsRequest(String taskId, List<ImageUpload> images) {
+        this.taskId = taskId;
+        this.images = images;
+    }
+
+    // Getters and Setters
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public List<ImageUpload> getImages() {
+        return images;
+    }
+
+    public void setImages(List<ImageUpload> images) {
+        this.images = images;
+    }
+
+    @Schema(description = "Image the client is about to upload")
+    public static class ImageUpload {
+
+        @Schema(description = "Content type the image will be uploaded with", example = "image/jpeg", required = true)
+        @NotBlank(message = "Content type is required")
+        private String contentType;
+
+        @Schema(description = "Exact size of the image in bytes", example = "3145728", required = true)
+        @NotNull(message = "Image size is required")
+        @Positive(message = "Image size must be positive")
+        private Long sizeBytes;
+
+        @Schema(description = "Original file name, used for the file extension", example = "lab1.jpg")
+        private String fileName;
+
+        // Constructors
+        public ImageUpload() {
+        }
+
+        public ImageUpload(String contentType, Long sizeBytes, String fileName) {
+            this.contentType = contentType;
+            this.sizeBytes = sizeBytes;
+            this.fileName = fileName;
+        }
+
+        // Getters and Setters
+        public String getContentType() {
+            return contentType;
+        }
+
+        public void setContentType(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public Long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        public void setSizeBytes(Long sizeBytes) {
+            this.sizeBytes = sizeBytes;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public void setFileName(String fileName) {
+            this.fileName = fileName;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.enterprise.cleanqueen.dto.review;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Presigned URLs for uploading review images directly to storage")
+public class CreateImageUploadUrlsResponse {
+
+    @Schema(description = "Success status", example = "true")
+    private boolean success;
+
+    @Schema(description = "Response message", example = "Upload URLs created successfully")
+    private String message;
+
+    @Schema(description = "One upload URL per requested image, in request order")
+    private List<ImageUploadUrl> uploads;
+
+    @Schema(description = "Response timestamp")
+    private LocalDateTime timestamp;
+
+    // Constructors
+    public CreateImageUploadUrlsResponse() {
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public CreateImageUploadUrlsResponse(boolean success, String message, List<ImageUploadUrl> uploads) {
+        this.success = success;
+        this.message = message;
+        this.uploads = uploads;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<ImageUploadUrl> getUploads() {
+        return uploads;
+    }
+
+    public void setUploads(List<ImageUploadUrl> uploads) {
+        this.uploads = uploads;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Schema(description = "Presigned PUT request for one image")
+    public static class ImageUploadUrl {
+
+        @Schema(description = "Key to pass as imageKeys when creating the review", example = "reviews/uploads/CUST01/7f3c2a9e-1b4d-4c8a-9e2f-5a6b7c8d9e0f.jpg")
+        private String uploadKey;
+
+        @Schema(description = "Presigned URL to PUT the image bytes to")
+        private String uploadUrl;
+
+        @Schema(description = "Content-Type header the upload must be sent with", example = "image/jpeg")
+        private String contentType;
+
+        @Schema(description = "Content-Length the upload must have", example = "3145728")
+        private long sizeBytes;
+
+        @Schema(description = "When the upload URL stops working")
+        private Instant expiresAt;
+
+        // Constructors
+        public ImageUploadUrl() {
+        }
+
+        public ImageUploadUrl(String uploadKey, String uploadUrl, String contentType, long sizeBytes, Instant expiresAt) {
+            this.uploadKey = uploadKey;
+            this.uploadUrl = uploadUrl;
+            this.contentType = contentType;
+            this.sizeBytes = sizeBytes;
+            this.expiresAt = expiresAt;
+        }
+
+        // Getters and Setters
+        public String getUploadKey() {
+            return uploadKey;
+        }
+
+        public void setUploadKey(String uploadKey) {
+            this.uploadKey = uploadKey;
+        }
+
+        public String getUploadUrl() {
+            return uploadUrl;
+        }
+
+        public void setUploadUrl(String uploadUrl) {
+            this.uploadUrl = uploadUrl;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public void setContentType(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        public void setSizeBytes(long sizeBytes) {
+            this.sizeBytes = sizeBytes;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+
+        public void setExpiresAt(Instant expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
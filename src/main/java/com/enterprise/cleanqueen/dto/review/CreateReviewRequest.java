@@ -31,6 +31,10 @@ public class CreateReviewRequest {
     @Size(max = 2, message = "Maximum 2 images are allowed")
     private List<MultipartFile> images;
 
+    @Schema(description = "Keys of images already uploaded through presigned URLs (maximum 2), instead of images", maxLength = 2)
+    @Size(max = 2, message = "Maximum 2 images are allowed")
+    private List<String> imageKeys;
+
     // Constructors
     public CreateReviewRequest() {
     }
@@ -80,4 +84,12 @@ public class CreateReviewRequest {
     public void setImages(List<MultipartFile> images) {
         this.images = images;
     }
+
+    public List<String> getImageKeys() {
+        return imageKeys;
+    }
+
+    public void setImageKeys(List<String> imageKeys) {
+        this.imageKeys = imageKeys;
+    }
 }
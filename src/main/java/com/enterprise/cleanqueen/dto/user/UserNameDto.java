@@ -0,0 +1,49 @@
+package com.enterprise.cleanqueen.dto.user;
+
+public class UserNameDto {
+    
+    private String id;
+    private String firstName;
+    private String lastName;
+    
+    // Constructors
+    public UserNameDto() {}
+    
+    public UserNameDto(String id, String firstName, String lastName) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+    
+    /**
+     * First name followed by the last name, if any
+     */
+    public String getFullName() {
+        return firstName + (lastName != null ? " " + lastName : "");
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+}
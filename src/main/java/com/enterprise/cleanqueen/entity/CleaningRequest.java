@@ -14,6 +14,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -21,7 +22,11 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "cleaning_requests")
+@Table(name = "cleaning_requests", indexes = {
+    // Newest-first listing and date-range exports, optionally by status
+    @Index(name = "idx_cleaning_requests_created_at", columnList = "created_at"),
+    @Index(name = "idx_cleaning_requests_status_created_at", columnList = "status, created_at")
+})
 public class CleaningRequest {
     
     @Id
@@ -0,0 +1,37 @@
+package com.enterprise.cleanqueen.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * One named value of the admin dashboard summary, kept up to date by
+ * incremental adjustments from service-layer writes
+ */
+@Entity
+@Table(name = "dashboard_counters")
+public class DashboardCounter {
+    
+    @Id
+    @Column(name = "counter_key", length = 64, nullable = false)
+    private String key;
+    
+    @Column(name = "counter_value", nullable = false)
+    private Long value;
+    
+    // Constructors
+    public DashboardCounter() {}
+    
+    public DashboardCounter(String key, Long value) {
+        this.key = key;
+        this.value = value;
+    }
+    
+    // Getters and Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    
+    public Long getValue() { return value; }
+    public void setValue(Long value) { this.value = value; }
+}
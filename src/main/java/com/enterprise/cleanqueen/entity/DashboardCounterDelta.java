@@ -0,0 +1,55 @@
+package com.enterprise.cleanqueen.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A change to a dashboard counter that has not been applied to it yet.
+ * Written in the same transaction as the change it counts, so writers only insert
+ * their own rows and never wait on the shared counter rows.
+ */
+@Entity
+@Table(name = "dashboard_counter_deltas")
+public class DashboardCounterDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "counter_key", length = 64, nullable = false)
+    private String key;
+
+    @Column(name = "delta", nullable = false)
+    private Long delta;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public DashboardCounterDelta() {}
+
+    public DashboardCounterDelta(String key, Long delta) {
+        this.key = key;
+        this.delta = delta;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public Long getDelta() { return delta; }
+    public void setDelta(Long delta) { this.delta = delta; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
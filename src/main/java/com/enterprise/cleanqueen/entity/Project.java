@@ -13,6 +13,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -21,7 +22,14 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+    // Keyset pagination of the admin project listing, newest first, per filter
+    @Index(name = "idx_projects_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_projects_status_created_at_id", columnList = "status, created_at, id"),
+    @Index(name = "idx_projects_customer_created_at_id", columnList = "customer_id, created_at, id"),
+    @Index(name = "idx_projects_supervisor_created_at_id", columnList = "supervisor_id, created_at, id"),
+    @Index(name = "idx_projects_due_date", columnList = "due_date")
+})
 public class Project {
     
     @Id
@@ -64,6 +72,31 @@ public class Project {
     @Column(name = "supervisor_id", length = 6)
     private String supervisorId; // Foreign Key to User (nullable)
     
+    // Denormalized task counters, only changed through ProjectRepository increments
+    @Column(name = "total_tasks", updatable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer totalTasks = 0;
+    
+    @Column(name = "completed_tasks", updatable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer completedTasks = 0;
+    
+    @Column(name = "active_tasks", updatable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer activeTasks = 0;
+    
+    // Running rating sums over the root tasks, only changed through ProjectRepository updates.
+    // Null until the startup backfill has computed them for projects created before they existed.
+    @Column(name = "rating_sum", updatable = false)
+    private Double ratingSum = 0.0;
+    
+    @Column(name = "rated_child_count", updatable = false)
+    private Integer ratedChildCount = 0;
+    
+    @Column(name = "child_count", updatable = false)
+    private Integer childCount = 0;
+    
+    // Bumped on every write that changes the project's task hierarchy response
+    @Column(name = "tree_version", updatable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long treeVersion = 0L;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -121,6 +154,27 @@ public class Project {
     public String getSupervisorId() { return supervisorId; }
     public void setSupervisorId(String supervisorId) { this.supervisorId = supervisorId; }
     
+    public Integer getTotalTasks() { return totalTasks; }
+    public void setTotalTasks(Integer totalTasks) { this.totalTasks = totalTasks; }
+    
+    public Integer getCompletedTasks() { return completedTasks; }
+    public void setCompletedTasks(Integer completedTasks) { this.completedTasks = completedTasks; }
+    
+    public Integer getActiveTasks() { return activeTasks; }
+    public void setActiveTasks(Integer activeTasks) { this.activeTasks = activeTasks; }
+    
+    public Double getRatingSum() { return ratingSum; }
+    public void setRatingSum(Double ratingSum) { this.ratingSum = ratingSum; }
+    
+    public Integer getRatedChildCount() { return ratedChildCount; }
+    public void setRatedChildCount(Integer ratedChildCount) { this.ratedChildCount = ratedChildCount; }
+    
+    public Integer getChildCount() { return childCount; }
+    public void setChildCount(Integer childCount) { this.childCount = childCount; }
+    
+    public Long getTreeVersion() { return treeVersion; }
+    public void setTreeVersion(Long treeVersion) { this.treeVersion = treeVersion; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
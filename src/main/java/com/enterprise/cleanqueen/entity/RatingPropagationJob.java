@@ -0,0 +1,75 @@
+package com.enterprise.cleanqueen.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * A rated task whose new rating has not been propagated to its ancestors yet.
+ * Written in the same transaction as the rating, so pending work survives a restart.
+ */
+@Entity
+@Table(name = "rating_propagation_jobs", indexes = {
+    @Index(name = "idx_rating_jobs_project_enqueued_at", columnList = "project_id, enqueued_at"),
+    @Index(name = "idx_rating_jobs_enqueued_at", columnList = "enqueued_at")
+})
+public class RatingPropagationJob implements Persistable<String> {
+    
+    @Id
+    @Column(name = "task_id", length = 8, nullable = false)
+    private String taskId;
+    
+    @Column(name = "project_id", length = 6, nullable = false)
+    private String projectId;
+    
+    @Column(name = "previous_rating")
+    private Float previousRating; // Null if the task was not rated before
+    
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt;
+    
+    @Transient
+    private boolean newEntity = true;
+    
+    // Constructors
+    public RatingPropagationJob() {}
+    
+    public RatingPropagationJob(String taskId, String projectId, Float previousRating) {
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.previousRating = previousRating;
+        this.enqueuedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getTaskId() { return taskId; }
+    public void setTaskId(String taskId) { this.taskId = taskId; }
+    
+    public String getProjectId() { return projectId; }
+    public void setProjectId(String projectId) { this.projectId = projectId; }
+    
+    public Float getPreviousRating() { return previousRating; }
+    public void setPreviousRating(Float previousRating) { this.previousRating = previousRating; }
+    
+    public LocalDateTime getEnqueuedAt() { return enqueuedAt; }
+    public void setEnqueuedAt(LocalDateTime enqueuedAt) { this.enqueuedAt = enqueuedAt; }
+    
+    @Override
+    public String getId() { return taskId; }
+    
+    @Override
+    public boolean isNew() { return newEntity; }
+    
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.newEntity = false; }
+}
@@ -1,9 +1,13 @@
 package com.enterprise.cleanqueen.entity;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import com.enterprise.cleanqueen.enums.TaskPriority;
 import com.enterprise.cleanqueen.enums.TaskStatus;
@@ -13,14 +17,23 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "tasks")
-public class Task {
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_path", columnList = "path"),
+    @Index(name = "idx_tasks_project_active", columnList = "project_id, is_active"),
+    @Index(name = "idx_tasks_project_created_at", columnList = "project_id, created_at, id")
+})
+@SQLRestriction("is_active = true") // Soft-deleted tasks are excluded from every entity query
+public class Task implements Persistable<String> {
     
     @Id
     @Size(min = 8, max = 8, message = "Task ID must be exactly 8 characters")
@@ -57,6 +70,21 @@ public class Task {
     @Column(name = "parent_id", length = 8)
     private String parentId; // Foreign Key to Task itself (nullable for hierarchy)
     
+    @Column(name = "path", length = 760)
+    private String path; // Materialized path of task IDs from the root, e.g. /ROOT0001/CHILD001/
+    
+    @Column(name = "depth")
+    private Integer depth; // 0 for root tasks
+    
+    @Column(name = "rating_sum")
+    private Double ratingSum = 0.0; // Sum of the ratings of rated child tasks
+    
+    @Column(name = "rated_child_count")
+    private Integer ratedChildCount = 0;
+    
+    @Column(name = "child_count")
+    private Integer childCount = 0; // Active child tasks
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -65,6 +93,9 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Transient
+    private boolean newEntity = true; // IDs are assigned by CodeGenerator, so track persistence state explicitly
+    
     // Constructors
     public Task() {}
     
@@ -80,6 +111,7 @@ public class Task {
     }
     
     // Getters and Setters
+    @Override
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
     
@@ -107,9 +139,127 @@ public class Task {
     public String getParentId() { return parentId; }
     public void setParentId(String parentId) { this.parentId = parentId; }
     
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+    
+    public Integer getDepth() { return depth; }
+    public void setDepth(Integer depth) { this.depth = depth; }
+    
+    public Double getRatingSum() { return ratingSum; }
+    public void setRatingSum(Double ratingSum) { this.ratingSum = ratingSum; }
+    
+    public Integer getRatedChildCount() { return ratedChildCount; }
+    public void setRatedChildCount(Integer ratedChildCount) { this.ratedChildCount = ratedChildCount; }
+    
+    public Integer getChildCount() { return childCount; }
+    public void setChildCount(Integer childCount) { this.childCount = childCount; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
-}
\ No newline at end of file
+    
+    /**
+     * Lets Spring Data persist new tasks directly instead of merging them,
+     * which would otherwise issue a SELECT per task before every insert
+     */
+    @Override
+    public boolean isNew() { return newEntity; }
+    
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.newEntity = false; }
+    
+    /**
+     * Place this task under the given parent (null for a root task),
+     * keeping parentId, path and depth consistent. The task ID must already be set.
+     * Under a parent that is not indexed yet the task stays unindexed as well,
+     * and the hierarchy backfill indexes both together.
+     */
+    public void placeUnder(Task parent) {
+        if (parent == null) {
+            this.parentId = null;
+            this.path = "/" + id + "/";
+            this.depth = 0;
+        } else if (parent.getPath() == null || parent.getDepth() == null) {
+            this.parentId = parent.getId();
+            this.path = null;
+            this.depth = null;
+        } else {
+            this.parentId = parent.getId();
+            this.path = parent.getPath() + id + "/";
+            this.depth = parent.getDepth() + 1;
+        }
+    }
+    
+    /**
+     * Apply a change of one child's rating to the running sums
+     *
+     * @param previousRating The child's rating before the change, null if it was not rated yet
+     */
+    public void applyChildRatingChange(Float previousRating, float newRating) {
+        initializeRatingSums();
+        if (previousRating == null) {
+            ratedChildCount++;
+            ratingSum += newRating;
+        } else {
+            ratingSum += newRating - previousRating;
+        }
+    }
+    
+    /**
+     * Remove a deleted child, with its rating if it had one, from the running sums
+     */
+    public void removeChild(Float childRating) {
+        initializeRatingSums();
+        childCount--;
+        if (childRating != null) {
+            ratedChildCount--;
+            ratingSum -= childRating;
+        }
+    }
+    
+    public boolean hasAllChildrenRated() {
+        int children = childCount != null ? childCount : 0;
+        int ratedChildren = ratedChildCount != null ? ratedChildCount : 0;
+        return children > 0 && ratedChildren >= children;
+    }
+    
+    /**
+     * Average of the children's ratings, once {@link #hasAllChildrenRated()}
+     */
+    public float getChildRatingAverage() {
+        return (float) ((ratingSum != null ? ratingSum : 0.0) / childCount);
+    }
+    
+    // Rows written before the running sums existed have them null until the hierarchy backfill recomputes them
+    private void initializeRatingSums() {
+        if (ratingSum == null) {
+            ratingSum = 0.0;
+        }
+        if (ratedChildCount == null) {
+            ratedChildCount = 0;
+        }
+        if (childCount == null) {
+            childCount = 0;
+        }
+    }
+    
+    /**
+     * Get the IDs of all ancestors of this task, nearest parent first
+     */
+    public List<String> getAncestorIds() {
+        List<String> ancestorIds = new ArrayList<>();
+        if (path == null) {
+            return ancestorIds;
+        }
+        String[] segments = path.split("/");
+        for (int i = segments.length - 2; i >= 0; i--) {
+            if (!segments[i].isEmpty()) {
+                ancestorIds.add(segments[i]);
+            }
+        }
+        return ancestorIds;
+    }
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import com.enterprise.cleanqueen.enums.Role;
 
@@ -12,15 +13,24 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "users")
-public class User {
+@Table(name = "users", indexes = {
+    // Keyset pagination of the admin user listings, newest first, and name prefix search
+    @Index(name = "idx_users_role_created_at_id", columnList = "role, created_at, id"),
+    @Index(name = "idx_users_first_name", columnList = "first_name"),
+    @Index(name = "idx_users_last_name", columnList = "last_name")
+})
+public class User implements Persistable<String> {
     
     @Id
     @Size(min = 6, max = 6, message = "User ID must be exactly 6 characters")
@@ -66,6 +76,9 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Transient
+    private boolean newEntity = true; // IDs are assigned by CodeGenerator, so track persistence state explicitly
+    
     // Constructors
     public User() {}
     
@@ -82,6 +95,7 @@ public class User {
     }
     
     // Getters and Setters
+    @Override
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
     
@@ -114,4 +128,12 @@ public class User {
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    // New users are persisted directly, so saveAll can batch inserts instead of merging row by row
+    @Override
+    public boolean isNew() { return newEntity; }
+    
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.newEntity = false; }
 }
\ No newline at end of file
@@ -1,13 +1,22 @@
 package com.enterprise.cleanqueen.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.enterprise.cleanqueen.dto.admin.SearchDocument;
+import com.enterprise.cleanqueen.dto.request.CleaningRequestSummaryDto;
 import com.enterprise.cleanqueen.entity.CleaningRequest;
 import com.enterprise.cleanqueen.enums.CleaningRequestStatus;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CleaningRequestRepository extends JpaRepository<CleaningRequest, String> {
     
@@ -20,4 +29,29 @@ public interface CleaningRequestRepository extends JpaRepository<CleaningRequest
     List<CleaningRequest> findByStatusOrderByCreatedAtDesc(CleaningRequestStatus status);
     
     List<CleaningRequest> findAllByOrderByCreatedAtDesc();
+    
+    // Forward-only cursor over unmanaged rows for exports; a fetch size of Integer.MIN_VALUE
+    // makes the MySQL driver stream rows instead of buffering the whole result
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT new com.enterprise.cleanqueen.dto.request.CleaningRequestSummaryDto(r.id, r.name, r.email, " +
+           "r.phoneNumber, r.serviceAddress, r.serviceType, r.preferredDate, r.timeFrom, r.timeTo, " +
+           "r.additionalDetails, r.status, r.userId, r.createdAt, r.updatedAt) FROM CleaningRequest r " +
+           "WHERE (:status IS NULL OR r.status = :status) " +
+           "AND (:createdFrom IS NULL OR r.createdAt >= :createdFrom) " +
+           "AND (:createdBefore IS NULL OR r.createdAt < :createdBefore) " +
+           "ORDER BY r.createdAt DESC")
+    Stream<CleaningRequestSummaryDto> streamForExport(@Param("status") CleaningRequestStatus status,
+                                                      @Param("createdFrom") LocalDateTime createdFrom,
+                                                      @Param("createdBefore") LocalDateTime createdBefore);
+    
+    // Dashboard reconciliation
+    @Query("SELECT r.status, COUNT(r) FROM CleaningRequest r GROUP BY r.status")
+    List<Object[]> countByStatus();
+    
+    // Text fields of every request for the admin search index
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT new com.enterprise.cleanqueen.dto.admin.SearchDocument(r.id, CONCAT(r.name, ' ', " +
+           "r.serviceAddress, ' ', r.serviceType, ' ', COALESCE(r.additionalDetails, '')), r.createdAt) " +
+           "FROM CleaningRequest r")
+    Stream<SearchDocument> streamSearchDocuments();
 }
\ No newline at end of file
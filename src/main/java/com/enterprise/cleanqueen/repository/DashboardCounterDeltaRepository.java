@@ -0,0 +1,26 @@
+package com.enterprise.cleanqueen.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.enterprise.cleanqueen.entity.DashboardCounterDelta;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface DashboardCounterDeltaRepository extends JpaRepository<DashboardCounterDelta, Long> {
+
+    // Oldest pending deltas, locked so workers on several instances never apply the same delta twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DashboardCounterDelta d ORDER BY d.id")
+    List<DashboardCounterDelta> findOldestForUpdate(Limit limit);
+
+    // Pending total per counter key
+    @Query("SELECT d.key, SUM(d.delta) FROM DashboardCounterDelta d GROUP BY d.key")
+    List<Object[]> sumByKey();
+}
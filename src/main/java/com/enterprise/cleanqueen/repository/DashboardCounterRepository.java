@@ -0,0 +1,19 @@
+package com.enterprise.cleanqueen.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.enterprise.cleanqueen.entity.DashboardCounter;
+
+@Repository
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, String> {
+
+    // Creates the counter on its first adjustment, so no change is lost before it exists
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_counters (counter_key, counter_value) VALUES (:key, :delta) " +
+                   "ON DUPLICATE KEY UPDATE counter_value = counter_value + :delta", nativeQuery = true)
+    int adjustValue(@Param("key") String key, @Param("delta") long delta);
+}
@@ -2,15 +2,29 @@ package com.enterprise.cleanqueen.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.enterprise.cleanqueen.dto.admin.SearchDocument;
+import com.enterprise.cleanqueen.dto.project.ProjectTaskStatistics;
+import com.enterprise.cleanqueen.dto.project.ProjectVersionStamp;
 import com.enterprise.cleanqueen.entity.Project;
 import com.enterprise.cleanqueen.enums.ProjectStatus;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, String> {
+public interface ProjectRepository extends JpaRepository<Project, String>, JpaSpecificationExecutor<Project> {
     
     Optional<Project> findByProjectCode(String projectCode);
     
@@ -22,9 +36,92 @@ public interface ProjectRepository extends JpaRepository<Project, String> {
     
     List<Project> findBySupervisorId(String supervisorId);
     
+    List<Project> findByCustomerIdOrSupervisorId(String customerId, String supervisorId);
+    
     List<Project> findByCustomerIdAndStatus(String customerId, ProjectStatus status);
     
     List<Project> findBySupervisorIdAndStatus(String supervisorId, ProjectStatus status);
     
     List<Project> findAllByOrderByCreatedAtDesc();
+    
+    // Denormalized task counters
+    @Modifying
+    @Query("UPDATE Project p SET p.totalTasks = p.totalTasks + :totalDelta, " +
+           "p.completedTasks = p.completedTasks + :completedDelta, " +
+           "p.activeTasks = p.activeTasks + :activeDelta WHERE p.id = :projectId")
+    int adjustTaskCounters(@Param("projectId") String projectId, @Param("totalDelta") int totalDelta,
+                           @Param("completedDelta") int completedDelta, @Param("activeDelta") int activeDelta);
+    
+    // Also bumps the tree version, as repaired counters change the project's representations
+    @Modifying
+    @Query("UPDATE Project p SET p.totalTasks = :totalTasks, p.completedTasks = :completedTasks, " +
+           "p.activeTasks = :activeTasks, p.treeVersion = p.treeVersion + 1 WHERE p.id = :projectId")
+    int setTaskCounters(@Param("projectId") String projectId, @Param("totalTasks") int totalTasks,
+                        @Param("completedTasks") int completedTasks, @Param("activeTasks") int activeTasks);
+    
+    // Running rating sums over the root tasks. The average is assigned first, so it is computed
+    // from the sums before this change plus the deltas, and only once every root task is rated.
+    @Modifying
+    @Query("UPDATE Project p SET p.averageRating = CASE WHEN p.ratedChildCount + :ratedDelta >= p.childCount " +
+           "AND p.childCount > 0 THEN CAST((p.ratingSum + :sumDelta) / p.childCount AS Float) " +
+           "ELSE p.averageRating END, " +
+           "p.ratingSum = p.ratingSum + :sumDelta, p.ratedChildCount = p.ratedChildCount + :ratedDelta " +
+           "WHERE p.id = :projectId")
+    int applyRootTaskRatingChange(@Param("projectId") String projectId, @Param("sumDelta") double sumDelta,
+                                  @Param("ratedDelta") int ratedDelta);
+    
+    @Modifying
+    @Query("UPDATE Project p SET p.ratingSum = p.ratingSum + :sumDelta, " +
+           "p.ratedChildCount = p.ratedChildCount + :ratedDelta, p.childCount = p.childCount + :childDelta " +
+           "WHERE p.id = :projectId")
+    int adjustRatingAggregates(@Param("projectId") String projectId, @Param("sumDelta") double sumDelta,
+                               @Param("ratedDelta") int ratedDelta, @Param("childDelta") int childDelta);
+    
+    @Modifying
+    @Query("UPDATE Project p SET p.ratingSum = :ratingSum, p.ratedChildCount = :ratedChildCount, " +
+           "p.childCount = :childCount WHERE p.id = :projectId")
+    int setRatingAggregates(@Param("projectId") String projectId, @Param("ratingSum") double ratingSum,
+                            @Param("ratedChildCount") int ratedChildCount, @Param("childCount") int childCount);
+    
+    // Serializes rating propagation for one project across application instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :projectId")
+    Optional<Project> findByIdForUpdate(@Param("projectId") String projectId);
+    
+    // Projects created before the hierarchy index or the rating sums existed, in ID order after the given ID
+    @Query("SELECT p.id FROM Project p WHERE p.id > :afterId AND (p.childCount IS NULL " +
+           "OR EXISTS (SELECT t.id FROM Task t WHERE t.projectId = p.id AND t.path IS NULL)) ORDER BY p.id")
+    List<String> findProjectIdsNeedingHierarchyBackfill(@Param("afterId") String afterId, Limit limit);
+    
+    @Query("SELECT new com.enterprise.cleanqueen.dto.project.ProjectTaskStatistics(p.id, " +
+           "CAST(p.totalTasks AS Long), CAST(p.completedTasks AS Long), CAST(p.activeTasks AS Long)) FROM Project p")
+    List<ProjectTaskStatistics> findAllTaskCounters();
+    
+    // Task hierarchy version used as cache key
+    @Query("SELECT p.treeVersion FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findTreeVersionById(@Param("projectId") String projectId);
+    
+    @Modifying
+    @Query("UPDATE Project p SET p.treeVersion = p.treeVersion + 1 WHERE p.id = :projectId")
+    int incrementTreeVersion(@Param("projectId") String projectId);
+    
+    // Dashboard reconciliation
+    @Query("SELECT p.status, COUNT(p) FROM Project p GROUP BY p.status")
+    List<Object[]> countByStatus();
+    
+    // Text fields of every project for the admin search index
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT new com.enterprise.cleanqueen.dto.admin.SearchDocument(p.id, " +
+           "CONCAT(p.name, ' ', COALESCE(p.address, '')), p.createdAt) FROM Project p")
+    Stream<SearchDocument> streamSearchDocuments();
+    
+    // HTTP validators
+    @Query("SELECT new com.enterprise.cleanqueen.dto.project.ProjectVersionStamp(" +
+           "COUNT(p), MAX(p.updatedAt), SUM(p.treeVersion)) FROM Project p WHERE p.id = :projectId")
+    ProjectVersionStamp findVersionStampById(@Param("projectId") String projectId);
+    
+    @Query("SELECT new com.enterprise.cleanqueen.dto.project.ProjectVersionStamp(" +
+           "COUNT(p), MAX(p.updatedAt), SUM(p.treeVersion)) FROM Project p " +
+           "WHERE p.customerId = :userId OR p.supervisorId = :userId")
+    ProjectVersionStamp findVersionStampByUserId(@Param("userId") String userId);
 }
\ No newline at end of file
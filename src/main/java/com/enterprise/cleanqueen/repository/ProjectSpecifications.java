@@ -0,0 +1,55 @@
+package com.enterprise.cleanqueen.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.enums.ProjectStatus;
+import com.enterprise.cleanqueen.util.KeysetCursor;
+
+/**
+ * Query building blocks for filtered project listings. Each filter returns null
+ * when not requested, so only the predicates actually in use reach the SQL and
+ * the matching composite index on projects can be chosen.
+ */
+public final class ProjectSpecifications {
+
+    private ProjectSpecifications() {}
+
+    public static Specification<Project> hasStatus(ProjectStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Project> hasCustomerId(String customerId) {
+        return customerId == null ? null : (root, query, cb) -> cb.equal(root.get("customerId"), customerId);
+    }
+
+    public static Specification<Project> hasSupervisorId(String supervisorId) {
+        return supervisorId == null ? null : (root, query, cb) -> cb.equal(root.get("supervisorId"), supervisorId);
+    }
+
+    public static Specification<Project> dueOnOrAfter(LocalDate dueDateFrom) {
+        return dueDateFrom == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDate>get("dueDate"), dueDateFrom);
+    }
+
+    public static Specification<Project> dueOnOrBefore(LocalDate dueDateTo) {
+        return dueDateTo == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.<LocalDate>get("dueDate"), dueDateTo);
+    }
+
+    /**
+     * Projects after the cursor in (createdAt DESC, id DESC) order
+     */
+    public static Specification<Project> createdBefore(KeysetCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.lessThan(root.get("id"), cursor.getId())));
+    }
+}
@@ -0,0 +1,34 @@
+package com.enterprise.cleanqueen.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.enterprise.cleanqueen.entity.RatingPropagationJob;
+
+@Repository
+public interface RatingPropagationJobRepository extends JpaRepository<RatingPropagationJob, String> {
+    
+    List<RatingPropagationJob> findByProjectIdOrderByEnqueuedAt(String projectId);
+    
+    // Projects with pending work, the one waiting longest first
+    @Query("SELECT j.projectId FROM RatingPropagationJob j GROUP BY j.projectId ORDER BY MIN(j.enqueuedAt)")
+    List<String> findPendingProjectIds(Limit limit);
+    
+    // After a project's running sums were recomputed from the stored ratings, pending ratings are
+    // already counted; only the averages above them still need to be derived
+    @Modifying
+    @Query("UPDATE RatingPropagationJob j SET j.previousRating = " +
+           "(SELECT t.averageRating FROM Task t WHERE t.id = j.taskId) WHERE j.projectId = :projectId")
+    int rebaseOnCurrentRatings(@Param("projectId") String projectId);
+    
+    @Query("SELECT MIN(j.enqueuedAt) FROM RatingPropagationJob j")
+    Optional<LocalDateTime> findOldestEnqueuedAt();
+}
@@ -1,11 +1,16 @@
 package com.enterprise.cleanqueen.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.enterprise.cleanqueen.dto.project.TaskReviewRow;
 import com.enterprise.cleanqueen.entity.Review;
 
 @Repository
@@ -22,4 +27,20 @@ public interface ReviewRepository extends JpaRepository<Review, String> {
     List<Review> findByCustomerIdOrderByCreatedAtDesc(String customerId);
     
     List<Review> findAllByOrderByCreatedAtDesc();
-}
\ No newline at end of file
+    
+    @Query("SELECT COALESCE(SUM(r.rating), 0) FROM Review r")
+    long sumRatings();
+    
+    // One page of a project's active tasks with their reviews, in creation order, after the given position
+    @Query("SELECT new com.enterprise.cleanqueen.dto.project.TaskReviewRow(t.id, t.name, t.createdAt, " +
+           "r.comment, r.rating) FROM Task t LEFT JOIN Review r ON r.taskId = t.id " +
+           "WHERE t.projectId = :projectId " +
+           "AND (:reviewedOnly = false OR r.id IS NOT NULL) " +
+           "AND (:afterCreatedAt IS NULL OR t.createdAt > :afterCreatedAt " +
+           "OR (t.createdAt = :afterCreatedAt AND t.id > :afterId)) " +
+           "ORDER BY t.createdAt, t.id")
+    List<TaskReviewRow> findTaskReviewsByProjectId(@Param("projectId") String projectId,
+                                                   @Param("reviewedOnly") boolean reviewedOnly,
+                                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                   @Param("afterId") String afterId, Limit limit);
+}
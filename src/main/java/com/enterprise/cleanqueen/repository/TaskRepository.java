@@ -1,21 +1,43 @@
 package com.enterprise.cleanqueen.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.enterprise.cleanqueen.dto.project.ProjectTaskStatistics;
+import com.enterprise.cleanqueen.dto.project.TaskHierarchyRow;
 import com.enterprise.cleanqueen.entity.Task;
 import com.enterprise.cleanqueen.enums.TaskPriority;
 import com.enterprise.cleanqueen.enums.TaskStatus;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TaskRepository extends JpaRepository<Task, String> {
     
     List<Task> findByProjectId(String projectId);
     
+    // Depth-first order via the materialized path; a fetch size of Integer.MIN_VALUE
+    // makes the MySQL driver stream rows instead of buffering the whole result.
+    // Unindexed tasks are not reachable by path, so callers index the project first.
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT new com.enterprise.cleanqueen.dto.project.TaskHierarchyRow(t.id, t.name, t.description, " +
+           "t.status, t.priority, t.averageRating, t.createdAt, t.updatedAt, t.path) " +
+           "FROM Task t WHERE t.projectId = :projectId AND t.path IS NOT NULL ORDER BY t.path")
+    Stream<TaskHierarchyRow> streamHierarchyRowsByProjectId(@Param("projectId") String projectId);
+    
+    boolean existsByProjectIdAndPathIsNull(String projectId);
+    
     List<Task> findByParentId(String parentId);
     
     List<Task> findByStatus(TaskStatus status);
@@ -37,7 +59,71 @@ public interface TaskRepository extends JpaRepository<Task, String> {
     @Query("SELECT COUNT(t) FROM Task t WHERE t.parentId = :parentId")
     long countChildrenTasks(@Param("parentId") String parentId);
     
-    List<Task> findByIsActive(Boolean isActive);
+    long countByStatusAndAverageRatingIsNullAndIsActiveTrue(TaskStatus status);
+    
+    List<Task> findByParentIdIn(Collection<String> parentIds);
+    
+    // Locked current rows, for writers that hold the locks of their projects, see ProjectRepository#findByIdForUpdate
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id IN :taskIds")
+    List<Task> findAllByIdForUpdate(@Param("taskIds") Collection<String> taskIds);
+    
+    // In ID order, the order in which project locks are taken
+    @Query("SELECT DISTINCT t.projectId FROM Task t WHERE t.id IN :taskIds ORDER BY t.projectId")
+    List<String> findProjectIdsByTaskIds(@Param("taskIds") Collection<String> taskIds);
+    
+    // Task statistics aggregated per project from active rows, without loading task rows
+    @Query("SELECT new com.enterprise.cleanqueen.dto.project.ProjectTaskStatistics(t.projectId, COUNT(t), " +
+           "SUM(CASE WHEN t.status = com.enterprise.cleanqueen.enums.TaskStatus.COMPLETED THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.status = com.enterprise.cleanqueen.enums.TaskStatus.IN_PROGRESS THEN 1 ELSE 0 END)) " +
+           "FROM Task t WHERE t.isActive = true GROUP BY t.projectId")
+    List<ProjectTaskStatistics> findTaskStatisticsForAllProjects();
+    
+    // Empty for a project without active tasks
+    @Query("SELECT new com.enterprise.cleanqueen.dto.project.ProjectTaskStatistics(t.projectId, COUNT(t), " +
+           "SUM(CASE WHEN t.status = com.enterprise.cleanqueen.enums.TaskStatus.COMPLETED THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.status = com.enterprise.cleanqueen.enums.TaskStatus.IN_PROGRESS THEN 1 ELSE 0 END)) " +
+           "FROM Task t WHERE t.projectId = :projectId AND t.isActive = true GROUP BY t.projectId")
+    Optional<ProjectTaskStatistics> findTaskStatisticsByProjectId(@Param("projectId") String projectId);
+    
+    // Hierarchy queries backed by the materialized path index
+    @Query("SELECT t FROM Task t WHERE t.path LIKE CONCAT(:path, '%') AND t.path <> :path")
+    List<Task> findDescendantsByPath(@Param("path") String path);
+    
+    // Rating propagation loads tasks read-only and writes back only the rating columns,
+    // see updateRatingAggregates, so a dirty entity can never overwrite a whole row
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<Task> findByIdIn(Collection<String> ids);
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT t FROM Task t WHERE t.id IN :ancestorIds ORDER BY t.depth DESC")
+    List<Task> findAncestorsByIds(@Param("ancestorIds") Collection<String> ancestorIds);
+    
+    @Modifying
+    @Query("UPDATE Task t SET t.ratingSum = :ratingSum, t.ratedChildCount = :ratedChildCount, " +
+           "t.averageRating = :averageRating, t.updatedAt = CURRENT_TIMESTAMP WHERE t.id = :taskId")
+    int updateRatingAggregates(@Param("taskId") String taskId, @Param("ratingSum") Double ratingSum,
+                               @Param("ratedChildCount") Integer ratedChildCount,
+                               @Param("averageRating") Float averageRating);
+    
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.path LIKE CONCAT(:path, '%')")
+    long countSubtreeByPath(@Param("path") String path);
+    
+    // Rows of [status, task count, unrated task count] for the active tasks of a subtree
+    @Query("SELECT t.status, COUNT(t), SUM(CASE WHEN t.averageRating IS NULL THEN 1 ELSE 0 END) FROM Task t " +
+           "WHERE t.projectId = :projectId AND t.path LIKE CONCAT(:path, '%') GROUP BY t.status")
+    List<Object[]> countSubtreeByStatus(@Param("projectId") String projectId, @Param("path") String path);
+    
+    // Native, so soft-deleted rows are found as well
+    @Query(value = "SELECT project_id FROM tasks WHERE id = :taskId", nativeQuery = true)
+    Optional<String> findProjectIdIncludingDeleted(@Param("taskId") String taskId);
+    
+    @Query(value = "SELECT name FROM tasks WHERE id = :taskId AND is_active = false", nativeQuery = true)
+    Optional<String> findNameOfDeletedTask(@Param("taskId") String taskId);
     
-    List<Task> findByProjectIdAndIsActive(String projectId, Boolean isActive);
+    // Soft delete a task and all of its descendants in one statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.isActive = false, t.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE t.projectId = :projectId AND t.path LIKE CONCAT(:path, '%') AND t.isActive = true")
+    int deactivateSubtree(@Param("projectId") String projectId, @Param("path") String path);
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package com.enterprise.cleanqueen.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.enterprise.cleanqueen.dto.user.UserNameDto;
+import com.enterprise.cleanqueen.dto.user.UserSummaryDto;
 import com.enterprise.cleanqueen.entity.User;
 import com.enterprise.cleanqueen.enums.Role;
 
@@ -23,4 +30,52 @@ public interface UserRepository extends JpaRepository<User, String> {
     List<User> findByIsVerified(Boolean isVerified);
 
     List<User> findByRoleAndIsActive(Role role, Boolean isActive);
+
+    long countByRoleAndIsActive(Role role, Boolean isActive);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT new com.enterprise.cleanqueen.dto.user.UserNameDto(u.id, u.firstName, u.lastName) " +
+           "FROM User u WHERE u.id IN :ids")
+    List<UserNameDto> findNamesByIdIn(@Param("ids") Collection<String> ids);
+
+    // Summary listings select only summary columns into unmanaged DTOs, newest first.
+    // Each filter shape has its own statement, so every one can use its index.
+    @Query("SELECT new com.enterprise.cleanqueen.dto.user.UserSummaryDto(u.id, u.firstName, u.lastName, " +
+           "u.email, u.phoneNumber, u.role, u.isActive, u.isVerified, u.createdAt) FROM User u " +
+           "WHERE u.role = :role ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserSummaryDto> findSummariesByRole(@Param("role") Role role, Limit limit);
+
+    @Query("SELECT new com.enterprise.cleanqueen.dto.user.UserSummaryDto(u.id, u.firstName, u.lastName, " +
+           "u.email, u.phoneNumber, u.role, u.isActive, u.isVerified, u.createdAt) FROM User u " +
+           "WHERE u.role = :role AND (u.createdAt < :afterCreatedAt " +
+           "OR (u.createdAt = :afterCreatedAt AND u.id < :afterId)) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserSummaryDto> findSummariesByRoleAfter(@Param("role") Role role,
+                                                  @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                  @Param("afterId") String afterId, Limit limit);
+
+    @Query("SELECT new com.enterprise.cleanqueen.dto.user.UserSummaryDto(u.id, u.firstName, u.lastName, " +
+           "u.email, u.phoneNumber, u.role, u.isActive, u.isVerified, u.createdAt) FROM User u WHERE u.id IN :ids")
+    List<UserSummaryDto> findSummariesByIdIn(@Param("ids") Collection<String> ids);
+
+    // Prefix search: a union of three range scans on the first name, last name and email indexes.
+    // Only the matched rows are joined back for the role and page position, then sorted.
+    String PREFIX_MATCHES = "SELECT id FROM users WHERE first_name LIKE :prefix ESCAPE '!' " +
+           "UNION SELECT id FROM users WHERE last_name LIKE :prefix ESCAPE '!' " +
+           "UNION SELECT id FROM users WHERE email LIKE :prefix ESCAPE '!'";
+
+    @Query(value = "SELECT u.id FROM (" + PREFIX_MATCHES + ") m JOIN users u ON u.id = m.id " +
+           "WHERE u.role = :role ORDER BY u.created_at DESC, u.id DESC LIMIT :limit", nativeQuery = true)
+    List<String> findIdsByRoleAndPrefix(@Param("role") String role, @Param("prefix") String prefix,
+                                        @Param("limit") int limit);
+
+    @Query(value = "SELECT u.id FROM (" + PREFIX_MATCHES + ") m JOIN users u ON u.id = m.id " +
+           "WHERE u.role = :role AND (u.created_at < :afterCreatedAt " +
+           "OR (u.created_at = :afterCreatedAt AND u.id < :afterId)) " +
+           "ORDER BY u.created_at DESC, u.id DESC LIMIT :limit", nativeQuery = true)
+    List<String> findIdsByRoleAndPrefixAfter(@Param("role") String role, @Param("prefix") String prefix,
+                                             @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                             @Param("afterId") String afterId, @Param("limit") int limit);
 }
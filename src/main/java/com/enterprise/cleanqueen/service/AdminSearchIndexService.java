@@ -0,0 +1,175 @@
+package com.enterprise.cleanqueen.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.dto.admin.SearchDocument;
+import com.enterprise.cleanqueen.entity.CleaningRequest;
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.repository.CleaningRequestRepository;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.util.InvertedIndex;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory full-text index over cleaning requests and projects for admin search.
+ * Writes through this service update the index once their transaction commits;
+ * a periodic rebuild from the database also picks up writes made by other instances.
+ */
+@Service
+public class AdminSearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminSearchIndexService.class);
+
+    @Autowired
+    private CleaningRequestRepository cleaningRequestRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    private final RebuildableIndex cleaningRequestIndex = new RebuildableIndex();
+    private final RebuildableIndex projectIndex = new RebuildableIndex();
+
+    @PostConstruct
+    void initTransactionTemplate() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public void indexCleaningRequest(CleaningRequest request) {
+        String text = String.join(" ", request.getName(), request.getServiceAddress(), request.getServiceType(),
+                request.getAdditionalDetails() != null ? request.getAdditionalDetails() : "");
+        afterCommit(() -> cleaningRequestIndex.put(request.getId(), text, toRank(request.getCreatedAt())));
+    }
+
+    public void indexProject(Project project) {
+        String text = project.getName() + " " + (project.getAddress() != null ? project.getAddress() : "");
+        afterCommit(() -> projectIndex.put(project.getId(), text, toRank(project.getCreatedAt())));
+    }
+
+    /**
+     * @return IDs of matching cleaning requests, newest first
+     */
+    public List<String> searchCleaningRequestIds(String query, int limit) {
+        return cleaningRequestIndex.search(query, limit);
+    }
+
+    /**
+     * @return IDs of matching projects, newest first
+     */
+    public List<String> searchProjectIds(String query, int limit) {
+        return projectIndex.search(query, limit);
+    }
+
+    /**
+     * Rebuild both indexes from the database right after startup and then periodically
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.search.rebuild-interval-ms:1800000}")
+    public void rebuildIndexes() {
+        try {
+            long startTime = System.currentTimeMillis();
+            int requestCount = cleaningRequestIndex.rebuild(cleaningRequestRepository::streamSearchDocuments);
+            int projectCount = projectIndex.rebuild(projectRepository::streamSearchDocuments);
+            logger.info("Admin search index rebuilt with {} cleaning requests and {} projects in {} ms",
+                    requestCount, projectCount, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            logger.error("Error rebuilding admin search index", e);
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static long toRank(LocalDateTime createdAt) {
+        // Entities saved by merge keep a null timestamp on the passed-in instance
+        LocalDateTime rankTime = createdAt != null ? createdAt : LocalDateTime.now();
+        return rankTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * An index that keeps serving searches while it is rebuilt. Documents written during
+     * a rebuild are replayed into the new index before it is swapped in.
+     */
+    private class RebuildableIndex {
+        private volatile InvertedIndex index = new InvertedIndex();
+        private Map<String, PendingWrite> writesDuringRebuild;
+
+        synchronized void put(String id, String text, long rank) {
+            index.put(id, text, rank);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.put(id, new PendingWrite(text, rank));
+            }
+        }
+
+        List<String> search(String query, int limit) {
+            return index.search(query, limit);
+        }
+
+        int rebuild(Supplier<Stream<SearchDocument>> documents) {
+            synchronized (this) {
+                writesDuringRebuild = new HashMap<>();
+            }
+            try {
+                InvertedIndex rebuilt = new InvertedIndex();
+                readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<SearchDocument> stream = documents.get()) {
+                        stream.forEach(document -> rebuilt.put(document.getId(), document.getText(),
+                                toRank(document.getCreatedAt())));
+                    }
+                });
+
+                synchronized (this) {
+                    writesDuringRebuild.forEach((id, write) -> rebuilt.put(id, write.text, write.rank));
+                    index = rebuilt;
+                }
+                return rebuilt.size();
+            } finally {
+                // On failure the previous index stays in place
+                synchronized (this) {
+                    writesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private static class PendingWrite {
+        private final String text;
+        private final long rank;
+
+        PendingWrite(String text, long rank) {
+            this.text = text;
+            this.rank = rank;
+        }
+    }
+}
@@ -1,5 +1,13 @@
 package com.enterprise.cleanqueen.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.enterprise.cleanqueen.dto.admin.AdminDashboardResponse;
+import com.enterprise.cleanqueen.dto.admin.AdminSearchResponse;
+import com.enterprise.cleanqueen.dto.admin.BulkCreateSupervisorsResponse;
 import com.enterprise.cleanqueen.dto.admin.CreateSupervisorRequest;
 import com.enterprise.cleanqueen.dto.admin.CreateSupervisorResponse;
 import com.enterprise.cleanqueen.dto.admin.DeleteTaskResponse;
@@ -9,21 +17,36 @@ import com.enterprise.cleanqueen.dto.admin.GetAllSupervisorsResponse;
 import com.enterprise.cleanqueen.dto.admin.GetAllProjectsResponse;
 import com.enterprise.cleanqueen.dto.admin.SendProjectCodeRequest;
 import com.enterprise.cleanqueen.dto.admin.SendProjectCodeResponse;
+import com.enterprise.cleanqueen.enums.CleaningRequestStatus;
+import com.enterprise.cleanqueen.enums.ExportFormat;
+import com.enterprise.cleanqueen.enums.ProjectStatus;
 
 public interface AdminService {
     
     CreateSupervisorResponse createSupervisor(CreateSupervisorRequest request);
 
+    BulkCreateSupervisorsResponse createSupervisors(List<CreateSupervisorRequest> requests);
+
+    BulkCreateSupervisorsResponse createSupervisorsFromCsv(String csv);
+
     SendProjectCodeResponse sendProjectCode(SendProjectCodeRequest request);
 
-    GetAllSupervisorsResponse getAllSupervisors();
+    GetAllSupervisorsResponse getAllSupervisors(String search, String cursor, Integer limit);
 
-    GetAllCustomersResponse getAllCustomers();
+    GetAllCustomersResponse getAllCustomers(String search, String cursor, Integer limit);
 
     GetAllCleaningRequestsResponse getAllCleaningRequests();
 
+    long exportCleaningRequests(ExportFormat format, CleaningRequestStatus status, LocalDate createdFrom,
+                                LocalDate createdTo, OutputStream outputStream) throws IOException;
+
     DeleteTaskResponse deleteTask(String taskId);
 
-    GetAllProjectsResponse getAllProjects();
+    GetAllProjectsResponse getAllProjects(ProjectStatus status, LocalDate dueDateFrom, LocalDate dueDateTo,
+                                          String customerId, String supervisorId, String cursor, Integer limit);
+
+    AdminSearchResponse search(String query, Integer limit);
+
+    AdminDashboardResponse getDashboard();
 
 }
\ No newline at end of file
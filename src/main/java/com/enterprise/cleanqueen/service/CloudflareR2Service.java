@@ -3,6 +3,9 @@ package com.enterprise.cleanqueen.service;
 import java.util.List;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsRequest;
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsResponse;
+
 public interface CloudflareR2Service {
     
     /**
@@ -19,4 +22,42 @@ public interface CloudflareR2Service {
      * @return true if all images deleted successfully
      */
     boolean deleteImages(List<String> imageUrls);
-}
\ No newline at end of file
+    
+    /**
+     * Issue short-lived presigned PUT URLs for uploading review images directly to the bucket.
+     * Uploads that are never finalized are removed by {@link #deleteAbandonedUploads}.
+     * @param customerId Customer the upload keys are reserved for
+     * @param taskId Task the images are for; the caller must have checked that the customer can review it
+     * @param images Content type and exact size of each image (max 2)
+     * @return One upload URL per image, in request order
+     * @throws RuntimeException if an image has an unsupported type or size
+     */
+    List<CreateImageUploadUrlsResponse.ImageUploadUrl> createImageUploadUrls(String customerId, String taskId,
+                                                                             List<CreateImageUploadUrlsRequest.ImageUpload> images);
+    
+    /**
+     * Verify images uploaded through presigned URLs (existence, size and content type)
+     * and move them to their final review keys
+     * @param customerId Customer the upload keys were issued to
+     * @param taskId Task the upload keys were issued for
+     * @param uploadKeys Keys returned by {@link #createImageUploadUrls}
+     * @return List of public URLs for the finalized images
+     * @throws RuntimeException if an image is missing, invalid or was issued to another customer or task
+     */
+    List<String> finalizeUploadedImages(String customerId, String taskId, List<String> uploadKeys);
+    
+    /**
+     * Compress a stored JPEG or PNG image in the background and overwrite it in place, only if it
+     * is still the version that was compressed; the original is kept if compression fails or does
+     * not help, and GIF and WebP images are left as uploaded
+     * @param imageUrl Public URL of the stored image
+     */
+    void compressStoredImage(String imageUrl);
+    
+    /**
+     * Delete direct uploads older than the upload retention period that were never finalized
+     * into a review, so unused presigned uploads do not accumulate in the bucket
+     * @return Number of uploads deleted
+     */
+    int deleteAbandonedUploads();
+}
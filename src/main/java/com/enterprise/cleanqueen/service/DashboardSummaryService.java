@@ -0,0 +1,273 @@
+package com.enterprise.cleanqueen.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.dto.admin.AdminDashboardResponse;
+import com.enterprise.cleanqueen.entity.DashboardCounter;
+import com.enterprise.cleanqueen.entity.DashboardCounterDelta;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.CleaningRequestStatus;
+import com.enterprise.cleanqueen.enums.ProjectStatus;
+import com.enterprise.cleanqueen.enums.Role;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+import com.enterprise.cleanqueen.repository.CleaningRequestRepository;
+import com.enterprise.cleanqueen.repository.DashboardCounterDeltaRepository;
+import com.enterprise.cleanqueen.repository.DashboardCounterRepository;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.ReviewRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+import com.enterprise.cleanqueen.repository.UserRepository;
+
+/**
+ * Maintains the admin dashboard summary in the dashboard_counters table.
+ * Writers only insert their changes into dashboard_counter_deltas inside their own
+ * transaction, so concurrent writes never wait on the shared counter rows; a scheduled
+ * worker folds the pending deltas into the counters. Reading the dashboard never touches
+ * the underlying tables, and a periodic reconciliation compares every counter with the
+ * source tables to correct any drift.
+ */
+@Service
+public class DashboardSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSummaryService.class);
+
+    private static final String PROJECTS_PREFIX = "projects.";
+    private static final String REQUESTS_PREFIX = "requests.";
+    private static final String ACTIVE_SUPERVISORS = "supervisors.active";
+    private static final String UNRATED_COMPLETED_TASKS = "tasks.completedUnrated";
+    private static final String REVIEW_COUNT = "reviews.count";
+    private static final String REVIEW_RATING_SUM = "reviews.ratingSum";
+
+    @Autowired
+    private DashboardCounterRepository dashboardCounterRepository;
+
+    @Autowired
+    private DashboardCounterDeltaRepository dashboardCounterDeltaRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CleaningRequestRepository cleaningRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.dashboard.deltas-per-poll:1000}")
+    private int deltasPerPoll;
+
+    public void projectCreated(ProjectStatus status) {
+        adjust(PROJECTS_PREFIX + status, 1);
+    }
+
+    public void projectStatusChanged(ProjectStatus previousStatus, ProjectStatus newStatus) {
+        if (previousStatus != newStatus) {
+            adjust(PROJECTS_PREFIX + previousStatus, -1);
+            adjust(PROJECTS_PREFIX + newStatus, 1);
+        }
+    }
+
+    public void cleaningRequestCreated(CleaningRequestStatus status) {
+        adjust(REQUESTS_PREFIX + status, 1);
+    }
+
+    public void activeSupervisorsAdded(int count) {
+        adjust(ACTIVE_SUPERVISORS, count);
+    }
+
+    public void reviewCreated(int rating) {
+        adjust(REVIEW_COUNT, 1);
+        adjust(REVIEW_RATING_SUM, rating);
+    }
+
+    public void adjustUnratedCompletedTasks(long delta) {
+        adjust(UNRATED_COMPLETED_TASKS, delta);
+    }
+
+    /**
+     * Check whether a task counts towards the unrated completed tasks
+     */
+    public static boolean isUnratedCompleted(Task task) {
+        return task.getStatus() == TaskStatus.COMPLETED
+                && task.getAverageRating() == null
+                && Boolean.TRUE.equals(task.getIsActive());
+    }
+
+    public static long countUnratedCompleted(List<Task> tasks) {
+        return tasks.stream().filter(DashboardSummaryService::isUnratedCompleted).count();
+    }
+
+    /**
+     * Read the dashboard summary from the stored counters
+     */
+    @Transactional(readOnly = true)
+    public AdminDashboardResponse getDashboard() {
+        Map<String, Long> values = findRecordedValues();
+
+        Map<ProjectStatus, Long> projectsByStatus = new LinkedHashMap<>();
+        for (ProjectStatus status : ProjectStatus.values()) {
+            projectsByStatus.put(status, values.getOrDefault(PROJECTS_PREFIX + status, 0L));
+        }
+        Map<CleaningRequestStatus, Long> requestsByStatus = new LinkedHashMap<>();
+        for (CleaningRequestStatus status : CleaningRequestStatus.values()) {
+            requestsByStatus.put(status, values.getOrDefault(REQUESTS_PREFIX + status, 0L));
+        }
+
+        long reviewCount = values.getOrDefault(REVIEW_COUNT, 0L);
+        Double averageRating = reviewCount > 0
+                ? (double) values.getOrDefault(REVIEW_RATING_SUM, 0L) / reviewCount
+                : null;
+
+        return new AdminDashboardResponse(
+                true,
+                "Dashboard summary retrieved successfully",
+                projectsByStatus,
+                requestsByStatus,
+                values.getOrDefault(ACTIVE_SUPERVISORS, 0L),
+                values.getOrDefault(UNRATED_COMPLETED_TASKS, 0L),
+                reviewCount,
+                averageRating
+        );
+    }
+
+    /**
+     * Fold the oldest pending deltas into the counters, one transaction per poll
+     *
+     * @return Number of deltas applied
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.poll-interval-ms:1000}")
+    public int applyPendingDeltas() {
+        try {
+            Integer applied = transactionTemplate.execute(status -> {
+                List<DashboardCounterDelta> deltas =
+                        dashboardCounterDeltaRepository.findOldestForUpdate(Limit.of(deltasPerPoll));
+                if (deltas.isEmpty()) {
+                    return 0;
+                }
+
+                // Sorted by key, so every transaction locks the counter rows in the same order
+                Map<String, Long> totals = new TreeMap<>();
+                for (DashboardCounterDelta delta : deltas) {
+                    totals.merge(delta.getKey(), delta.getDelta(), Long::sum);
+                }
+                totals.forEach((key, total) -> {
+                    if (total != 0) {
+                        dashboardCounterRepository.adjustValue(key, total);
+                    }
+                });
+
+                dashboardCounterDeltaRepository.deleteAllInBatch(deltas);
+                return deltas.size();
+            });
+            return applied == null ? 0 : applied;
+
+        } catch (Exception e) {
+            // Deltas stay pending and are retried on the next poll
+            logger.error("Error applying pending dashboard counter deltas", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Compare every counter with the source tables right after startup and then
+     * every 15 minutes, correcting any drift from the incrementally maintained values.
+     * All reads come from one snapshot, in which each committed write is seen together
+     * with its delta, so a counter plus its pending deltas must equal the recount. The
+     * difference is applied as one more increment rather than by overwriting the value,
+     * which keeps every change committed after the snapshot. A failed run is logged by
+     * the scheduler and retried on the next one.
+     *
+     * @return Number of counters that had drifted
+     */
+    @Scheduled(initialDelay = 0, fixedRate = 900000) // Every 15 minutes
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public int reconcileCounters() {
+        Map<String, Long> actual = new TreeMap<>(); // Corrections lock the counter rows in key order
+        for (ProjectStatus status : ProjectStatus.values()) {
+            actual.put(PROJECTS_PREFIX + status, 0L);
+        }
+        for (Object[] row : projectRepository.countByStatus()) {
+            actual.put(PROJECTS_PREFIX + row[0], ((Number) row[1]).longValue());
+        }
+        for (CleaningRequestStatus status : CleaningRequestStatus.values()) {
+            actual.put(REQUESTS_PREFIX + status, 0L);
+        }
+        for (Object[] row : cleaningRequestRepository.countByStatus()) {
+            actual.put(REQUESTS_PREFIX + row[0], ((Number) row[1]).longValue());
+        }
+        actual.put(ACTIVE_SUPERVISORS, userRepository.countByRoleAndIsActive(Role.SUPERVISOR, true));
+        actual.put(UNRATED_COMPLETED_TASKS,
+                taskRepository.countByStatusAndAverageRatingIsNullAndIsActiveTrue(TaskStatus.COMPLETED));
+        actual.put(REVIEW_COUNT, reviewRepository.count());
+        actual.put(REVIEW_RATING_SUM, reviewRepository.sumRatings());
+
+        Map<String, Long> recorded = findRecordedValues();
+
+        int driftedCounters = 0;
+        for (Map.Entry<String, Long> entry : actual.entrySet()) {
+            long recordedValue = recorded.getOrDefault(entry.getKey(), 0L);
+            long correction = entry.getValue() - recordedValue;
+            if (correction != 0) {
+                // Counters that do not exist yet are created here
+                if (recorded.containsKey(entry.getKey())) {
+                    logger.warn("Dashboard counter {} drifted: recorded={}, actual={}",
+                            entry.getKey(), recordedValue, entry.getValue());
+                    driftedCounters++;
+                }
+                dashboardCounterRepository.adjustValue(entry.getKey(), correction);
+            }
+        }
+
+        if (driftedCounters > 0) {
+            logger.warn("Reconciled {} drifted dashboard counters", driftedCounters);
+        }
+        return driftedCounters;
+    }
+
+    /**
+     * Stored counter values plus the deltas not applied to them yet
+     */
+    private Map<String, Long> findRecordedValues() {
+        Map<String, Long> values = new HashMap<>();
+        for (DashboardCounter counter : dashboardCounterRepository.findAll()) {
+            values.put(counter.getKey(), counter.getValue());
+        }
+        for (Object[] row : dashboardCounterDeltaRepository.sumByKey()) {
+            values.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        return values;
+    }
+
+    /**
+     * Record a counter change in the caller's transaction, to be applied by {@link #applyPendingDeltas}
+     */
+    private void adjust(String key, long delta) {
+        if (delta != 0) {
+            dashboardCounterDeltaRepository.save(new DashboardCounterDelta(key, delta));
+        }
+    }
+}
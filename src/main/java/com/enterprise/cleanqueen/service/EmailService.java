@@ -1,11 +1,15 @@
 package com.enterprise.cleanqueen.service;
 
+import java.util.Map;
+
 public interface EmailService {
     
     void sendOtpEmail(String toEmail, String otp);
     
     void sendSupervisorPasswordEmail(String toEmail, String temporaryPassword);
     
+    void sendSupervisorPasswordEmails(Map<String, String> temporaryPasswordsByEmail);
+    
     void sendRequestConfirmationEmail(String toEmail, String requestId, String customerName);
 
     void sendProjectCodeEmail(String toEmail, String projectCode, String projectName);
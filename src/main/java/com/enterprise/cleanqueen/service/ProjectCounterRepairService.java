@@ -0,0 +1,119 @@
+package com.enterprise.cleanqueen.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.dto.project.ProjectTaskStatistics;
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+
+@Service
+public class ProjectCounterRepairService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectCounterRepairService.class);
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Recompute the denormalized task counters of every project from the tasks table
+     * one minute after startup and then every hour, reporting and fixing any drift.
+     * An unlocked scan only picks the suspects; each one is then recounted and repaired
+     * in its own transaction while holding the project lock.
+     *
+     * @return Number of projects whose counters had drifted
+     */
+    @Scheduled(initialDelay = 60000, fixedRate = 3600000) // 1 minute, then hourly
+    public int repairTaskCounters() {
+        List<String> suspectProjectIds;
+        try {
+            suspectProjectIds = findSuspectProjectIds();
+        } catch (Exception e) {
+            logger.error("Error during task counter repair", e);
+            return 0;
+        }
+
+        int driftedProjects = 0;
+        for (String projectId : suspectProjectIds) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> repairProject(projectId)))) {
+                    driftedProjects++;
+                }
+            } catch (Exception e) {
+                logger.error("Error repairing task counters for project {}", projectId, e);
+            }
+        }
+
+        if (driftedProjects > 0) {
+            logger.warn("Repaired task counters for {} projects", driftedProjects);
+        } else {
+            logger.debug("Task counters consistent for all projects");
+        }
+        return driftedProjects;
+    }
+
+    // Projects whose stored counters differ from a snapshot count; a delta in flight can make a false suspect
+    private List<String> findSuspectProjectIds() {
+        Map<String, ProjectTaskStatistics> actualByProjectId = taskRepository.findTaskStatisticsForAllProjects()
+                .stream()
+                .collect(Collectors.toMap(ProjectTaskStatistics::getProjectId, Function.identity()));
+
+        List<String> suspectProjectIds = new ArrayList<>();
+        for (ProjectTaskStatistics stored : projectRepository.findAllTaskCounters()) {
+            ProjectTaskStatistics actual = actualByProjectId.getOrDefault(
+                    stored.getProjectId(), ProjectTaskStatistics.empty(stored.getProjectId()));
+            if (!stored.hasSameCounts(actual)) {
+                suspectProjectIds.add(stored.getProjectId());
+            }
+        }
+        return suspectProjectIds;
+    }
+
+    private boolean repairProject(String projectId) {
+        // Counter deltas update this row, so holding its lock waits for writers in flight
+        // and keeps new ones out until the corrected values are committed
+        Project project = projectRepository.findByIdForUpdate(projectId).orElse(null);
+        if (project == null) {
+            return false;
+        }
+
+        ProjectTaskStatistics stored = new ProjectTaskStatistics(projectId, toLong(project.getTotalTasks()),
+                toLong(project.getCompletedTasks()), toLong(project.getActiveTasks()));
+        ProjectTaskStatistics actual = taskRepository.findTaskStatisticsByProjectId(projectId)
+                .orElse(ProjectTaskStatistics.empty(projectId));
+        if (stored.hasSameCounts(actual)) {
+            return false;
+        }
+
+        logger.warn("Task counter drift for project {}: stored total={}, completed={}, active={}; "
+                + "actual total={}, completed={}, active={}",
+                projectId,
+                stored.getTotalTasks(), stored.getCompletedTasks(), stored.getActiveTasks(),
+                actual.getTotalTasks(), actual.getCompletedTasks(), actual.getActiveTasks());
+
+        projectRepository.setTaskCounters(projectId, actual.getTotalTasks(),
+                actual.getCompletedTasks(), actual.getActiveTasks());
+        return true;
+    }
+
+    private static Long toLong(Integer value) {
+        return value != null ? value.longValue() : null;
+    }
+}
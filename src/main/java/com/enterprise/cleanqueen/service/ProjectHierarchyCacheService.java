@@ -0,0 +1,121 @@
+package com.enterprise.cleanqueen.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.enterprise.cleanqueen.dto.project.ProjectTaskHierarchyResponse;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process, size-bounded cache of assembled project task hierarchies.
+ * Entries are keyed by project ID and the project's tree version, so an entry
+ * is never served once any write has bumped the version in the database.
+ * The cache keeps its own copy of each hierarchy and hands every caller a fresh
+ * copy, so a caller changing its response can never alter what others are served.
+ */
+@Service
+public class ProjectHierarchyCacheService {
+
+    private static final String CACHE_NAME = "projectHierarchy";
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache.project-hierarchy.max-entries:500}")
+    private int maxEntries;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter evictionCounter;
+
+    // Access-ordered map, so the least recently read hierarchy is evicted first
+    private final Map<String, CachedHierarchy> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedHierarchy> eldest) {
+            if (size() > maxEntries) {
+                evictionCounter.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    @PostConstruct
+    void registerMetrics() {
+        hitCounter = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Project hierarchy cache hits").register(meterRegistry);
+        missCounter = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Project hierarchy cache misses").register(meterRegistry);
+        evictionCounter = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .description("Project hierarchy cache evictions").register(meterRegistry);
+        Gauge.builder("cache.size", this, cache -> cache.size()).tag("cache", CACHE_NAME)
+                .description("Number of cached project hierarchies").register(meterRegistry);
+    }
+
+    /**
+     * Get the cached hierarchy of a project for the given tree version
+     *
+     * @return Copy of the cached project details, or null if absent or built for another version
+     */
+    public ProjectTaskHierarchyResponse.ProjectDetails get(String projectId, long treeVersion) {
+        CachedHierarchy cached;
+        synchronized (entries) {
+            cached = entries.get(projectId);
+        }
+        if (cached != null && cached.treeVersion == treeVersion) {
+            hitCounter.increment();
+            return cached.projectDetails.copy();
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    public void put(String projectId, long treeVersion, ProjectTaskHierarchyResponse.ProjectDetails projectDetails) {
+        CachedHierarchy snapshot = new CachedHierarchy(treeVersion, projectDetails.copy());
+        synchronized (entries) {
+            CachedHierarchy existing = entries.get(projectId);
+            if (existing == null || existing.treeVersion <= treeVersion) {
+                entries.put(projectId, snapshot);
+            }
+        }
+    }
+
+    /**
+     * Invalidate the cached hierarchy of a project. Must be called from the writing
+     * transaction so the version bump commits together with the change.
+     */
+    public void invalidate(String projectId) {
+        projectRepository.incrementTreeVersion(projectId);
+        synchronized (entries) {
+            entries.remove(projectId);
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static class CachedHierarchy {
+        private final long treeVersion;
+        private final ProjectTaskHierarchyResponse.ProjectDetails projectDetails;
+
+        CachedHierarchy(long treeVersion, ProjectTaskHierarchyResponse.ProjectDetails projectDetails) {
+            this.treeVersion = treeVersion;
+            this.projectDetails = projectDetails;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.enterprise.cleanqueen.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import com.enterprise.cleanqueen.dto.project.ProjectCreateRequest;
 import com.enterprise.cleanqueen.dto.project.ProjectCreateResponse;
 import com.enterprise.cleanqueen.dto.project.ProjectListResponse;
@@ -18,5 +21,19 @@ public interface ProjectService {
     
     ProjectTaskHierarchyResponse getProjectTaskHierarchy(String projectId);
     
-    ProjectTaskReviewsResponse getProjectTaskReviews(String projectId);
+    /**
+     * Index the task hierarchy of a project created before the hierarchy index existed,
+     * so that streaming it includes every task. Must be called before streaming starts.
+     */
+    void indexTaskHierarchy(String projectId);
+    
+    void streamProjectTaskHierarchy(String projectId, OutputStream outputStream) throws IOException;
+    
+    ProjectTaskReviewsResponse getProjectTaskReviews(String projectId, boolean reviewedOnly, String cursor, Integer limit);
+    
+    String getProjectsByUserIdETag(String userId);
+    
+    String getProjectTaskHierarchyETag(String projectId);
+    
+    String getProjectTaskReviewsETag(String projectId, boolean reviewedOnly, String cursor, Integer limit);
 }
@@ -0,0 +1,259 @@
+package com.enterprise.cleanqueen.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.entity.RatingPropagationJob;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.RatingPropagationJobRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Propagates review ratings up the task hierarchy outside the review request.
+ * A review only records a pending job; a scheduled worker then applies all pending
+ * jobs of a project in one transaction, so ancestors shared by several reviews are
+ * loaded and written once per batch instead of once per review.
+ */
+@Service
+public class RatingPropagationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingPropagationService.class);
+
+    @Autowired
+    private RatingPropagationJobRepository ratingPropagationJobRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Autowired
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.rating-propagation.projects-per-poll:50}")
+    private int projectsPerPoll;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private Timer propagationDelayTimer;
+    private DistributionSummary batchSizeSummary;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("rating.propagation.queue.depth", queueDepth, AtomicLong::get)
+                .description("Rated tasks waiting for rating propagation").register(meterRegistry);
+        Gauge.builder("rating.propagation.lag", lagMillis, lag -> lag.get() / 1000.0).baseUnit("seconds")
+                .description("Age of the oldest pending rating propagation").register(meterRegistry);
+        propagationDelayTimer = Timer.builder("rating.propagation.delay")
+                .description("Time from a review until its rating is propagated").register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("rating.propagation.batch.size")
+                .description("Pending ratings applied together for one project").register(meterRegistry);
+    }
+
+    /**
+     * Queue a task's rating change for propagation. Must run in the transaction
+     * that changed the rating, so the job commits or rolls back together with it.
+     *
+     * @param ratedTask Task whose averageRating was just changed
+     * @param previousRating Rating the task had before, or null if it was unrated
+     */
+    public void enqueue(Task ratedTask, Float previousRating) {
+        ratingPropagationJobRepository.save(
+                new RatingPropagationJob(ratedTask.getId(), ratedTask.getProjectId(), previousRating));
+    }
+
+    /**
+     * Rating the task is currently counted with in its parent's running sums,
+     * which differs from its own rating while a propagation is still pending
+     */
+    public Float getPropagatedRating(Task task) {
+        return ratingPropagationJobRepository.findById(task.getId())
+                .map(RatingPropagationJob::getPreviousRating)
+                .orElse(task.getAverageRating());
+    }
+
+    /**
+     * Mark the pending ratings of a project as already counted, after its running sums were
+     * recomputed from the stored ratings. Their jobs then only derive the averages above them.
+     * Callers must hold the project lock, see {@link ProjectRepository#findByIdForUpdate}.
+     */
+    public void rebasePendingRatings(String projectId) {
+        ratingPropagationJobRepository.rebaseOnCurrentRatings(projectId);
+    }
+
+    /**
+     * Apply pending rating changes, one transaction per project, the project waiting longest first
+     */
+    @Scheduled(fixedDelayString = "${app.rating-propagation.poll-interval-ms:1000}")
+    public void processPendingPropagations() {
+        try {
+            List<String> projectIds = ratingPropagationJobRepository.findPendingProjectIds(Limit.of(projectsPerPoll));
+            for (String projectId : projectIds) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> propagateProject(projectId));
+                } catch (Exception e) {
+                    // Jobs stay queued and are retried on the next poll
+                    logger.error("Error propagating ratings for project {}", projectId, e);
+                }
+            }
+
+            queueDepth.set(ratingPropagationJobRepository.count());
+            lagMillis.set(ratingPropagationJobRepository.findOldestEnqueuedAt()
+                    .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis())
+                    .orElse(0L));
+
+        } catch (Exception e) {
+            logger.error("Error polling pending rating propagations", e);
+        }
+    }
+
+    private void propagateProject(String projectId) {
+        // Serializes workers on several instances, and structural writes that recompute the sums
+        if (projectRepository.findByIdForUpdate(projectId).isEmpty()) {
+            ratingPropagationJobRepository.deleteAllInBatch(
+                    ratingPropagationJobRepository.findByProjectIdOrderByEnqueuedAt(projectId));
+            return;
+        }
+
+        List<RatingPropagationJob> jobs = ratingPropagationJobRepository.findByProjectIdOrderByEnqueuedAt(projectId);
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        // Tasks deleted since they were rated are no longer part of any running sum
+        Map<String, Task> ratedTasks = taskRepository.findByIdIn(
+                        jobs.stream().map(RatingPropagationJob::getTaskId).toList()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        // Load the ancestors of all rated tasks (deepest first) in one query
+        Set<String> ancestorIds = new LinkedHashSet<>();
+        for (Task task : ratedTasks.values()) {
+            ancestorIds.addAll(task.getAncestorIds());
+        }
+        List<Task> ancestors = ancestorIds.isEmpty() ? List.of() : taskRepository.findAncestorsByIds(ancestorIds);
+        Set<String> loadedAncestorIds = ancestors.stream().map(Task::getId).collect(Collectors.toSet());
+
+        // Rating changes waiting to be applied to each parent; changes of root tasks go to the project
+        Map<String, List<RatingChange>> changesByParentId = new HashMap<>();
+        List<RatingChange> rootChanges = new ArrayList<>();
+        for (RatingPropagationJob job : jobs) {
+            Task task = ratedTasks.get(job.getTaskId());
+            if (task == null || task.getAverageRating() == null) {
+                continue;
+            }
+            if (!loadedAncestorIds.containsAll(task.getAncestorIds())) {
+                logger.warn("Incomplete ancestor chain for task {}, skipping rating propagation", task.getId());
+                continue;
+            }
+            addChange(task, new RatingChange(job.getPreviousRating(), task.getAverageRating()),
+                    changesByParentId, rootChanges);
+        }
+
+        // Deepest first, so every child is settled before its parent is looked at
+        List<Task> updatedAncestors = new ArrayList<>();
+        for (Task parentTask : ancestors) {
+            List<RatingChange> changes = changesByParentId.remove(parentTask.getId());
+            if (changes == null) {
+                continue;
+            }
+            for (RatingChange change : changes) {
+                parentTask.applyChildRatingChange(change.from, change.to);
+            }
+            updatedAncestors.add(parentTask);
+
+            // A parent gets an average only once all of its children are rated
+            if (parentTask.hasAllChildrenRated()) {
+                if (DashboardSummaryService.isUnratedCompleted(parentTask)) {
+                    dashboardSummaryService.adjustUnratedCompletedTasks(-1);
+                }
+                Float previousAverage = parentTask.getAverageRating();
+                float newAverage = parentTask.getChildRatingAverage();
+                parentTask.setAverageRating(newAverage);
+                addChange(parentTask, new RatingChange(previousAverage, newAverage), changesByParentId, rootChanges);
+            }
+        }
+        // Only the rating columns, so a status change committed under the project lock is never overwritten
+        for (Task parentTask : updatedAncestors) {
+            taskRepository.updateRatingAggregates(parentTask.getId(), parentTask.getRatingSum(),
+                    parentTask.getRatedChildCount(), parentTask.getAverageRating());
+        }
+
+        if (!rootChanges.isEmpty()) {
+            double sumDelta = 0;
+            int ratedDelta = 0;
+            for (RatingChange change : rootChanges) {
+                sumDelta += change.from == null ? change.to : change.to - change.from;
+                ratedDelta += change.from == null ? 1 : 0;
+            }
+            // A single increment that also sets the average once every root task is rated
+            projectRepository.applyRootTaskRatingChange(projectId, sumDelta, ratedDelta);
+        }
+
+        ratingPropagationJobRepository.deleteAllInBatch(jobs);
+        projectHierarchyCacheService.invalidate(projectId);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (RatingPropagationJob job : jobs) {
+            propagationDelayTimer.record(Duration.between(job.getEnqueuedAt(), now));
+        }
+        batchSizeSummary.record(jobs.size());
+        logger.debug("Propagated {} ratings for project {} through {} ancestors",
+                jobs.size(), projectId, updatedAncestors.size());
+    }
+
+    private void addChange(Task task, RatingChange change,
+                           Map<String, List<RatingChange>> changesByParentId, List<RatingChange> rootChanges) {
+        // Follow the path rather than parentId, so tasks reindexed as roots after their parent was deleted count as roots
+        List<String> taskAncestorIds = task.getAncestorIds();
+        if (taskAncestorIds.isEmpty()) {
+            rootChanges.add(change);
+        } else {
+            changesByParentId.computeIfAbsent(taskAncestorIds.get(0), key -> new ArrayList<>()).add(change);
+        }
+    }
+
+    private static class RatingChange {
+        private final Float from; // Null if the task was not rated before
+        private final float to;
+
+        RatingChange(Float from, float to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.enterprise.cleanqueen.service;
 
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsRequest;
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsResponse;
 import com.enterprise.cleanqueen.dto.review.CreateReviewRequest;
 import com.enterprise.cleanqueen.dto.review.CreateReviewResponse;
 
 public interface ReviewService {
 
     CreateReviewResponse createReview(CreateReviewRequest request, String customerEmail);
+    
+    CreateImageUploadUrlsResponse createImageUploadUrls(CreateImageUploadUrlsRequest request, String customerEmail);
 }
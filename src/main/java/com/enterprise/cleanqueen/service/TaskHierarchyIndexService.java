@@ -0,0 +1,154 @@
+package com.enterprise.cleanqueen.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+import com.enterprise.cleanqueen.util.TaskRatingAggregates;
+
+@Service
+public class TaskHierarchyIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskHierarchyIndexService.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private RatingPropagationService ratingPropagationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.task-hierarchy.backfill-batch-size:100}")
+    private int backfillBatchSize;
+
+    /**
+     * Backfill the materialized path and running rating sums of tasks created before
+     * they existed. Runs off the startup thread and walks the affected projects in
+     * batches by project ID, each project indexed in its own transaction.
+     */
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTaskPaths() {
+        int indexedProjects = 0;
+        int indexedTasks = 0;
+        String afterProjectId = "";
+        try {
+            List<String> projectIds;
+            do {
+                projectIds = projectRepository.findProjectIdsNeedingHierarchyBackfill(afterProjectId,
+                        Limit.of(backfillBatchSize));
+                for (String projectId : projectIds) {
+                    try {
+                        Integer count = transactionTemplate.execute(status -> reindexProject(projectId));
+                        indexedTasks += count != null ? count : 0;
+                        indexedProjects++;
+                    } catch (Exception e) {
+                        logger.error("Error backfilling task hierarchy index for project {}", projectId, e);
+                    }
+                }
+                if (!projectIds.isEmpty()) {
+                    afterProjectId = projectIds.get(projectIds.size() - 1);
+                }
+            } while (projectIds.size() == backfillBatchSize);
+
+            if (indexedProjects > 0) {
+                logger.info("Task hierarchy index backfill completed: {} tasks in {} projects indexed",
+                        indexedTasks, indexedProjects);
+            }
+
+        } catch (Exception e) {
+            logger.error("Error during task hierarchy index backfill", e);
+        }
+    }
+
+    /**
+     * Index a project that still has tasks without a path, in a transaction of its own.
+     * Must be called outside a transaction, so the reindex reads the tasks after taking the
+     * project lock instead of from a snapshot taken earlier.
+     *
+     * @param projectId Project to check
+     * @return Whether the project had to be indexed
+     */
+    public boolean indexProjectIfNeeded(String projectId) {
+        if (!taskRepository.existsByProjectIdAndPathIsNull(projectId)) {
+            return false;
+        }
+        transactionTemplate.execute(status -> reindexProject(projectId));
+        return true;
+    }
+
+    /**
+     * Recompute path, depth and running rating sums for every task of a project from its parentId links.
+     * Locks the project, so it must run in a transaction.
+     *
+     * @param projectId Project whose tasks should be reindexed
+     * @return Number of tasks indexed
+     */
+    public int reindexProject(String projectId) {
+        // Locked against a concurrent rating propagation into the sums recomputed below
+        projectRepository.findByIdForUpdate(projectId);
+        List<Task> tasks = taskRepository.findByProjectId(projectId);
+        Set<String> taskIds = tasks.stream().map(Task::getId).collect(Collectors.toSet());
+
+        // Roots are tasks without a parent, or whose parent is deleted or not part of this project
+        Map<String, List<Task>> childrenByParentId = new HashMap<>();
+        Deque<Task> queue = new ArrayDeque<>();
+        for (Task task : tasks) {
+            if (task.getParentId() == null || !taskIds.contains(task.getParentId())) {
+                task.setPath("/" + task.getId() + "/");
+                task.setDepth(0);
+                queue.add(task);
+            } else {
+                childrenByParentId.computeIfAbsent(task.getParentId(), key -> new ArrayList<>()).add(task);
+            }
+        }
+
+        // Walk the tree parent-first so every parent path is known before its children
+        int indexedTasks = 0;
+        while (!queue.isEmpty()) {
+            Task parent = queue.poll();
+            indexedTasks++;
+            for (Task child : childrenByParentId.getOrDefault(parent.getId(), List.of())) {
+                child.placeUnder(parent);
+                queue.add(child);
+            }
+        }
+
+        if (indexedTasks < tasks.size()) {
+            logger.warn("Project {} has {} tasks in a parent cycle that could not be indexed",
+                    projectId, tasks.size() - indexedTasks);
+        }
+
+        TaskRatingAggregates ratingAggregates = TaskRatingAggregates.recompute(tasks);
+        projectRepository.setRatingAggregates(projectId, ratingAggregates.getRootRatingSum(),
+                ratingAggregates.getRatedRootCount(), ratingAggregates.getRootCount());
+        ratingPropagationService.rebasePendingRatings(projectId);
+
+        taskRepository.saveAll(tasks);
+        return indexedTasks;
+    }
+}
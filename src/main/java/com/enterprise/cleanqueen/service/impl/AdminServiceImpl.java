@@ -3,14 +3,38 @@ package com.enterprise.cleanqueen.service.impl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.enterprise.cleanqueen.dto.admin.AdminDashboardResponse;
+import com.enterprise.cleanqueen.dto.admin.AdminSearchResponse;
+import com.enterprise.cleanqueen.dto.admin.BulkCreateSupervisorsResponse;
 import com.enterprise.cleanqueen.dto.admin.CreateSupervisorRequest;
 import com.enterprise.cleanqueen.dto.admin.CreateSupervisorResponse;
 import com.enterprise.cleanqueen.dto.admin.DeleteTaskResponse;
@@ -20,20 +44,40 @@ import com.enterprise.cleanqueen.dto.admin.GetAllSupervisorsResponse;
 import com.enterprise.cleanqueen.dto.admin.GetAllProjectsResponse;
 import com.enterprise.cleanqueen.dto.admin.SendProjectCodeRequest;
 import com.enterprise.cleanqueen.dto.admin.SendProjectCodeResponse;
+import com.enterprise.cleanqueen.dto.admin.SupervisorCreationResult;
 import com.enterprise.cleanqueen.dto.request.CleaningRequestSummaryDto;
+import com.enterprise.cleanqueen.dto.user.UserNameDto;
 import com.enterprise.cleanqueen.dto.user.UserSummaryDto;
 import com.enterprise.cleanqueen.entity.CleaningRequest;
 import com.enterprise.cleanqueen.entity.Project;
 import com.enterprise.cleanqueen.entity.Task;
 import com.enterprise.cleanqueen.entity.User;
+import com.enterprise.cleanqueen.enums.CleaningRequestStatus;
+import com.enterprise.cleanqueen.enums.ExportFormat;
+import com.enterprise.cleanqueen.enums.ProjectStatus;
 import com.enterprise.cleanqueen.enums.Role;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+import com.enterprise.cleanqueen.exception.BusinessException;
 import com.enterprise.cleanqueen.repository.CleaningRequestRepository;
 import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.ProjectSpecifications;
 import com.enterprise.cleanqueen.repository.TaskRepository;
 import com.enterprise.cleanqueen.repository.UserRepository;
+import com.enterprise.cleanqueen.service.AdminSearchIndexService;
 import com.enterprise.cleanqueen.service.AdminService;
+import com.enterprise.cleanqueen.service.DashboardSummaryService;
 import com.enterprise.cleanqueen.service.EmailService;
+import com.enterprise.cleanqueen.service.ProjectHierarchyCacheService;
+import com.enterprise.cleanqueen.service.RatingPropagationService;
+import com.enterprise.cleanqueen.service.TaskHierarchyIndexService;
+import com.enterprise.cleanqueen.util.CleaningRequestExportWriter;
 import com.enterprise.cleanqueen.util.CodeGenerator;
+import com.enterprise.cleanqueen.util.KeysetCursor;
+import com.enterprise.cleanqueen.util.SupervisorCsvParser;
+import com.enterprise.cleanqueen.util.TaskCounterDelta;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @Service
 @Transactional
@@ -41,6 +85,11 @@ public class AdminServiceImpl implements AdminService {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminServiceImpl.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_BULK_SUPERVISORS = 500;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -62,6 +111,37 @@ public class AdminServiceImpl implements AdminService {
     @Autowired
     private CodeGenerator codeGenerator;
 
+    @Autowired
+    private CleaningRequestExportWriter cleaningRequestExportWriter;
+
+    @Autowired
+    private AdminSearchIndexService adminSearchIndexService;
+
+    @Autowired
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Autowired
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Autowired
+    private RatingPropagationService ratingPropagationService;
+
+    @Autowired
+    private TaskHierarchyIndexService taskHierarchyIndexService;
+
+    @Autowired
+    private SupervisorCsvParser supervisorCsvParser;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private Executor passwordHashingExecutor;
+
     @Override
     public CreateSupervisorResponse createSupervisor(CreateSupervisorRequest request) {
         // Validate if email already exists
@@ -86,6 +166,7 @@ public class AdminServiceImpl implements AdminService {
 
         // Save supervisor
         userRepository.save(supervisor);
+        dashboardSummaryService.activeSupervisorsAdded(1);
 
         // Send supervisor password email
         emailService.sendSupervisorPasswordEmail(request.getEmail(), temporaryPassword);
@@ -102,6 +183,128 @@ public class AdminServiceImpl implements AdminService {
         );
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkCreateSupervisorsResponse createSupervisorsFromCsv(String csv) {
+        return createSupervisors(supervisorCsvParser.parse(csv));
+    }
+
+    // Runs without a surrounding transaction so no connection is held while passwords are hashed
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkCreateSupervisorsResponse createSupervisors(List<CreateSupervisorRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BusinessException("At least one supervisor is required");
+        }
+        if (requests.size() > MAX_BULK_SUPERVISORS) {
+            throw new BusinessException("At most " + MAX_BULK_SUPERVISORS + " supervisors can be created at once");
+        }
+
+        SupervisorCreationResult[] results = new SupervisorCreationResult[requests.size()];
+
+        // Validate every row; repeated emails within the upload keep only their first row
+        Map<String, Integer> rowIndexByEmail = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateSupervisorRequest request = requests.get(i);
+            if (request == null) {
+                // A null element in the JSON list fails its own row rather than the whole upload
+                results[i] = new SupervisorCreationResult(i + 1, null, false, "Supervisor details are required", null);
+                continue;
+            }
+            Set<ConstraintViolation<CreateSupervisorRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+                results[i] = new SupervisorCreationResult(i + 1, request.getEmail(), false, message, null);
+                continue;
+            }
+            request.setEmail(request.getEmail().trim());
+            if (rowIndexByEmail.putIfAbsent(request.getEmail().toLowerCase(Locale.ROOT), i) != null) {
+                results[i] = new SupervisorCreationResult(i + 1, request.getEmail(), false,
+                        "Email appears more than once in this upload", null);
+            }
+        }
+
+        // One query finds every email that is already registered
+        if (!rowIndexByEmail.isEmpty()) {
+            List<String> emails = rowIndexByEmail.values().stream()
+                .map(i -> requests.get(i).getEmail())
+                .collect(Collectors.toList());
+            for (String existingEmail : userRepository.findExistingEmails(emails)) {
+                Integer i = rowIndexByEmail.remove(existingEmail.toLowerCase(Locale.ROOT));
+                if (i != null) {
+                    results[i] = new SupervisorCreationResult(i + 1, requests.get(i).getEmail(), false,
+                            "Email is already registered", null);
+                }
+            }
+        }
+
+        // BCrypt dominates the cost of each row, so hash on the bounded CPU pool
+        List<Integer> rowsToCreate = new ArrayList<>(rowIndexByEmail.values());
+        Map<String, String> temporaryPasswordsByEmail = new LinkedHashMap<>();
+        List<CompletableFuture<String>> passwordHashes = new ArrayList<>(rowsToCreate.size());
+        for (Integer i : rowsToCreate) {
+            String temporaryPassword = codeGenerator.generateTemporaryPassword();
+            temporaryPasswordsByEmail.put(requests.get(i).getEmail(), temporaryPassword);
+            passwordHashes.add(CompletableFuture.supplyAsync(
+                    () -> passwordEncoder.encode(temporaryPassword), passwordHashingExecutor));
+        }
+
+        List<User> supervisors = new ArrayList<>(rowsToCreate.size());
+        Set<String> assignedUserIds = new HashSet<>();
+        for (int k = 0; k < rowsToCreate.size(); k++) {
+            CreateSupervisorRequest request = requests.get(rowsToCreate.get(k));
+
+            String userId;
+            do {
+                userId = codeGenerator.generateUserId();
+            } while (!assignedUserIds.add(userId));
+
+            User supervisor = new User();
+            supervisor.setId(userId);
+            supervisor.setFirstName(request.getFirstName());
+            supervisor.setLastName(request.getLastName());
+            supervisor.setEmail(request.getEmail());
+            supervisor.setPassword(passwordHashes.get(k).join());
+            supervisor.setPhoneNumber(request.getPhoneNumber());
+            supervisor.setRole(Role.SUPERVISOR);
+            supervisor.setIsActive(true);
+            supervisor.setIsVerified(true); // Supervisors are auto-verified by admin
+            supervisors.add(supervisor);
+        }
+
+        // Insert all supervisors in JDBC batches within one short transaction
+        if (!supervisors.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userRepository.saveAll(supervisors);
+                    dashboardSummaryService.activeSupervisorsAdded(supervisors.size());
+                });
+            } catch (Exception e) {
+                logger.error("Error creating {} supervisors: {}", supervisors.size(), e.getMessage());
+                throw new RuntimeException("Failed to create supervisors: " + e.getMessage());
+            }
+
+            // Queue all credential emails at once, only after the accounts are committed
+            emailService.sendSupervisorPasswordEmails(temporaryPasswordsByEmail);
+        }
+
+        for (int k = 0; k < rowsToCreate.size(); k++) {
+            int i = rowsToCreate.get(k);
+            User supervisor = supervisors.get(k);
+            results[i] = new SupervisorCreationResult(i + 1, supervisor.getEmail(), true,
+                    "Supervisor account created. Temporary password sent to email.", supervisor.getId());
+        }
+
+        String message = String.format("Created %d out of %d supervisors successfully",
+                supervisors.size(), requests.size());
+        logger.info("Bulk supervisor creation completed: {}", message);
+
+        return new BulkCreateSupervisorsResponse(!supervisors.isEmpty(), message, Arrays.asList(results));
+    }
+
     @Override
     public SendProjectCodeResponse sendProjectCode(SendProjectCodeRequest request) {
         // Find project by code
@@ -123,20 +326,22 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    public GetAllSupervisorsResponse getAllSupervisors() {
+    @Transactional(readOnly = true)
+    public GetAllSupervisorsResponse getAllSupervisors(String search, String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        
         try {
-            List<User> supervisors = userRepository.findByRole(Role.SUPERVISOR);
-            
-            List<UserSummaryDto> supervisorDtos = supervisors.stream()
-                    .map(this::convertToUserSummaryDto)
-                    .collect(Collectors.toList());
+            List<UserSummaryDto> supervisorDtos = findUserSummaries(Role.SUPERVISOR, search, after, pageSize);
+            String nextCursor = trimToPage(supervisorDtos, pageSize);
             
             logger.info("Retrieved {} supervisors", supervisorDtos.size());
             
             return new GetAllSupervisorsResponse(
                     true,
                     "Supervisors retrieved successfully",
-                    supervisorDtos
+                    supervisorDtos,
+                    nextCursor
             );
         } catch (Exception e) {
             logger.error("Error retrieving supervisors: {}", e.getMessage());
@@ -145,20 +350,22 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    public GetAllCustomersResponse getAllCustomers() {
+    @Transactional(readOnly = true)
+    public GetAllCustomersResponse getAllCustomers(String search, String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        
         try {
-            List<User> customers = userRepository.findByRole(Role.CUSTOMER);
-            
-            List<UserSummaryDto> customerDtos = customers.stream()
-                    .map(this::convertToUserSummaryDto)
-                    .collect(Collectors.toList());
+            List<UserSummaryDto> customerDtos = findUserSummaries(Role.CUSTOMER, search, after, pageSize);
+            String nextCursor = trimToPage(customerDtos, pageSize);
             
             logger.info("Retrieved {} customers", customerDtos.size());
             
             return new GetAllCustomersResponse(
                     true,
                     "Customers retrieved successfully",
-                    customerDtos
+                    customerDtos,
+                    nextCursor
             );
         } catch (Exception e) {
             logger.error("Error retrieving customers: {}", e.getMessage());
@@ -189,49 +396,150 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public long exportCleaningRequests(ExportFormat format, CleaningRequestStatus status, LocalDate createdFrom,
+                                       LocalDate createdTo, OutputStream outputStream) throws IOException {
+        // Both dates are inclusive calendar days
+        LocalDateTime createdFromTime = createdFrom != null ? createdFrom.atStartOfDay() : null;
+        LocalDateTime createdBeforeTime = createdTo != null ? createdTo.plusDays(1).atStartOfDay() : null;
+        
+        // Closing the stream releases the database cursor, also when the client disconnects mid-export
+        try (Stream<CleaningRequestSummaryDto> rows =
+                cleaningRequestRepository.streamForExport(status, createdFromTime, createdBeforeTime)) {
+            long rowCount = cleaningRequestExportWriter.write(format, rows.iterator(), outputStream);
+            logger.info("Exported {} cleaning requests as {}", rowCount, format);
+            return rowCount;
+        }
+    }
+
+    // Runs the deletion in its own transaction that starts with the project lock
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DeleteTaskResponse deleteTask(String taskId) {
         try {
-            Optional<Task> taskOptional = taskRepository.findById(taskId);
-            
-            if (taskOptional.isEmpty()) {
-                throw new RuntimeException("Task not found with ID: " + taskId);
-            }
-            
-            Task task = taskOptional.get();
-            
-            // Soft delete by setting isActive to false (status 0 = inactive)
-            task.setIsActive(false);
-            taskRepository.save(task);
-            
-            logger.info("Task {} soft deleted successfully", taskId);
-            
-            return new DeleteTaskResponse(
-                    true,
-                    "Task deleted successfully (soft delete)",
-                    task.getId(),
-                    task.getName()
-            );
+            String projectId = taskRepository.findProjectIdIncludingDeleted(taskId)
+                    .orElseThrow(() -> new RuntimeException("Task not found with ID: " + taskId));
+            return transactionTemplate.execute(status -> deleteTaskUnderProjectLock(projectId, taskId));
         } catch (Exception e) {
             logger.error("Error deleting task {}: {}", taskId, e.getMessage());
-            throw new RuntimeException("Failed to delete task: " + e.getMessage());
+            throw new RuntimeException("Failed to delete task: " + e.getMessage(), e);
         }
     }
     
-    // Helper methods
-    private UserSummaryDto convertToUserSummaryDto(User user) {
-        return new UserSummaryDto(
-                user.getId(),
-                user.getFirstName(),
-                user.getLastName(),
-                user.getEmail(),
-                user.getPhoneNumber(),
-                user.getRole(),
-                user.getIsActive(),
-                user.getIsVerified(),
-                user.getCreatedAt()
+    private DeleteTaskResponse deleteTaskUnderProjectLock(String projectId, String taskId) {
+        // Locked before the task is read, so its path and rating cannot change until the subtree is
+        // deactivated; project updates, reindexing, status updates and rating propagation take it too
+        projectRepository.findByIdForUpdate(projectId);
+        Task task = taskRepository.findById(taskId).orElse(null);
+        
+        if (task == null) {
+            // Deleted before, on its own or with an ancestor; deleting it again succeeds without changes
+            String taskName = taskRepository.findNameOfDeletedTask(taskId)
+                    .orElseThrow(() -> new RuntimeException("Task not found with ID: " + taskId));
+            logger.info("Task {} was already deleted", taskId);
+            return new DeleteTaskResponse(true, "Task already deleted (soft delete)", taskId, taskName);
+        }
+        
+        if (task.getPath() == null) {
+            // Tasks not yet backfilled need their path to find the subtree
+            taskHierarchyIndexService.reindexProject(projectId);
+        }
+        String subtreePath = task.getPath();
+        
+        // Count the active subtree by status before it disappears from reads
+        TaskCounterDelta counterDelta = new TaskCounterDelta();
+        long unratedCompletedTasks = 0;
+        for (Object[] row : taskRepository.countSubtreeByStatus(projectId, subtreePath)) {
+            TaskStatus status = (TaskStatus) row[0];
+            counterDelta.remove(status, ((Number) row[1]).intValue());
+            if (status == TaskStatus.COMPLETED) {
+                unratedCompletedTasks = ((Number) row[2]).longValue();
+            }
+        }
+        
+        // Soft delete the task with all of its subtasks by setting isActive to false
+        int deletedTasks = taskRepository.deactivateSubtree(projectId, subtreePath);
+        
+        projectRepository.adjustTaskCounters(projectId, counterDelta.getTotalTasks(),
+                counterDelta.getCompletedTasks(), counterDelta.getActiveTasks());
+        removeFromParentRatingSums(task);
+        projectHierarchyCacheService.invalidate(projectId);
+        dashboardSummaryService.adjustUnratedCompletedTasks(-unratedCompletedTasks);
+        
+        logger.info("Task {} soft deleted successfully with {} tasks in its subtree", taskId, deletedTasks);
+        
+        return new DeleteTaskResponse(
+                true,
+                "Task deleted successfully (soft delete)",
+                task.getId(),
+                task.getName()
         );
     }
     
+    // Helper methods
+    private void removeFromParentRatingSums(Task deletedTask) {
+        Float rating = ratingPropagationService.getPropagatedRating(deletedTask);
+        Task parent = deletedTask.getParentId() != null
+                ? taskRepository.findById(deletedTask.getParentId()).orElse(null) : null;
+        if (parent != null) {
+            parent.removeChild(rating);
+            taskRepository.save(parent);
+        } else {
+            projectRepository.adjustRatingAggregates(deletedTask.getProjectId(),
+                    rating != null ? -rating : 0, rating != null ? -1 : 0, -1);
+        }
+    }
+    
+    private int resolvePageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+    
+    private List<UserSummaryDto> findUserSummaries(Role role, String search, KeysetCursor after, int pageSize) {
+        // Fetch one extra row to learn whether another page follows
+        int limit = pageSize + 1;
+        if (search == null || search.isBlank()) {
+            return new ArrayList<>(after == null
+                    ? userRepository.findSummariesByRole(role, Limit.of(limit))
+                    : userRepository.findSummariesByRoleAfter(role, after.getCreatedAt(), after.getId(), Limit.of(limit)));
+        }
+        
+        // Prefix match on first name, last name or email; LIKE wildcards in the input are escaped
+        String prefix = search.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        List<String> userIds = after == null
+                ? userRepository.findIdsByRoleAndPrefix(role.name(), prefix, limit)
+                : userRepository.findIdsByRoleAndPrefixAfter(role.name(), prefix,
+                        after.getCreatedAt(), after.getId(), limit);
+        if (userIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Load the summaries of the page and put them back into page order
+        Map<String, UserSummaryDto> summariesById = userRepository.findSummariesByIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserSummaryDto::getId, Function.identity()));
+        List<UserSummaryDto> summaries = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            UserSummaryDto summary = summariesById.get(userId);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+    
+    /**
+     * Drop the look-ahead row from a user page
+     *
+     * @return Cursor for the next page, or null if this is the last page
+     */
+    private String trimToPage(List<UserSummaryDto> users, int pageSize) {
+        if (users.size() <= pageSize) {
+            return null;
+        }
+        users.subList(pageSize, users.size()).clear();
+        UserSummaryDto last = users.get(pageSize - 1);
+        return new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+    }
+    
     private CleaningRequestSummaryDto convertToCleaningRequestSummaryDto(CleaningRequest request) {
         return new CleaningRequestSummaryDto(
                 request.getId(),
@@ -252,20 +560,44 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    public GetAllProjectsResponse getAllProjects() {
+    public GetAllProjectsResponse getAllProjects(ProjectStatus status, LocalDate dueDateFrom, LocalDate dueDateTo,
+                                                 String customerId, String supervisorId, String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        
         try {
-            // Get all projects
-            List<Project> allProjects = projectRepository.findAll();
+            Specification<Project> filter = Specification.where(ProjectSpecifications.hasStatus(status))
+                .and(ProjectSpecifications.dueOnOrAfter(dueDateFrom))
+                .and(ProjectSpecifications.dueOnOrBefore(dueDateTo))
+                .and(ProjectSpecifications.hasCustomerId(customerId))
+                .and(ProjectSpecifications.hasSupervisorId(supervisorId))
+                .and(ProjectSpecifications.createdBefore(after));
+            
+            // Fetch one extra row to learn whether another page follows, without a count query
+            List<Project> projects = projectRepository.findBy(filter, query -> query
+                .sortBy(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .limit(pageSize + 1)
+                .all());
+            
+            String nextCursor = null;
+            if (projects.size() > pageSize) {
+                projects = projects.subList(0, pageSize);
+                Project last = projects.get(pageSize - 1);
+                nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+            }
+            
+            // Resolve customer and supervisor names of the whole page in one query
+            Map<String, String> userNames = findUserNames(projects);
             
             // Convert to ProjectInfo DTOs
-            List<GetAllProjectsResponse.ProjectInfo> projectInfos = allProjects.stream()
-                .map(this::convertToProjectInfo)
+            List<GetAllProjectsResponse.ProjectInfo> projectInfos = projects.stream()
+                .map(project -> convertToProjectInfo(project, userNames))
                 .collect(Collectors.toList());
             
             String message = String.format("Retrieved %d projects successfully", projectInfos.size());
             logger.info(message);
             
-            return new GetAllProjectsResponse(true, message, projectInfos);
+            return new GetAllProjectsResponse(true, message, projectInfos, nextCursor);
             
         } catch (Exception e) {
             logger.error("Error retrieving all projects: {}", e.getMessage());
@@ -273,31 +605,73 @@ public class AdminServiceImpl implements AdminService {
         }
     }
 
-    private GetAllProjectsResponse.ProjectInfo convertToProjectInfo(Project project) {
-        // Get customer information
-        String customerName = null;
-        Optional<User> customer = userRepository.findById(project.getCustomerId());
-        if (customer.isPresent()) {
-            User c = customer.get();
-            customerName = c.getFirstName() + (c.getLastName() != null ? " " + c.getLastName() : "");
+    @Override
+    @Transactional(readOnly = true)
+    public AdminSearchResponse search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessException("Search query is required");
         }
+        int resultLimit = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
         
-        // Get supervisor information
-        String supervisorName = null;
-        if (project.getSupervisorId() != null) {
-            Optional<User> supervisor = userRepository.findById(project.getSupervisorId());
-            if (supervisor.isPresent()) {
-                User s = supervisor.get();
-                supervisorName = s.getFirstName() + (s.getLastName() != null ? " " + s.getLastName() : "");
+        // The index yields IDs ranked newest first; only those rows are loaded
+        List<String> requestIds = adminSearchIndexService.searchCleaningRequestIds(query, resultLimit);
+        List<String> projectIds = adminSearchIndexService.searchProjectIds(query, resultLimit);
+        
+        List<CleaningRequestSummaryDto> requestDtos = inIdOrder(cleaningRequestRepository.findAllById(requestIds),
+                CleaningRequest::getId, requestIds).stream()
+            .map(this::convertToCleaningRequestSummaryDto)
+            .collect(Collectors.toList());
+        
+        List<Project> projects = inIdOrder(projectRepository.findAllById(projectIds), Project::getId, projectIds);
+        Map<String, String> userNames = findUserNames(projects);
+        List<GetAllProjectsResponse.ProjectInfo> projectInfos = projects.stream()
+            .map(project -> convertToProjectInfo(project, userNames))
+            .collect(Collectors.toList());
+        
+        String message = String.format("Found %d cleaning requests and %d projects",
+                requestDtos.size(), projectInfos.size());
+        logger.info("Admin search for '{}': {}", query, message);
+        
+        return new AdminSearchResponse(true, message, query, requestDtos, projectInfos);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public AdminDashboardResponse getDashboard() {
+        return dashboardSummaryService.getDashboard();
+    }
+    
+    // Entities that no longer exist are skipped
+    private <T> List<T> inIdOrder(List<T> entities, Function<T, String> idGetter, List<String> ids) {
+        Map<String, T> entitiesById = entities.stream().collect(Collectors.toMap(idGetter, Function.identity()));
+        return ids.stream()
+            .map(entitiesById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private Map<String, String> findUserNames(List<Project> projects) {
+        Set<String> userIds = new HashSet<>();
+        for (Project project : projects) {
+            if (project.getCustomerId() != null) {
+                userIds.add(project.getCustomerId());
+            }
+            if (project.getSupervisorId() != null) {
+                userIds.add(project.getSupervisorId());
             }
         }
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
         
-        // Get task statistics
-        List<Task> projectTasks = taskRepository.findByProjectId(project.getId());
-        int totalTasks = projectTasks.size();
-        int completedTasks = (int) projectTasks.stream()
-            .filter(task -> task.getStatus() == com.enterprise.cleanqueen.enums.TaskStatus.COMPLETED)
-            .count();
+        return userRepository.findNamesByIdIn(userIds).stream()
+            .collect(Collectors.toMap(UserNameDto::getId, UserNameDto::getFullName));
+    }
+
+    private GetAllProjectsResponse.ProjectInfo convertToProjectInfo(Project project, Map<String, String> userNames) {
+        // Unassigned or unknown users have no name
+        String customerName = project.getCustomerId() != null ? userNames.get(project.getCustomerId()) : null;
+        String supervisorName = project.getSupervisorId() != null ? userNames.get(project.getSupervisorId()) : null;
         
         return new GetAllProjectsResponse.ProjectInfo(
             project.getId(),
@@ -312,8 +686,8 @@ public class AdminServiceImpl implements AdminService {
             customerName,
             project.getSupervisorId(),
             supervisorName,
-            totalTasks,
-            completedTasks,
+            project.getTotalTasks(),
+            project.getCompletedTasks(),
             project.getAverageRating(),
             project.getCreatedAt(),
             project.getUpdatedAt()
@@ -17,6 +17,8 @@ import com.enterprise.cleanqueen.enums.ProjectStatus;
 import com.enterprise.cleanqueen.repository.ProjectRepository;
 import com.enterprise.cleanqueen.repository.UserRepository;
 import com.enterprise.cleanqueen.service.AssignmentService;
+import com.enterprise.cleanqueen.service.DashboardSummaryService;
+import com.enterprise.cleanqueen.service.ProjectHierarchyCacheService;
 
 @Service
 @Transactional
@@ -30,6 +32,12 @@ public class AssignmentServiceImpl implements AssignmentService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Autowired
+    private DashboardSummaryService dashboardSummaryService;
+
     @Override
     public AssignmentResponse assignCustomerToProject(AssignCustomerRequest request, String userEmail) {
         // Find user
@@ -49,12 +57,19 @@ public class AssignmentServiceImpl implements AssignmentService {
         project.setCustomerId(customer.getId());
 
         // Update project status to IN_PROGRESS if it was PENDING_ASSIGNMENT
-        if (project.getStatus() == ProjectStatus.PENDING_ASSIGNMENT) {
+        boolean statusChanged = project.getStatus() == ProjectStatus.PENDING_ASSIGNMENT;
+        if (statusChanged) {
             project.setStatus(ProjectStatus.IN_PROGRESS);
         }
 
         projectRepository.save(project);
 
+        // The task hierarchy response includes the project status
+        if (statusChanged) {
+            projectHierarchyCacheService.invalidate(project.getId());
+            dashboardSummaryService.projectStatusChanged(ProjectStatus.PENDING_ASSIGNMENT, ProjectStatus.IN_PROGRESS);
+        }
+
         logger.info("Customer {} assigned to project {}", customer.getEmail(), project.getProjectCode());
 
         return new AssignmentResponse(
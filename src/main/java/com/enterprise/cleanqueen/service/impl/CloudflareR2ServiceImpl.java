@@ -1,35 +1,75 @@
 package com.enterprise.cleanqueen.service.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsRequest;
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsResponse;
 import com.enterprise.cleanqueen.service.CloudflareR2Service;
 import com.enterprise.cleanqueen.util.ImageCompressionUtil;
 import com.enterprise.cleanqueen.util.ImageCompressionUtil.CompressedImageResult;
 
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.ContentStreamProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 @Service
 public class CloudflareR2ServiceImpl implements CloudflareR2Service {
 
     private static final Logger logger = LoggerFactory.getLogger(CloudflareR2ServiceImpl.class);
 
+    // Direct uploads stay here until the review that uses them is created
+    private static final String UPLOADS_PREFIX = "reviews/uploads/";
+
     @Value("${cloudflare.r2.account-id}")
     private String accountId;
 
@@ -45,30 +85,78 @@ public class CloudflareR2ServiceImpl implements CloudflareR2Service {
     @Value("${cloudflare.r2.public-domain:}")
     private String publicDomain;
 
+    // S3 requires at least 5MB for every part but the last
+    @Value("${cloudflare.r2.multipart.part-size-mb:8}")
+    private int multipartPartSizeMb;
+
+    @Value("${cloudflare.r2.endpoint:}")
+    private String endpoint;
+
+    @Value("${cloudflare.r2.path-style-access:false}")
+    private boolean pathStyleAccess;
+
+    @Value("${cloudflare.r2.upload-url-expiry-seconds:300}")
+    private long uploadUrlExpirySeconds;
+
+    // Must leave the customer enough time to create the review after uploading
+    @Value("${cloudflare.r2.upload-retention-minutes:1440}")
+    private long uploadRetentionMinutes;
+
     private S3Client s3Client;
 
+    private S3Presigner s3Presigner;
+
     private final ImageCompressionUtil imageCompressionUtil;
 
-    public CloudflareR2ServiceImpl(ImageCompressionUtil imageCompressionUtil) {
+    private final Executor imageUploadExecutor;
+
+    public CloudflareR2ServiceImpl(ImageCompressionUtil imageCompressionUtil,
+                                   @Qualifier("imageUploadExecutor") Executor imageUploadExecutor) {
         this.imageCompressionUtil = imageCompressionUtil;
+        this.imageUploadExecutor = imageUploadExecutor;
     }
 
-    private S3Client getS3Client() {
+    // Synchronized because concurrent uploads may ask for the client before it exists
+    private synchronized S3Client getS3Client() {
         if (s3Client == null) {
-            // Cloudflare R2 endpoint format
-            String endpoint = String.format("https://%s.r2.cloudflarestorage.com", accountId);
-            
-            AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKey, secretKey);
-            
             s3Client = S3Client.builder()
-                    .endpointOverride(URI.create(endpoint))
-                    .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                    .endpointOverride(resolveEndpoint())
+                    .credentialsProvider(credentialsProvider())
                     .region(Region.US_EAST_1) // R2 uses auto region, but SDK requires one
+                    .serviceConfiguration(serviceConfiguration())
                     .build();
         }
         return s3Client;
     }
 
+    private synchronized S3Presigner getS3Presigner() {
+        if (s3Presigner == null) {
+            s3Presigner = S3Presigner.builder()
+                    .endpointOverride(resolveEndpoint())
+                    .credentialsProvider(credentialsProvider())
+                    .region(Region.US_EAST_1)
+                    .serviceConfiguration(serviceConfiguration())
+                    .build();
+        }
+        return s3Presigner;
+    }
+
+    private URI resolveEndpoint() {
+        // A configured endpoint points at a local S3-compatible stand-in, otherwise the Cloudflare R2 endpoint format
+        if (endpoint != null && !endpoint.isEmpty()) {
+            return URI.create(endpoint);
+        }
+        return URI.create(String.format("https://%s.r2.cloudflarestorage.com", accountId));
+    }
+
+    private StaticCredentialsProvider credentialsProvider() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
+
+    private S3Configuration serviceConfiguration() {
+        return S3Configuration.builder().pathStyleAccessEnabled(pathStyleAccess).build();
+    }
+
     @Override
     public List<String> uploadImages(List<MultipartFile> images) {
         if (images == null || images.isEmpty()) {
@@ -79,70 +167,83 @@ public class CloudflareR2ServiceImpl implements CloudflareR2Service {
             throw new RuntimeException("Maximum 2 images are allowed");
         }
 
-        List<String> uploadedUrls = new ArrayList<>();
-        List<String> uploadedKeys = new ArrayList<>();
+        // Validate every image up front, so an invalid image fails the request before anything is uploaded
+        List<MultipartFile> nonEmptyImages = images.stream().filter(image -> !image.isEmpty()).toList();
+        for (MultipartFile image : nonEmptyImages) {
+            try {
+                validateImage(image);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Failed to upload image: " + image.getOriginalFilename() + ". " + e.getMessage());
+            }
+        }
 
-        for (MultipartFile image : images) {
-            if (!image.isEmpty()) {
-                try {
-                    String imageKey = uploadSingleImage(image);
-                    String imageUrl = generatePublicUrl(imageKey);
-                    uploadedUrls.add(imageUrl);
-                    uploadedKeys.add(imageKey);
-                    logger.info("Successfully uploaded image: {}", imageUrl);
-                } catch (Exception e) {
-                    // If any image fails, delete already uploaded images and throw exception
-                    logger.error("Failed to upload image: {}", image.getOriginalFilename(), e);
-                    if (!uploadedKeys.isEmpty()) {
-                        deleteImagesByKeys(uploadedKeys);
-                    }
-                    throw new RuntimeException("Failed to upload image: " + image.getOriginalFilename() + ". " + e.getMessage());
+        // Compress and upload all images concurrently
+        List<CompletableFuture<String>> uploads = nonEmptyImages.stream()
+                .map(image -> CompletableFuture.supplyAsync(() -> uploadSingleImage(image), imageUploadExecutor))
+                .toList();
+
+        List<String> uploadedKeys = new ArrayList<>();
+        RuntimeException failure = null;
+        for (int i = 0; i < uploads.size(); i++) {
+            MultipartFile image = nonEmptyImages.get(i);
+            try {
+                uploadedKeys.add(uploads.get(i).join());
+            } catch (CompletionException e) {
+                logger.error("Failed to upload image: {}", image.getOriginalFilename(), e.getCause());
+                if (failure == null) {
+                    failure = new RuntimeException("Failed to upload image: " + image.getOriginalFilename() + ". "
+                            + e.getCause().getMessage());
                 }
             }
         }
 
+        // If any image fails, delete the images that were uploaded and throw exception
+        if (failure != null) {
+            if (!uploadedKeys.isEmpty()) {
+                deleteImagesByKeys(uploadedKeys);
+            }
+            throw failure;
+        }
+
+        List<String> uploadedUrls = new ArrayList<>();
+        for (String imageKey : uploadedKeys) {
+            String imageUrl = generatePublicUrl(imageKey);
+            uploadedUrls.add(imageUrl);
+            logger.info("Successfully uploaded image: {}", imageUrl);
+        }
         return uploadedUrls;
     }
 
-    private String uploadSingleImage(MultipartFile image) throws IOException {
-        validateImage(image);
-
+    // Validated by the caller; runs on the image upload executor
+    private String uploadSingleImage(MultipartFile image) {
         // Compress the image
-        CompressedImageResult compressionResult;
-        try {
-            compressionResult = imageCompressionUtil.compressImage(image);
-            logger.info("Image compression completed - Original: {}KB, Compressed: {}KB, Reduction: {}%",
-                image.getSize() / 1024,
-                compressionResult.getSizeKb(),
-                compressionResult.wasCompressed() ? 
-                    Math.round(((double)(image.getSize() - compressionResult.getSizeBytes()) / image.getSize()) * 100) : 0
-            );
-        } catch (Exception e) {
-            logger.error("Image compression failed, uploading original image", e);
-            // Fallback to original image if compression fails
-            compressionResult = new CompressedImageResult(
-                image.getBytes(), 
-                image.getContentType(), 
-                image.getSize(), 
-                false
-            );
+        CompressedImageResult compressionResult = CompressedImageResult.original(image.getContentType(), image.getSize());
+        if (isCompressible(image.getContentType())) {
+            try {
+                compressionResult = imageCompressionUtil.compressImage(image);
+                logger.info("Image compression completed - Original: {}KB, Compressed: {}KB, Reduction: {}%",
+                    image.getSize() / 1024,
+                    compressionResult.getSizeKb(),
+                    compressionResult.wasCompressed() ? 
+                        Math.round(((double)(image.getSize() - compressionResult.getSizeBytes()) / image.getSize()) * 100) : 0
+                );
+            } catch (Exception e) {
+                // Fallback to original image if compression fails
+                logger.error("Image compression failed, uploading original image", e);
+            }
         }
 
         String fileName = generateUniqueFileName(image.getOriginalFilename());
         String key = "reviews/" + fileName; // Store in reviews folder
 
-        try {
-            PutObjectRequest putRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .contentType(compressionResult.getContentType())
-                    .contentLength(compressionResult.getSizeBytes())
-                    .build();
+        // Compressed output is already in memory; the original is streamed from the multipart temp file
+        byte[] compressedData = compressionResult.getImageData();
+        ContentStreamProvider content = compressedData != null
+                ? () -> new ByteArrayInputStream(compressedData)
+                : () -> openStream(image);
 
-            RequestBody requestBody = RequestBody.fromBytes(compressionResult.getImageData());
-            
-            getS3Client().putObject(putRequest, requestBody);
-            
+        try {
+            uploadObject(key, compressionResult.getContentType(), compressionResult.getSizeBytes(), content);
             return key;
         } catch (S3Exception e) {
             logger.error("S3 error uploading image to R2", e);
@@ -153,6 +254,278 @@ public class CloudflareR2ServiceImpl implements CloudflareR2Service {
         }
     }
 
+    /**
+     * Store an object with a single put, or through the multipart upload API when it is larger than
+     * one part, so at most one part is buffered in memory at a time
+     */
+    private void uploadObject(String key, String contentType, long contentLength, ContentStreamProvider content)
+            throws IOException {
+        if (contentLength <= multipartPartSizeBytes()) {
+            PutObjectRequest putRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .build();
+
+            getS3Client().putObject(putRequest, RequestBody.fromContentProvider(content, contentLength, contentType));
+            return;
+        }
+
+        try (InputStream inputStream = content.newStream()) {
+            uploadMultipart(key, contentType, inputStream);
+        }
+    }
+
+    private void uploadMultipart(String key, String contentType, InputStream inputStream) throws IOException {
+        String uploadId = getS3Client().createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        try {
+            // One part buffer, reused for every part
+            byte[] buffer = new byte[multipartPartSizeBytes()];
+            List<CompletedPart> completedParts = new ArrayList<>();
+            int partLength;
+            while ((partLength = inputStream.readNBytes(buffer, 0, buffer.length)) > 0) {
+                int partNumber = completedParts.size() + 1;
+                int length = partLength;
+                UploadPartRequest partRequest = UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) length)
+                        .build();
+
+                String eTag = getS3Client().uploadPart(partRequest, RequestBody.fromContentProvider(
+                        () -> new ByteArrayInputStream(buffer, 0, length), length, contentType)).eTag();
+                completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+            }
+
+            getS3Client().completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+            logger.info("Uploaded {} in {} parts", key, completedParts.size());
+
+        } catch (IOException | RuntimeException e) {
+            // Abort so the bucket does not keep the uploaded parts
+            try {
+                getS3Client().abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (S3Exception abortException) {
+                logger.warn("Failed to abort multipart upload {} for key {}", uploadId, key, abortException);
+            }
+            throw e;
+        }
+    }
+
+    private int multipartPartSizeBytes() {
+        return multipartPartSizeMb * 1024 * 1024;
+    }
+
+    private InputStream openStream(MultipartFile image) {
+        try {
+            return image.getInputStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<CreateImageUploadUrlsResponse.ImageUploadUrl> createImageUploadUrls(
+            String customerId, String taskId, List<CreateImageUploadUrlsRequest.ImageUpload> images) {
+        if (images == null || images.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        if (images.size() > 2) {
+            throw new RuntimeException("Maximum 2 images are allowed");
+        }
+
+        List<CreateImageUploadUrlsResponse.ImageUploadUrl> uploadUrls = new ArrayList<>();
+        for (CreateImageUploadUrlsRequest.ImageUpload image : images) {
+            validateImageAttributes(image.getContentType(), image.getSizeBytes());
+
+            String key = uploadKeyPrefix(customerId, taskId) + UUID.randomUUID() + resolveExtension(image.getFileName(), image.getContentType());
+
+            // Content type and length are signed, so the client cannot upload anything else to this URL
+            PutObjectRequest putRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(image.getContentType())
+                    .contentLength(image.getSizeBytes())
+                    .build();
+            PresignedPutObjectRequest presignedRequest = getS3Presigner().presignPutObject(PutObjectPresignRequest.builder()
+                    .signatureDuration(Duration.ofSeconds(uploadUrlExpirySeconds))
+                    .putObjectRequest(putRequest)
+                    .build());
+
+            uploadUrls.add(new CreateImageUploadUrlsResponse.ImageUploadUrl(
+                    key,
+                    presignedRequest.url().toString(),
+                    image.getContentType(),
+                    image.getSizeBytes(),
+                    presignedRequest.expiration()
+            ));
+        }
+        return uploadUrls;
+    }
+
+    @Override
+    public List<String> finalizeUploadedImages(String customerId, String taskId, List<String> uploadKeys) {
+        if (uploadKeys == null || uploadKeys.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        if (uploadKeys.size() > 2) {
+            throw new RuntimeException("Maximum 2 images are allowed");
+        }
+
+        List<String> finalKeys = new ArrayList<>();
+        try {
+            for (String uploadKey : uploadKeys) {
+                if (uploadKey == null || !uploadKey.startsWith(uploadKeyPrefix(customerId, taskId))) {
+                    throw new RuntimeException("Image " + uploadKey + " was not issued to this customer for this task");
+                }
+
+                HeadObjectResponse head;
+                try {
+                    head = getS3Client().headObject(HeadObjectRequest.builder().bucket(bucketName).key(uploadKey).build());
+                } catch (NoSuchKeyException e) {
+                    throw new RuntimeException("Image " + uploadKey + " has not been uploaded");
+                }
+                validateImageAttributes(head.contentType(), head.contentLength());
+
+                // Copy exactly the verified version within the bucket, so a later upload to the same URL cannot replace it
+                String finalKey = "reviews/" + generateUniqueFileName(uploadKey);
+                getS3Client().copyObject(CopyObjectRequest.builder()
+                        .sourceBucket(bucketName)
+                        .sourceKey(uploadKey)
+                        .copySourceIfMatch(head.eTag())
+                        .destinationBucket(bucketName)
+                        .destinationKey(finalKey)
+                        .build());
+                finalKeys.add(finalKey);
+                deleteImagesByKeys(List.of(uploadKey));
+            }
+        } catch (S3Exception e) {
+            logger.error("S3 error finalizing uploaded images", e);
+            deleteImagesByKeys(finalKeys);
+            throw new RuntimeException("Failed to finalize uploaded image: " + e.awsErrorDetails().errorMessage());
+        } catch (RuntimeException e) {
+            deleteImagesByKeys(finalKeys);
+            throw e;
+        }
+
+        List<String> imageUrls = new ArrayList<>();
+        for (String finalKey : finalKeys) {
+            imageUrls.add(generatePublicUrl(finalKey));
+        }
+        return imageUrls;
+    }
+
+    @Override
+    @Async("taskExecutor")
+    public void compressStoredImage(String imageUrl) {
+        String key = extractKeyFromUrl(imageUrl);
+        if (key == null) {
+            return;
+        }
+
+        // Downloaded to a temp file, so the decoder streams from disk rather than from a full byte array
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("review-image-", null);
+            GetObjectResponse object;
+            try (ResponseInputStream<GetObjectResponse> objectStream =
+                         getS3Client().getObject(GetObjectRequest.builder().bucket(bucketName).key(key).build())) {
+                object = objectStream.response();
+                if (!isCompressible(object.contentType())) {
+                    logger.info("Stored image {} kept as uploaded ({})", key, object.contentType());
+                    return;
+                }
+                Files.copy(objectStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            CompressedImageResult compressionResult = imageCompressionUtil.compressImage(
+                    new FileSystemResource(tempFile), object.contentType(), object.contentLength(), key);
+            byte[] compressedData = compressionResult.getImageData();
+            if (compressedData == null || compressedData.length >= object.contentLength()) {
+                logger.info("Stored image {} kept as uploaded", key);
+                return;
+            }
+
+            // Replace only the version that was downloaded, so an image deleted or replaced
+            // meanwhile is not brought back; the SDK in use has no ifMatch property yet
+            PutObjectRequest putRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(compressionResult.getContentType())
+                    .contentLength((long) compressedData.length)
+                    .overrideConfiguration(override -> override.putHeader("If-Match", object.eTag()))
+                    .build();
+            try {
+                getS3Client().putObject(putRequest, RequestBody.fromBytes(compressedData));
+            } catch (S3Exception e) {
+                if (e.statusCode() == 412 || e.statusCode() == 404) {
+                    logger.info("Stored image {} was deleted or replaced during compression, leaving it as is", key);
+                    return;
+                }
+                throw e;
+            }
+            logger.info("Stored image {} compressed: {}KB -> {}KB", key,
+                    object.contentLength() / 1024, compressionResult.getSizeKb());
+
+        } catch (Exception e) {
+            logger.error("Failed to compress stored image {}, keeping the original", key, e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete temp file {}", tempFile, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${cloudflare.r2.upload-cleanup-interval-ms:3600000}",
+               fixedDelayString = "${cloudflare.r2.upload-cleanup-interval-ms:3600000}")
+    public int deleteAbandonedUploads() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(uploadRetentionMinutes));
+        List<String> abandonedKeys = new ArrayList<>();
+        try {
+            ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .prefix(UPLOADS_PREFIX)
+                    .build();
+            for (S3Object object : getS3Client().listObjectsV2Paginator(listRequest).contents()) {
+                if (object.lastModified().isBefore(cutoff)) {
+                    abandonedKeys.add(object.key());
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to list direct uploads for cleanup", e);
+            return 0;
+        }
+
+        if (!abandonedKeys.isEmpty()) {
+            deleteImagesByKeys(abandonedKeys);
+            logger.info("Deleted {} abandoned direct uploads older than {} minutes", abandonedKeys.size(), uploadRetentionMinutes);
+        }
+        return abandonedKeys.size();
+    }
+
     @Override
     public boolean deleteImages(List<String> imageUrls) {
         if (imageUrls == null || imageUrls.isEmpty()) {
@@ -192,14 +565,25 @@ public class CloudflareR2ServiceImpl implements CloudflareR2Service {
     }
 
     private void validateImage(MultipartFile image) {
+        validateImageAttributes(image.getContentType(), image.getSize());
+
+        // Basic image validation - ensure it's not empty
+        if (image.isEmpty()) {
+            throw new RuntimeException("Image file is empty");
+        }
+    }
+
+    private void validateImageAttributes(String contentType, Long sizeBytes) {
         // Check file size (max 25MB - increased since we compress images)
         long maxSizeInBytes = 25 * 1024 * 1024; // 25MB
-        if (image.getSize() > maxSizeInBytes) {
+        if (sizeBytes == null || sizeBytes <= 0) {
+            throw new RuntimeException("Image file is empty");
+        }
+        if (sizeBytes > maxSizeInBytes) {
             throw new RuntimeException("Image size exceeds maximum limit of 25MB");
         }
 
         // Check file type
-        String contentType = image.getContentType();
         if (contentType == null || (!contentType.startsWith("image/jpeg") && 
                                    !contentType.startsWith("image/jpg") && 
                                    !contentType.startsWith("image/png") && 
@@ -207,11 +591,35 @@ public class CloudflareR2ServiceImpl implements CloudflareR2Service {
                                    !contentType.startsWith("image/webp"))) {
             throw new RuntimeException("Invalid image format. Supported formats: JPEG, PNG, GIF, WebP");
         }
+    }
 
-        // Basic image validation - ensure it's not empty
-        if (image.isEmpty()) {
-            throw new RuntimeException("Image file is empty");
+    // Direct uploads land under a per-customer and per-task prefix until the review that uses them is created
+    private String uploadKeyPrefix(String customerId, String taskId) {
+        return UPLOADS_PREFIX + customerId + "/" + taskId + "/";
+    }
+
+    // Animated GIFs and WebP would be flattened into a JPEG stored under their original key
+    private boolean isCompressible(String contentType) {
+        return contentType != null && (contentType.startsWith("image/jpeg")
+                || contentType.startsWith("image/jpg")
+                || contentType.startsWith("image/png"));
+    }
+
+    private String resolveExtension(String fileName, String contentType) {
+        if (fileName != null && fileName.lastIndexOf('.') > 0) {
+            String extension = fileName.substring(fileName.lastIndexOf('.')).toLowerCase();
+            if (extension.matches("\\.[a-z0-9]{1,5}")) {
+                return extension;
+            }
+        }
+        if (contentType.startsWith("image/png")) {
+            return ".png";
+        } else if (contentType.startsWith("image/gif")) {
+            return ".gif";
+        } else if (contentType.startsWith("image/webp")) {
+            return ".webp";
         }
+        return ".jpg";
     }
 
     private String generateUniqueFileName(String originalFilename) {
@@ -1,10 +1,15 @@
 package com.enterprise.cleanqueen.service.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
@@ -84,6 +89,36 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    @Override
+    @Async("taskExecutor")
+    public void sendSupervisorPasswordEmails(Map<String, String> temporaryPasswordsByEmail) {
+        List<SimpleMailMessage> messages = new ArrayList<>(temporaryPasswordsByEmail.size());
+        temporaryPasswordsByEmail.forEach((toEmail, temporaryPassword) -> {
+            if (!validationUtil.isValidEmail(toEmail)) {
+                logger.error("Invalid email format: {}", toEmail);
+                return;
+            }
+
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(validationUtil.sanitizeInput(toEmail));
+            message.setSubject("Clean Queen - Supervisor Account Created");
+            message.setText(buildSupervisorPasswordEmailContent(validationUtil.sanitizeInput(temporaryPassword)));
+            messages.add(message);
+        });
+
+        try {
+            // One call sends every message over a single SMTP connection
+            mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+            logger.info("Temporary password emails sent successfully to {} supervisors", messages.size());
+        } catch (MailSendException e) {
+            int failedCount = e.getFailedMessages().size();
+            logger.error("Failed to send {} of {} temporary password emails", failedCount, messages.size(), e);
+        } catch (MailException e) {
+            logger.error("Failed to send {} temporary password emails", messages.size(), e);
+        }
+    }
+
     @Override
     @Async("taskExecutor")
     public void sendRequestConfirmationEmail(String toEmail, String requestId, String customerName) {
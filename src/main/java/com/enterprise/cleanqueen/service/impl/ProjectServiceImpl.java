@@ -1,16 +1,22 @@
 package com.enterprise.cleanqueen.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.enterprise.cleanqueen.dto.project.ProjectCreateRequest;
@@ -18,12 +24,13 @@ import com.enterprise.cleanqueen.dto.project.ProjectCreateResponse;
 import com.enterprise.cleanqueen.dto.project.ProjectListResponse;
 import com.enterprise.cleanqueen.dto.project.ProjectTaskHierarchyResponse;
 import com.enterprise.cleanqueen.dto.project.ProjectTaskReviewsResponse;
+import com.enterprise.cleanqueen.dto.project.ProjectVersionStamp;
 import com.enterprise.cleanqueen.dto.project.ProjectUpdateRequest;
 import com.enterprise.cleanqueen.dto.project.ProjectUpdateResponse;
 import com.enterprise.cleanqueen.dto.project.TaskCreateRequest;
-import com.enterprise.cleanqueen.dto.project.TaskUpdateRequest;
+import com.enterprise.cleanqueen.dto.project.TaskHierarchyRow;
+import com.enterprise.cleanqueen.dto.project.TaskReviewRow;
 import com.enterprise.cleanqueen.entity.Project;
-import com.enterprise.cleanqueen.entity.Review;
 import com.enterprise.cleanqueen.entity.Task;
 import com.enterprise.cleanqueen.enums.ProjectStatus;
 import com.enterprise.cleanqueen.enums.TaskPriority;
@@ -31,8 +38,19 @@ import com.enterprise.cleanqueen.enums.TaskStatus;
 import com.enterprise.cleanqueen.repository.ProjectRepository;
 import com.enterprise.cleanqueen.repository.ReviewRepository;
 import com.enterprise.cleanqueen.repository.TaskRepository;
+import com.enterprise.cleanqueen.service.AdminSearchIndexService;
+import com.enterprise.cleanqueen.service.DashboardSummaryService;
+import com.enterprise.cleanqueen.service.ProjectHierarchyCacheService;
 import com.enterprise.cleanqueen.service.ProjectService;
+import com.enterprise.cleanqueen.service.RatingPropagationService;
+import com.enterprise.cleanqueen.service.TaskHierarchyIndexService;
 import com.enterprise.cleanqueen.util.CodeGenerator;
+import com.enterprise.cleanqueen.util.KeysetCursor;
+import com.enterprise.cleanqueen.util.TaskCounterDelta;
+import com.enterprise.cleanqueen.util.TaskHierarchyStreamWriter;
+import com.enterprise.cleanqueen.util.TaskRatingAggregates;
+import com.enterprise.cleanqueen.util.TaskTreeAssembler;
+import com.enterprise.cleanqueen.util.TaskTreeReconciler;
 
 @Service
 @Transactional
@@ -40,6 +58,9 @@ public class ProjectServiceImpl implements ProjectService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectServiceImpl.class);
 
+    private static final int DEFAULT_REVIEW_PAGE_SIZE = 50;
+    private static final int MAX_REVIEW_PAGE_SIZE = 200;
+
     @Autowired
     private ProjectRepository projectRepository;
 
@@ -52,6 +73,30 @@ public class ProjectServiceImpl implements ProjectService {
     @Autowired
     private CodeGenerator codeGenerator;
 
+    @Autowired
+    private TaskTreeAssembler taskTreeAssembler;
+
+    @Autowired
+    private TaskTreeReconciler taskTreeReconciler;
+
+    @Autowired
+    private TaskHierarchyStreamWriter taskHierarchyStreamWriter;
+
+    @Autowired
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Autowired
+    private AdminSearchIndexService adminSearchIndexService;
+
+    @Autowired
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Autowired
+    private RatingPropagationService ratingPropagationService;
+
+    @Autowired
+    private TaskHierarchyIndexService taskHierarchyIndexService;
+
     @Override
     public ProjectCreateResponse createProject(ProjectCreateRequest request) {
         // Generate unique project code
@@ -71,11 +116,27 @@ public class ProjectServiceImpl implements ProjectService {
         project.setNoOfCleaners(request.getNoOfCleaners());
         project.setStatus(ProjectStatus.PENDING_ASSIGNMENT);
 
-        // Save project first
-        projectRepository.save(project);
+        // Flatten the task tree parent-first with pre-assigned IDs
+        List<Task> tasks = new ArrayList<>();
+        flattenTaskHierarchy(request.getTasks(), project.getId(), null, new HashSet<>(), tasks);
+        int totalTasks = tasks.size();
 
-        // Create tasks with hierarchy
-        int totalTasks = createTaskHierarchy(request.getTasks(), project.getId(), null);
+        // New tasks all start pending, so only the total counter is non-zero
+        project.setTotalTasks(totalTasks);
+        project.setCompletedTasks(0);
+        project.setActiveTasks(0);
+
+        // Nothing is rated yet, only the child counts are non-zero
+        TaskRatingAggregates ratingAggregates = TaskRatingAggregates.recompute(tasks);
+        project.setRatingSum(0.0);
+        project.setRatedChildCount(0);
+        project.setChildCount(ratingAggregates.getRootCount());
+
+        // Save project first, then insert the tasks in JDBC batches
+        projectRepository.save(project);
+        taskRepository.saveAll(tasks);
+        adminSearchIndexService.indexProject(project);
+        dashboardSummaryService.projectCreated(project.getStatus());
 
         logger.info("Project created successfully: {} with {} tasks", project.getId(), totalTasks);
 
@@ -91,10 +152,12 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public ProjectUpdateResponse updateProject(String projectId, ProjectUpdateRequest request) {
-        // Find existing project
-        Project project = projectRepository.findById(projectId)
+        // Find existing project, locked against a concurrent rating propagation
+        Project project = projectRepository.findByIdForUpdate(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
 
+        ProjectStatus previousStatus = project.getStatus();
+
         // Update project details
         project.setName(request.getName());
         project.setDescription(request.getDescription());
@@ -112,32 +175,64 @@ public class ProjectServiceImpl implements ProjectService {
         }
 
         projectRepository.save(project);
+        adminSearchIndexService.indexProject(project);
+        dashboardSummaryService.projectStatusChanged(previousStatus, project.getStatus());
 
-        // Get all existing tasks for this project
+        // Diff the requested tree against the stored tasks in one pass
         List<Task> existingTasks = taskRepository.findByProjectId(projectId);
-        Set<String> existingTaskIds = existingTasks.stream().map(Task::getId).collect(Collectors.toSet());
-
-        // Track changes
-        Set<String> processedTaskIds = new HashSet<>();
-        AtomicInteger tasksAdded = new AtomicInteger(0);
-        AtomicInteger tasksUpdated = new AtomicInteger(0);
+        long unratedCompletedBefore = DashboardSummaryService.countUnratedCompleted(existingTasks);
+        TaskTreeReconciler.TaskTreeChanges changes = taskTreeReconciler.reconcile(request.getTasks(), projectId, existingTasks);
+
+        // Structural changes shift the running rating sums of the parents involved
+        Set<Task> finalTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        finalTasks.addAll(existingTasks);
+        changes.getTasksToDelete().forEach(finalTasks::remove);
+        finalTasks.addAll(changes.getTasksToInsert());
+        TaskRatingAggregates ratingAggregates = TaskRatingAggregates.recompute(finalTasks);
+        Set<Task> writtenTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        writtenTasks.addAll(changes.getTasksToInsert());
+        writtenTasks.addAll(changes.getTasksToUpdate());
+        List<Task> aggregateUpdates = ratingAggregates.getChangedTasks().stream()
+                .filter(task -> !writtenTasks.contains(task))
+                .collect(Collectors.toList());
 
-        // Process updated task hierarchy
-        updateTaskHierarchy(request.getTasks(), projectId, null, existingTaskIds, processedTaskIds, tasksAdded, tasksUpdated);
+        // Apply the writes as batched statements; unchanged tasks are not written at all
+        if (!changes.getTasksToDelete().isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(changes.getTaskIdsToDelete());
+        }
+        if (!changes.getTasksToInsert().isEmpty()) {
+            taskRepository.saveAll(changes.getTasksToInsert());
+        }
+        if (!changes.getTasksToUpdate().isEmpty()) {
+            taskRepository.saveAll(changes.getTasksToUpdate());
+        }
+        if (!aggregateUpdates.isEmpty()) {
+            taskRepository.saveAll(aggregateUpdates);
+        }
+        projectRepository.setRatingAggregates(projectId, ratingAggregates.getRootRatingSum(),
+                ratingAggregates.getRatedRootCount(), ratingAggregates.getRootCount());
+        ratingPropagationService.rebasePendingRatings(projectId);
+        TaskCounterDelta counterDelta = changes.getCounterDelta();
+        if (!counterDelta.isEmpty()) {
+            projectRepository.adjustTaskCounters(projectId, counterDelta.getTotalTasks(),
+                    counterDelta.getCompletedTasks(), counterDelta.getActiveTasks());
+        }
 
-        // Remove tasks that weren't included in the update
-        Set<String> tasksToRemove = new HashSet<>(existingTaskIds);
-        tasksToRemove.removeAll(processedTaskIds);
+        projectHierarchyCacheService.invalidate(projectId);
 
-        if (!tasksToRemove.isEmpty()) {
-            taskRepository.deleteAllById(tasksToRemove);
-        }
+        // Reconciled tasks were updated in place; deleted ones no longer count
+        long unratedCompletedAfter = DashboardSummaryService.countUnratedCompleted(existingTasks)
+                - DashboardSummaryService.countUnratedCompleted(changes.getTasksToDelete())
+                + DashboardSummaryService.countUnratedCompleted(changes.getTasksToInsert());
+        dashboardSummaryService.adjustUnratedCompletedTasks(unratedCompletedAfter - unratedCompletedBefore);
 
-        // Get final task count
-        int totalTasks = taskRepository.findByProjectId(projectId).size();
+        int tasksAdded = changes.getTasksToInsert().size();
+        int tasksUpdated = changes.getTasksToUpdate().size();
+        int tasksRemoved = changes.getTasksToDelete().size();
+        int totalTasks = existingTasks.size() - tasksRemoved + tasksAdded;
 
         logger.info("Project {} updated: {} total, {} added, {} updated, {} removed",
-                projectId, totalTasks, tasksAdded.get(), tasksUpdated.get(), tasksToRemove.size());
+                projectId, totalTasks, tasksAdded, tasksUpdated, tasksRemoved);
 
         return new ProjectUpdateResponse(
                 true,
@@ -146,100 +241,50 @@ public class ProjectServiceImpl implements ProjectService {
                 project.getProjectCode(),
                 project.getName(),
                 totalTasks,
-                tasksAdded.get(),
-                tasksUpdated.get(),
-                tasksToRemove.size()
+                tasksAdded,
+                tasksUpdated,
+                tasksRemoved
         );
     }
 
-    private void updateTaskHierarchy(List<TaskUpdateRequest> taskRequests, String projectId, String parentTaskId,
-            Set<String> existingTaskIds, Set<String> processedTaskIds,
-            AtomicInteger tasksAdded, AtomicInteger tasksUpdated) {
+    /**
+     * Flatten a task request tree into parent-first order, assigning every task its ID,
+     * so the whole hierarchy can be written with a single saveAll
+     */
+    private void flattenTaskHierarchy(List<TaskCreateRequest> taskRequests, String projectId, Task parentTask,
+            Set<String> assignedTaskIds, List<Task> flattenedTasks) {
         if (taskRequests == null || taskRequests.isEmpty()) {
             return;
         }
 
-        for (TaskUpdateRequest taskRequest : taskRequests) {
-            Task task;
-            boolean isNewTask = taskRequest.getId() == null || !existingTaskIds.contains(taskRequest.getId());
-
-            if (isNewTask) {
-                // Create new task
-                task = new Task();
-                task.setId(codeGenerator.generateTaskId());
-                tasksAdded.incrementAndGet();
-            } else {
-                // Update existing task
-                task = taskRepository.findById(taskRequest.getId())
-                        .orElseThrow(() -> new RuntimeException("Task not found: " + taskRequest.getId()));
-                tasksUpdated.incrementAndGet();
-                processedTaskIds.add(taskRequest.getId());
-            }
-
-            // Set/update task properties
-            task.setName(taskRequest.getName());
-            task.setDescription(taskRequest.getDescription());
-            task.setStatus(taskRequest.getStatus() != null ? taskRequest.getStatus() : TaskStatus.PENDING_ASSIGNMENT);
-            task.setPriority(taskRequest.getPriority() != null ? taskRequest.getPriority() : TaskPriority.MEDIUM);
-            task.setProjectId(projectId);
-            task.setParentId(parentTaskId);
-
-            taskRepository.save(task);
-
-            // Process subtasks recursively
-            if (taskRequest.getSubtasks() != null && !taskRequest.getSubtasks().isEmpty()) {
-                updateTaskHierarchy(taskRequest.getSubtasks(), projectId, task.getId(),
-                        existingTaskIds, processedTaskIds, tasksAdded, tasksUpdated);
-            }
-        }
-    }
-
-    private int createTaskHierarchy(List<TaskCreateRequest> taskRequests, String projectId, String parentTaskId) {
-        if (taskRequests == null || taskRequests.isEmpty()) {
-            return 0;
-        }
-
-        int taskCount = 0;
-        List<Task> tasksToSave = new ArrayList<>();
-
         for (TaskCreateRequest taskRequest : taskRequests) {
-            // Create task
+            // Generate an ID not yet used within this project tree
+            String taskId;
+            do {
+                taskId = codeGenerator.generateTaskId();
+            } while (!assignedTaskIds.add(taskId));
+
             Task task = new Task();
-            task.setId(codeGenerator.generateTaskId());
+            task.setId(taskId);
             task.setName(taskRequest.getName());
             task.setDescription(taskRequest.getDescription());
             task.setStatus(TaskStatus.PENDING_ASSIGNMENT);
-            task.setPriority(taskRequest.getPriority() != null ? taskRequest.getPriority() : com.enterprise.cleanqueen.enums.TaskPriority.MEDIUM);
+            task.setPriority(taskRequest.getPriority() != null ? taskRequest.getPriority() : TaskPriority.MEDIUM);
             task.setProjectId(projectId);
-            task.setParentId(parentTaskId);
+            task.placeUnder(parentTask);
 
-            tasksToSave.add(task);
-            taskCount++;
+            flattenedTasks.add(task);
 
-            // Save current batch of tasks
-            taskRepository.saveAll(tasksToSave);
-            tasksToSave.clear();
-
-            // Recursively create subtasks
-            if (taskRequest.getSubtasks() != null && !taskRequest.getSubtasks().isEmpty()) {
-                taskCount += createTaskHierarchy(taskRequest.getSubtasks(), projectId, task.getId());
-            }
+            // Subtasks follow their parent
+            flattenTaskHierarchy(taskRequest.getSubtasks(), projectId, task, assignedTaskIds, flattenedTasks);
         }
-
-        return taskCount;
     }
 
     @Override
     public ProjectListResponse getProjectsByUserId(String userId) {
         try {
             // Find projects where user is either customer or supervisor
-            List<Project> customerProjects = projectRepository.findByCustomerId(userId);
-            List<Project> supervisorProjects = projectRepository.findBySupervisorId(userId);
-            
-            // Combine both lists and remove duplicates
-            Set<Project> allProjects = new HashSet<>();
-            allProjects.addAll(customerProjects);
-            allProjects.addAll(supervisorProjects);
+            List<Project> allProjects = projectRepository.findByCustomerIdOrSupervisorId(userId, userId);
             
             // Convert to ProjectSummary list
             List<ProjectListResponse.ProjectSummary> projectSummaries = allProjects.stream()
@@ -260,38 +305,16 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     public ProjectTaskHierarchyResponse getProjectTaskHierarchy(String projectId) {
         try {
-            // Find the project
-            Project project = projectRepository.findById(projectId)
+            // Serve the assembled hierarchy from cache while the tree version is unchanged
+            long treeVersion = projectRepository.findTreeVersionById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found with ID: " + projectId));
+            ProjectTaskHierarchyResponse.ProjectDetails projectDetails = projectHierarchyCacheService.get(projectId, treeVersion);
             
-            // Get all root tasks (tasks with no parent)
-            List<Task> rootTasks = taskRepository.findByProjectIdAndParentIdIsNull(projectId);
-            
-            // Build task hierarchy
-            List<ProjectTaskHierarchyResponse.TaskHierarchy> taskHierarchies = rootTasks.stream()
-                .map(this::buildTaskHierarchy)
-                .collect(Collectors.toList());
-            
-            // Calculate task statistics
-            List<Task> allTasks = taskRepository.findByProjectId(projectId);
-            int totalTasks = allTasks.size();
-            int completedTasks = (int) allTasks.stream()
-                .filter(task -> task.getStatus() == TaskStatus.COMPLETED)
-                .count();
-            
-            // Create project details
-            ProjectTaskHierarchyResponse.ProjectDetails projectDetails = new ProjectTaskHierarchyResponse.ProjectDetails(
-                project.getId(),
-                project.getProjectCode(),
-                project.getName(),
-                project.getDescription(),
-                project.getStatus(),
-                taskHierarchies,
-                totalTasks,
-                completedTasks,
-                project.getCreatedAt(),
-                project.getUpdatedAt()
-            );
+            if (projectDetails == null) {
+                projectDetails = buildProjectDetails(projectId);
+                projectHierarchyCacheService.put(projectId, treeVersion, projectDetails);
+            }
+            int totalTasks = projectDetails.getTotalTasks();
             
             String message = String.format("Retrieved task hierarchy for project %s with %d total tasks", 
                                          projectId, totalTasks);
@@ -305,14 +328,53 @@ public class ProjectServiceImpl implements ProjectService {
         }
     }
     
-    private ProjectListResponse.ProjectSummary convertToProjectSummary(Project project) {
-        // Get task statistics
-        List<Task> projectTasks = taskRepository.findByProjectId(project.getId());
-        int totalTasks = projectTasks.size();
-        int completedTasks = (int) projectTasks.stream()
-            .filter(task -> task.getStatus() == TaskStatus.COMPLETED)
-            .count();
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void indexTaskHierarchy(String projectId) {
+        // The stream follows the materialized paths, where unindexed tasks and their subtrees would be missing
+        if (taskHierarchyIndexService.indexProjectIfNeeded(projectId)) {
+            logger.info("Indexed task hierarchy of project {} before streaming it", projectId);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamProjectTaskHierarchy(String projectId, OutputStream outputStream) throws IOException {
+        Project project = projectRepository.findById(projectId)
+            .orElseThrow(() -> new RuntimeException("Project not found with ID: " + projectId));
+        
+        // Rows are unmanaged projections, so the persistence context stays empty while streaming
+        try (Stream<TaskHierarchyRow> rows = taskRepository.streamHierarchyRowsByProjectId(projectId)) {
+            taskHierarchyStreamWriter.write(project, rows.iterator(), outputStream);
+        }
+        logger.info("Streamed task hierarchy for project {}", projectId);
+    }
+    
+    private ProjectTaskHierarchyResponse.ProjectDetails buildProjectDetails(String projectId) {
+        // Find the project
+        Project project = projectRepository.findById(projectId)
+            .orElseThrow(() -> new RuntimeException("Project not found with ID: " + projectId));
+        
+        // Load all tasks once and assemble the hierarchy in memory
+        List<Task> allTasks = taskRepository.findByProjectId(projectId);
+        TaskTreeAssembler.AssembledTaskTree taskTree = taskTreeAssembler.assemble(allTasks);
         
+        return new ProjectTaskHierarchyResponse.ProjectDetails(
+            project.getId(),
+            project.getProjectCode(),
+            project.getName(),
+            project.getDescription(),
+            project.getStatus(),
+            taskTree.getRootTasks(),
+            taskTree.getTotalTasks(),
+            taskTree.getCompletedTasks(),
+            project.getCreatedAt(),
+            project.getUpdatedAt()
+        );
+    }
+    
+    private ProjectListResponse.ProjectSummary convertToProjectSummary(Project project) {
+        // Task statistics come from the project's denormalized counters
         return new ProjectListResponse.ProjectSummary(
             project.getId(),
             project.getProjectCode(),
@@ -322,52 +384,41 @@ public class ProjectServiceImpl implements ProjectService {
             project.getDueDate(),
             project.getNoOfCleaners(),
             project.getAddress(),
-            totalTasks,
-            completedTasks,
+            project.getTotalTasks(),
+            project.getCompletedTasks(),
             project.getAverageRating(),
             project.getCreatedAt(),
             project.getUpdatedAt()
         );
     }
     
-    private ProjectTaskHierarchyResponse.TaskHierarchy buildTaskHierarchy(Task task) {
-        // Get subtasks
-        List<Task> subtasks = taskRepository.findByParentId(task.getId());
-        List<ProjectTaskHierarchyResponse.TaskHierarchy> subtaskHierarchies = subtasks.stream()
-            .map(this::buildTaskHierarchy)
-            .collect(Collectors.toList());
-        
-        // Since tasks don't have assignment info in the current entity, 
-        // we'll set these to null for now
-        return new ProjectTaskHierarchyResponse.TaskHierarchy(
-            task.getId(),
-            task.getName(),
-            task.getDescription(),
-            task.getStatus(),
-            task.getPriority(),
-            null, // estimatedHours - not in entity
-            null, // assignedUserId - not in entity
-            null, // assignedUserName - not in entity
-            null, // dueDate - removed from tasks, only projects have due dates
-            task.getAverageRating(), // averageRating - now included
-            task.getCreatedAt(),
-            task.getUpdatedAt(),
-            subtaskHierarchies
-        );
-    }
-
     @Override
-    public ProjectTaskReviewsResponse getProjectTaskReviews(String projectId) {
+    @Transactional(readOnly = true)
+    public ProjectTaskReviewsResponse getProjectTaskReviews(String projectId, boolean reviewedOnly,
+                                                            String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = resolveReviewPageSize(limit);
+        
         try {
             // Find the project
             Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found with ID: " + projectId));
             
-            // Get all tasks for this project
-            List<Task> allTasks = taskRepository.findByProjectId(projectId);
+            // Tasks joined with their reviews in one query; one extra row tells whether another page follows
+            List<TaskReviewRow> rows = reviewRepository.findTaskReviewsByProjectId(projectId, reviewedOnly,
+                    after != null ? after.getCreatedAt() : null,
+                    after != null ? after.getId() : null,
+                    Limit.of(pageSize + 1));
+            
+            String nextCursor = null;
+            if (rows.size() > pageSize) {
+                rows = rows.subList(0, pageSize);
+                TaskReviewRow last = rows.get(pageSize - 1);
+                nextCursor = new KeysetCursor(last.getCreatedAt(), last.getTaskId()).encode();
+            }
             
             // Convert to TaskReviewInfo list
-            List<ProjectTaskReviewsResponse.TaskReviewInfo> taskReviewInfos = allTasks.stream()
+            List<ProjectTaskReviewsResponse.TaskReviewInfo> taskReviewInfos = rows.stream()
                 .map(this::convertToTaskReviewInfo)
                 .collect(Collectors.toList());
             
@@ -376,7 +427,7 @@ public class ProjectServiceImpl implements ProjectService {
             logger.info(message);
             
             return new ProjectTaskReviewsResponse(true, message, project.getId(), 
-                                                project.getName(), taskReviewInfos);
+                                                project.getName(), taskReviewInfos, nextCursor);
             
         } catch (Exception e) {
             logger.error("Error retrieving task reviews for project {}: {}", projectId, e.getMessage());
@@ -384,26 +435,45 @@ public class ProjectServiceImpl implements ProjectService {
         }
     }
 
-    private ProjectTaskReviewsResponse.TaskReviewInfo convertToTaskReviewInfo(Task task) {
-        // Find review for this task
-        Review review = reviewRepository.findByTaskId(task.getId()).orElse(null);
-        
-        String reviewComment = null;
-        Float rating = null;
-        boolean hasReview = false;
-        
-        if (review != null) {
-            reviewComment = review.getComment();
-            rating = review.getRating().floatValue();
-            hasReview = true;
-        }
-        
+    @Override
+    @Transactional(readOnly = true)
+    public String getProjectsByUserIdETag(String userId) {
+        // Counters and ratings of the listed projects are covered by their tree versions
+        return projectRepository.findVersionStampByUserId(userId).toETag("projects");
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String getProjectTaskHierarchyETag(String projectId) {
+        return toProjectETag("tasks", projectRepository.findVersionStampById(projectId));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String getProjectTaskReviewsETag(String projectId, boolean reviewedOnly, String cursor, Integer limit) {
+        // Review creation bumps the tree version, so it also validates the review list;
+        // every page and filter is a representation of its own
+        String representation = "reviews" + (reviewedOnly ? "-reviewed" : "") + "-" + resolveReviewPageSize(limit)
+                + (cursor != null && !cursor.isBlank() ? "-" + cursor : "");
+        return toProjectETag(representation, projectRepository.findVersionStampById(projectId));
+    }
+    
+    private String toProjectETag(String representation, ProjectVersionStamp stamp) {
+        // Unknown projects get no validator so the regular not-found handling applies
+        return stamp.getProjectCount() > 0 ? stamp.toETag(representation) : null;
+    }
+
+    private int resolveReviewPageSize(Integer limit) {
+        return limit == null ? DEFAULT_REVIEW_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_REVIEW_PAGE_SIZE));
+    }
+
+    private ProjectTaskReviewsResponse.TaskReviewInfo convertToTaskReviewInfo(TaskReviewRow row) {
         return new ProjectTaskReviewsResponse.TaskReviewInfo(
-            task.getId(),
-            task.getName(),
-            reviewComment,
-            rating,
-            hasReview
+            row.getTaskId(),
+            row.getTaskName(),
+            row.getReviewComment(),
+            row.hasReview() ? row.getRating().floatValue() : null,
+            row.hasReview()
         );
     }
 }
@@ -14,6 +14,8 @@ import com.enterprise.cleanqueen.enums.CleaningRequestStatus;
 import com.enterprise.cleanqueen.exception.BusinessException;
 import com.enterprise.cleanqueen.repository.CleaningRequestRepository;
 import com.enterprise.cleanqueen.repository.UserRepository;
+import com.enterprise.cleanqueen.service.AdminSearchIndexService;
+import com.enterprise.cleanqueen.service.DashboardSummaryService;
 import com.enterprise.cleanqueen.service.EmailService;
 import com.enterprise.cleanqueen.service.RequestService;
 import com.enterprise.cleanqueen.util.CodeGenerator;
@@ -32,6 +34,12 @@ public class RequestServiceImpl implements RequestService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AdminSearchIndexService adminSearchIndexService;
+
+    @Autowired
+    private DashboardSummaryService dashboardSummaryService;
+
     @Autowired
     private CodeGenerator codeGenerator;
 
@@ -90,6 +98,8 @@ public class RequestServiceImpl implements RequestService {
 
         // Save request
         requestRepository.save(cleaningRequest);
+        adminSearchIndexService.indexCleaningRequest(cleaningRequest);
+        dashboardSummaryService.cleaningRequestCreated(cleaningRequest.getStatus());
 
         // Send confirmation email to customer
         emailService.sendRequestConfirmationEmail(
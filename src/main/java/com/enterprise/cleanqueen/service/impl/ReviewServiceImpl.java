@@ -7,8 +7,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsRequest;
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsResponse;
 import com.enterprise.cleanqueen.dto.review.CreateReviewRequest;
 import com.enterprise.cleanqueen.dto.review.CreateReviewResponse;
 import com.enterprise.cleanqueen.entity.Project;
@@ -20,6 +24,9 @@ import com.enterprise.cleanqueen.repository.ReviewRepository;
 import com.enterprise.cleanqueen.repository.TaskRepository;
 import com.enterprise.cleanqueen.repository.UserRepository;
 import com.enterprise.cleanqueen.service.CloudflareR2Service;
+import com.enterprise.cleanqueen.service.DashboardSummaryService;
+import com.enterprise.cleanqueen.service.ProjectHierarchyCacheService;
+import com.enterprise.cleanqueen.service.RatingPropagationService;
 import com.enterprise.cleanqueen.service.ReviewService;
 import com.enterprise.cleanqueen.util.CodeGenerator;
 
@@ -47,14 +54,91 @@ public class ReviewServiceImpl implements ReviewService {
     @Autowired
     private CloudflareR2Service cloudflareR2Service;
 
+    @Autowired
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Autowired
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Autowired
+    private RatingPropagationService ratingPropagationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Runs without a surrounding transaction so no connection is held while images are compressed and uploaded
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CreateReviewResponse createReview(CreateReviewRequest request, String customerEmail) {
         // Find customer
         User customer = userRepository.findByEmail(customerEmail)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
+        Task task = findReviewableTask(request.getTaskId(), customer);
+
+        // Compress and upload images concurrently, or take over images uploaded directly to the bucket
+        boolean directUpload = request.getImageKeys() != null && !request.getImageKeys().isEmpty();
+        if (directUpload && request.getImages() != null && !request.getImages().isEmpty()) {
+            throw new RuntimeException("Provide either images or imageKeys, not both");
+        }
+        List<String> imageUrls = directUpload
+                ? finalizeUploadedImages(request, customer.getId(), task.getId())
+                : uploadImages(request);
+
+        // Persist in one short transaction; if it fails, the uploaded images are deleted again
+        Review review;
+        try {
+            review = transactionTemplate.execute(status -> persistReview(request, task, customer, imageUrls));
+        } catch (Exception e) {
+            if (!imageUrls.isEmpty()) {
+                logger.warn("Review creation failed, cleaning up uploaded images");
+                cloudflareR2Service.deleteImages(imageUrls);
+            }
+            throw new RuntimeException("Failed to create review: " + e.getMessage(), e);
+        }
+
+        // Directly uploaded images were stored as sent; compress them in the background
+        if (directUpload) {
+            imageUrls.forEach(cloudflareR2Service::compressStoredImage);
+        }
+
+        logger.info("Review created for task {}, rating propagation queued", task.getId());
+
+        return new CreateReviewResponse(
+                true,
+                "Review created successfully. Rating propagation through the task hierarchy is queued.",
+                review.getId(),
+                task.getId(),
+                task.getName(),
+                request.getRating(),
+                false,
+                imageUrls
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CreateImageUploadUrlsResponse createImageUploadUrls(CreateImageUploadUrlsRequest request, String customerEmail) {
+        // Find customer
+        User customer = userRepository.findByEmail(customerEmail)
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
+
+        // Only a task the customer could review right now gets upload URLs
+        Task task = findReviewableTask(request.getTaskId(), customer);
+
+        List<CreateImageUploadUrlsResponse.ImageUploadUrl> uploads =
+                cloudflareR2Service.createImageUploadUrls(customer.getId(), task.getId(), request.getImages());
+        logger.info("Issued {} image upload URLs for customer {} and task {}", uploads.size(), customer.getId(), task.getId());
+
+        return new CreateImageUploadUrlsResponse(true, "Upload URLs created successfully", uploads);
+    }
+
+    /**
+     * Find a task the customer may review: a leaf task of their own project without a review yet
+     */
+    private Task findReviewableTask(String taskId, User customer) {
         // Find task
-        Task task = taskRepository.findById(request.getTaskId())
+        Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
         // Find project
@@ -76,25 +160,49 @@ public class ReviewServiceImpl implements ReviewService {
         if (reviewRepository.existsByTaskId(task.getId())) {
             throw new RuntimeException("This task has already been reviewed");
         }
+        return task;
+    }
 
-        // Upload images first (if any)
-        List<String> imageUrls = new ArrayList<>();
-        if (request.getImages() != null && !request.getImages().isEmpty()) {
-            try {
-                imageUrls = cloudflareR2Service.uploadImages(request.getImages());
-                logger.info("Successfully uploaded {} images for review", imageUrls.size());
-            } catch (Exception e) {
-                logger.error("Failed to upload images for review", e);
-                throw new RuntimeException("Failed to upload images: " + e.getMessage());
-            }
+    private List<String> finalizeUploadedImages(CreateReviewRequest request, String customerId, String taskId) {
+        try {
+            List<String> imageUrls = cloudflareR2Service.finalizeUploadedImages(customerId, taskId, request.getImageKeys());
+            logger.info("Successfully finalized {} directly uploaded images for review", imageUrls.size());
+            return imageUrls;
+        } catch (Exception e) {
+            logger.error("Failed to finalize uploaded images for review", e);
+            throw new RuntimeException("Failed to finalize uploaded images: " + e.getMessage());
+        }
+    }
+
+    private List<String> uploadImages(CreateReviewRequest request) {
+        if (request.getImages() == null || request.getImages().isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            List<String> imageUrls = cloudflareR2Service.uploadImages(request.getImages());
+            logger.info("Successfully uploaded {} images for review", imageUrls.size());
+            return imageUrls;
+        } catch (Exception e) {
+            logger.error("Failed to upload images for review", e);
+            throw new RuntimeException("Failed to upload images: " + e.getMessage());
         }
+    }
+
+    private Review persistReview(CreateReviewRequest request, Task uploadedTask, User customer, List<String> imageUrls) {
+        // During the upload the task may have been given subtasks, deleted or reviewed. Locking the project
+        // first waits for project updates and task deletion, like the rating worker does, and since nothing
+        // was read before the lock, the checks below are repeated on the rows as they are now.
+        projectRepository.findByIdForUpdate(uploadedTask.getProjectId())
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+        Task task = findReviewableTask(uploadedTask.getId(), customer);
+        String taskId = task.getId();
 
         // Create review
         Review review = new Review();
         review.setId(codeGenerator.generateReviewId());
         review.setRating(request.getRating());
         review.setComment(request.getComment());
-        review.setTaskId(task.getId());
+        review.setTaskId(taskId);
         review.setCustomerId(customer.getId());
 
         // Set image URLs
@@ -105,105 +213,21 @@ public class ReviewServiceImpl implements ReviewService {
             review.setImageUrl2(imageUrls.get(1));
         }
 
-        try {
-            reviewRepository.save(review);
-        } catch (Exception e) {
-            // If review creation fails, delete uploaded images
-            if (!imageUrls.isEmpty()) {
-                logger.warn("Review creation failed, cleaning up uploaded images");
-                cloudflareR2Service.deleteImages(imageUrls);
-            }
-            throw new RuntimeException("Failed to create review: " + e.getMessage());
-        }
+        reviewRepository.save(review);
+        dashboardSummaryService.reviewCreated(request.getRating());
 
         // Set task rating
+        if (DashboardSummaryService.isUnratedCompleted(task)) {
+            dashboardSummaryService.adjustUnratedCompletedTasks(-1);
+        }
+        Float previousRating = task.getAverageRating();
         task.setAverageRating(request.getRating().floatValue());
         taskRepository.save(task);
 
-        // Propagate ratings up the hierarchy
-        boolean propagated = propagateRatingsUp(task);
-
-        logger.info("Review created for task {} with rating propagation: {}", task.getId(), propagated);
-
-        return new CreateReviewResponse(
-                true,
-                "Review created successfully. Rating propagated through task hierarchy.",
-                review.getId(),
-                task.getId(),
-                task.getName(),
-                request.getRating(),
-                propagated,
-                imageUrls
-        );
-    }
-
-    private boolean propagateRatingsUp(Task currentTask) {
-        boolean propagationOccurred = false;
-
-        // If this is not a root task, check parent
-        if (currentTask.getParentId() != null) {
-            Task parentTask = taskRepository.findById(currentTask.getParentId())
-                    .orElse(null);
-
-            if (parentTask != null) {
-                // Get all sibling tasks (including current task)
-                List<Task> siblingTasks = taskRepository.findByParentId(parentTask.getId());
-
-                // Check if all siblings have ratings
-                boolean allSiblingsRated = siblingTasks.stream()
-                        .allMatch(task -> task.getAverageRating() != null);
-
-                if (allSiblingsRated && !siblingTasks.isEmpty()) {
-                    // Calculate average rating for parent
-                    double averageRating = siblingTasks.stream()
-                            .mapToDouble(Task::getAverageRating)
-                            .average()
-                            .orElse(0.0);
-
-                    // Update parent task rating
-                    parentTask.setAverageRating((float) averageRating);
-                    taskRepository.save(parentTask);
-
-                    propagationOccurred = true;
-
-                    // Recursively propagate up
-                    propagationOccurred |= propagateRatingsUp(parentTask);
-                }
-            }
-        } else {
-            // This is a root task, check if we can update project rating
-            propagationOccurred |= updateProjectRatingIfReady(currentTask.getProjectId());
-        }
-
-        return propagationOccurred;
-    }
-
-    private boolean updateProjectRatingIfReady(String projectId) {
-        // Get all root tasks for this project
-        List<Task> rootTasks = taskRepository.findRootTasksByProjectId(projectId);
-
-        // Check if all root tasks have ratings
-        boolean allRootTasksRated = rootTasks.stream()
-                .allMatch(task -> task.getAverageRating() != null);
-
-        if (allRootTasksRated && !rootTasks.isEmpty()) {
-            // Calculate project average rating
-            double projectAverageRating = rootTasks.stream()
-                    .mapToDouble(Task::getAverageRating)
-                    .average()
-                    .orElse(0.0);
-
-            // Update project rating
-            Project project = projectRepository.findById(projectId)
-                    .orElseThrow(() -> new RuntimeException("Project not found"));
-
-            project.setAverageRating((float) projectAverageRating);
-            projectRepository.save(project);
-
-            logger.info("Project {} rating updated to: {}", projectId, projectAverageRating);
-            return true;
-        }
+        // Ancestors and the project are updated by the propagation worker shortly after commit
+        ratingPropagationService.enqueue(task, previousRating);
+        projectHierarchyCacheService.invalidate(task.getProjectId());
 
-        return false;
+        return review;
     }
 }
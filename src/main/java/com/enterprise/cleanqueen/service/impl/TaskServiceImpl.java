@@ -1,7 +1,12 @@
 package com.enterprise.cleanqueen.service.impl;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,9 +21,13 @@ import com.enterprise.cleanqueen.dto.task.TaskUpdateResult;
 import com.enterprise.cleanqueen.entity.Task;
 import com.enterprise.cleanqueen.enums.TaskStatus;
 import com.enterprise.cleanqueen.exception.BusinessException;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
 import com.enterprise.cleanqueen.repository.TaskRepository;
 import com.enterprise.cleanqueen.repository.UserRepository;
+import com.enterprise.cleanqueen.service.DashboardSummaryService;
+import com.enterprise.cleanqueen.service.ProjectHierarchyCacheService;
 import com.enterprise.cleanqueen.service.TaskService;
+import com.enterprise.cleanqueen.util.TaskCounterDelta;
 
 @Service
 public class TaskServiceImpl implements TaskService {
@@ -31,6 +40,15 @@ public class TaskServiceImpl implements TaskService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Autowired
+    private DashboardSummaryService dashboardSummaryService;
+
     @Override
     @Transactional
     public BulkUpdateTaskStatusResponse updateTasksStatus(UpdateTaskStatusRequest request, String supervisorEmail) {
@@ -41,12 +59,33 @@ public class TaskServiceImpl implements TaskService {
                 .orElseThrow(() -> new BusinessException("Supervisor not found"));
 
         List<TaskUpdateResult> results = new ArrayList<>();
+        Map<String, TaskCounterDelta> counterDeltas = new HashMap<>();
+        Set<String> updatedProjectIds = new HashSet<>();
+        long unratedCompletedDelta = 0;
         int successCount = 0;
         
+        // Lock the affected projects in ID order before touching any task, like rating propagation and
+        // structural writes do, so a status change never interleaves with their task writes or deadlocks them
+        List<String> taskIds = request.getTasks().stream()
+                .map(TaskStatusUpdate::getTaskId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, Task> tasksById = new HashMap<>();
+        if (!taskIds.isEmpty()) {
+            for (String projectId : taskRepository.findProjectIdsByTaskIds(taskIds)) {
+                projectRepository.findByIdForUpdate(projectId);
+            }
+            // Locking read, so the rows are the latest committed ones rather than the transaction's snapshot
+            for (Task task : taskRepository.findAllByIdForUpdate(taskIds)) {
+                tasksById.put(task.getId(), task);
+            }
+        }
+        
         for (TaskStatusUpdate taskUpdate : request.getTasks()) {
             try {
                 // Find the task
-                Task task = taskRepository.findById(taskUpdate.getTaskId()).orElse(null);
+                Task task = tasksById.get(taskUpdate.getTaskId());
                 
                 if (task == null) {
                     results.add(new TaskUpdateResult(
@@ -61,6 +100,7 @@ public class TaskServiceImpl implements TaskService {
                 }
                 
                 TaskStatus previousStatus = task.getStatus();
+                boolean wasUnratedCompleted = DashboardSummaryService.isUnratedCompleted(task);
                 
                 // Update task status
                 task.setStatus(taskUpdate.getStatus());
@@ -68,6 +108,17 @@ public class TaskServiceImpl implements TaskService {
                 // Save updated task
                 taskRepository.save(task);
                 
+                updatedProjectIds.add(task.getProjectId());
+                
+                // Track the change to the project's task counters
+                if (Boolean.TRUE.equals(task.getIsActive())) {
+                    counterDeltas.computeIfAbsent(task.getProjectId(), key -> new TaskCounterDelta())
+                            .changeStatus(previousStatus, task.getStatus());
+                }
+                if (wasUnratedCompleted != DashboardSummaryService.isUnratedCompleted(task)) {
+                    unratedCompletedDelta += wasUnratedCompleted ? -1 : 1;
+                }
+                
                 results.add(new TaskUpdateResult(
                     task.getId(),
                     task.getName(),
@@ -95,6 +146,16 @@ public class TaskServiceImpl implements TaskService {
             }
         }
         
+        // Apply one counter increment per affected project
+        counterDeltas.forEach((projectId, delta) -> {
+            if (!delta.isEmpty()) {
+                projectRepository.adjustTaskCounters(projectId, delta.getTotalTasks(),
+                        delta.getCompletedTasks(), delta.getActiveTasks());
+            }
+        });
+        updatedProjectIds.forEach(projectHierarchyCacheService::invalidate);
+        dashboardSummaryService.adjustUnratedCompletedTasks(unratedCompletedDelta);
+        
         boolean overallSuccess = successCount > 0;
         String message = String.format("Updated %d out of %d tasks successfully", 
                                      successCount, request.getTasks().size());
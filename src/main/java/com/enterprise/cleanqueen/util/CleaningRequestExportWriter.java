@@ -0,0 +1,120 @@
+package com.enterprise.cleanqueen.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.enterprise.cleanqueen.dto.request.CleaningRequestSummaryDto;
+import com.enterprise.cleanqueen.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes cleaning requests to an output stream one row at a time, so an export
+ * of any size needs only the memory of a single row and the output buffer.
+ * The stream is flushed periodically, so a disconnected client surfaces as an
+ * IOException and ends the export instead of filling buffers nobody reads.
+ */
+@Component
+public class CleaningRequestExportWriter {
+
+    private static final int FLUSH_INTERVAL_ROWS = 500;
+
+    private static final String[] CSV_HEADER = {
+        "id", "name", "email", "phoneNumber", "serviceAddress", "serviceType", "preferredDate",
+        "timeFrom", "timeTo", "additionalDetails", "status", "userId", "createdAt", "updatedAt"
+    };
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Write all rows in the given format
+     *
+     * @return Number of rows written
+     */
+    public long write(ExportFormat format, Iterator<CleaningRequestSummaryDto> rows, OutputStream outputStream)
+            throws IOException {
+        return format == ExportFormat.CSV ? writeCsv(rows, outputStream) : writeNdjson(rows, outputStream);
+    }
+
+    private long writeNdjson(Iterator<CleaningRequestSummaryDto> rows, OutputStream outputStream) throws IOException {
+        ObjectWriter rowWriter = objectMapper.writerFor(CleaningRequestSummaryDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long rowCount = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                rowWriter.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                if (++rowCount % FLUSH_INTERVAL_ROWS == 0) {
+                    checkNotCancelled();
+                    generator.flush();
+                }
+            }
+        }
+        return rowCount;
+    }
+
+    private long writeCsv(Iterator<CleaningRequestSummaryDto> rows, OutputStream outputStream) throws IOException {
+        // Not closed, so the response stream is left open for the caller
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        long rowCount = 0;
+
+        writeCsvRecord(writer, (Object[]) CSV_HEADER);
+        while (rows.hasNext()) {
+            CleaningRequestSummaryDto row = rows.next();
+            writeCsvRecord(writer,
+                    row.getId(), row.getName(), row.getEmail(), row.getPhoneNumber(),
+                    row.getServiceAddress(), row.getServiceType(), row.getPreferredDate(),
+                    row.getTimeFrom(), row.getTimeTo(), row.getAdditionalDetails(), row.getStatus(),
+                    row.getUserId(), row.getCreatedAt(), row.getUpdatedAt());
+            if (++rowCount % FLUSH_INTERVAL_ROWS == 0) {
+                checkNotCancelled();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rowCount;
+    }
+
+    private void writeCsvRecord(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(toCsvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private String toCsvField(String value) {
+        // Keep spreadsheet applications from evaluating user-entered text as a formula
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    // The async request timing out interrupts the writing thread
+    private void checkNotCancelled() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Export cancelled");
+        }
+    }
+}
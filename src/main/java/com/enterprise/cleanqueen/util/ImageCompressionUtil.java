@@ -1,29 +1,61 @@
 package com.enterprise.cleanqueen.util;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.SampleModel;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import net.coobird.thumbnailator.Thumbnails;
 
 /**
  * Utility class for image compression and processing
- * Compresses images to target file size while maintaining quality
+ * Compresses images to target file size while maintaining quality.
+ * The upload is decoded once, subsampled from its header dimensions so oversized
+ * photos never exist at full resolution in memory, and scaled to the maximum dimensions once; JPEG quality
+ * is then binary searched against the target size, and the image is only scaled
+ * down further if even the lowest quality does not fit.
  */
 @Component
 public class ImageCompressionUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(ImageCompressionUtil.class);
 
+    private static final float MIN_QUALITY = 0.3f;
+    private static final int QUALITY_SEARCH_STEPS = 5; // Quality resolution of about 0.02
+    private static final double MIN_SCALE_FACTOR = 0.5;
+    private static final int MAX_SCALE_STEPS = 3;
+    private static final int DECODE_BUDGET_WAIT_SECONDS = 30;
+
     @Value("${image.compression.enabled:true}")
     private boolean compressionEnabled;
 
@@ -36,6 +68,32 @@ public class ImageCompressionUtil {
     @Value("${image.compression.max-dimension:1920}")
     private int maxDimension;
 
+    // Decoded pixels of one image, and memory reserved for all images being compressed at the same time
+    @Value("${image.compression.max-decoded-mb:48}")
+    private int maxDecodedMb;
+
+    @Value("${image.compression.decode-budget-mb:256}")
+    private int decodeBudgetMb;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Semaphore decodeBudget;
+
+    private DistributionSummary encodePassesSummary;
+    private Timer compressionTimer;
+
+    @PostConstruct
+    void initialize() {
+        decodeBudget = new Semaphore(decodeBudgetMb);
+        Gauge.builder("image.compression.decode.budget.used", decodeBudget, budget -> decodeBudgetMb - budget.availablePermits())
+                .baseUnit("megabytes").description("Decoded image memory currently reserved").register(meterRegistry);
+        encodePassesSummary = DistributionSummary.builder("image.compression.encode.passes")
+                .description("Encoder passes needed to compress one image").register(meterRegistry);
+        compressionTimer = Timer.builder("image.compression.duration")
+                .description("Time to decode, scale and encode one image").register(meterRegistry);
+    }
+
     /**
      * Compresses an image to target size while maintaining aspect ratio
      * 
@@ -44,162 +102,266 @@ public class ImageCompressionUtil {
      * @throws IOException if compression fails
      */
     public CompressedImageResult compressImage(MultipartFile originalFile) throws IOException {
+        return compressImage(originalFile, originalFile.getContentType(), originalFile.getSize(),
+                originalFile.getOriginalFilename());
+    }
+
+    /**
+     * Compresses an image read from any source, such as a stored object downloaded to a temp file
+     *
+     * @param source Source that can be opened once per call
+     * @param contentType Content type of the original image
+     * @param sizeBytes Size of the original image
+     * @param name Name used in log messages
+     */
+    public CompressedImageResult compressImage(InputStreamSource source, String contentType, long sizeBytes,
+                                               String name) throws IOException {
         if (!compressionEnabled) {
-            return new CompressedImageResult(
-                originalFile.getBytes(),
-                originalFile.getContentType(),
-                originalFile.getSize(),
-                false
-            );
+            return CompressedImageResult.original(contentType, sizeBytes);
         }
 
-        long originalSizeKb = originalFile.getSize() / 1024;
-        logger.info("Starting compression for image: {} ({}KB)", originalFile.getOriginalFilename(), originalSizeKb);
-
-        // If already under target size, check if we need to resize for dimensions
-        if (originalSizeKb <= targetSizeKb) {
-            byte[] resizedImage = resizeIfNeeded(originalFile);
-            long resizedSizeKb = resizedImage.length / 1024;
-            
-            if (resizedSizeKb <= targetSizeKb) {
-                logger.info("Image already optimal: {}KB", resizedSizeKb);
-                return new CompressedImageResult(
-                    resizedImage,
-                    getOutputContentType(originalFile.getContentType()),
-                    resizedImage.length,
-                    resizedImage.length < originalFile.getSize()
-                );
+        long originalSizeKb = sizeBytes / 1024;
+        logger.info("Starting compression for image: {} ({}KB)", name, originalSizeKb);
+        long startNanos = System.nanoTime();
+
+        try (InputStream inputStream = source.getInputStream();
+             ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = imageInputStream != null
+                    ? ImageIO.getImageReaders(imageInputStream) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                throw new IOException("Unable to read image file");
             }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+
+                // Dimensions come from the header, nothing is decoded yet
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                long targetSizeBytes = targetSizeKb * 1024;
+                if (sizeBytes <= targetSizeBytes && width <= maxDimension && height <= maxDimension) {
+                    logger.info("Image already optimal: {}KB", originalSizeKb);
+                    return CompressedImageResult.original(contentType, sizeBytes);
+                }
+
+                int bytesPerPixel = decodedBytesPerPixel(reader);
+                int subsampling = computeSubsampling(width, height, bytesPerPixel);
+                int budgetMb = reservedMegabytes(width, height, subsampling, bytesPerPixel);
+                if (!decodeBudget.tryAcquire(budgetMb, DECODE_BUDGET_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new IOException("Image decode memory budget exhausted");
+                }
+                try {
+                    BufferedImage originalImage = decodeSubsampled(reader, width, height, subsampling);
+                    boolean png = "png".equals(getOutputFormat(contentType));
+                    EncodeResult result = encodeToTargetSize(originalImage, png, targetSizeBytes);
+                    long finalSizeKb = result.imageData.length / 1024;
+
+                    encodePassesSummary.record(result.encodePasses);
+                    compressionTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    logger.info("Compression completed: {}KB -> {}KB ({}% reduction) in {} encode passes", 
+                        originalSizeKb, finalSizeKb, 
+                        Math.round(((double)(originalSizeKb - finalSizeKb) / Math.max(1, originalSizeKb)) * 100),
+                        result.encodePasses);
+
+                    return new CompressedImageResult(
+                        result.imageData,
+                        getOutputContentType(contentType),
+                        result.imageData.length,
+                        true
+                    );
+                } finally {
+                    decodeBudget.release(budgetMb);
+                }
+            } finally {
+                reader.dispose();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for image decode memory", e);
         }
+    }
 
-        // Perform iterative compression
-        byte[] compressedImage = performIterativeCompression(originalFile);
-        long finalSizeKb = compressedImage.length / 1024;
+    /**
+     * Smallest whole-pixel subsampling that still leaves at least max-dimension pixels on the
+     * longer side, raised further if the decoded raster would exceed the per-image memory cap
+     */
+    int computeSubsampling(int width, int height, int bytesPerPixel) {
+        int subsampling = Math.max(1, Math.max(width, height) / maxDimension);
+        long maxDecodedBytes = (long) maxDecodedMb << 20;
+        while (decodedBytes(width, height, subsampling, bytesPerPixel) > maxDecodedBytes) {
+            subsampling++;
+        }
+        return subsampling;
+    }
 
-        logger.info("Compression completed: {}KB -> {}KB ({}% reduction)", 
-            originalSizeKb, finalSizeKb, 
-            Math.round(((double)(originalSizeKb - finalSizeKb) / originalSizeKb) * 100));
+    /**
+     * Memory held while one image is compressed, in whole megabytes rounded up: the decoded raster,
+     * the copy scaled to the maximum dimensions (int pixels), and the encoded output with its buffer
+     * copies, which stays below the size of the scaled raster. A single image may take the entire budget.
+     */
+    int reservedMegabytes(int width, int height, int subsampling, int bytesPerPixel) {
+        long decodedWidth = (width + subsampling - 1) / subsampling;
+        long decodedHeight = (height + subsampling - 1) / subsampling;
+        double fitScale = Math.min(1.0, (double) maxDimension / Math.max(decodedWidth, decodedHeight));
+        long scaledBytes = (long) (decodedWidth * fitScale) * (long) (decodedHeight * fitScale) * 4;
+        long reservedBytes = decodedWidth * decodedHeight * bytesPerPixel + scaledBytes + scaledBytes;
+        return (int) Math.min(decodeBudgetMb, Math.max(1, (reservedBytes + (1 << 20) - 1) >> 20));
+    }
 
-        return new CompressedImageResult(
-            compressedImage,
-            getOutputContentType(originalFile.getContentType()),
-            compressedImage.length,
-            true
-        );
+    private static long decodedBytes(int width, int height, int subsampling, int bytesPerPixel) {
+        return (long) ((width + subsampling - 1) / subsampling) * ((height + subsampling - 1) / subsampling) * bytesPerPixel;
     }
 
     /**
-     * Resize image if it exceeds maximum dimensions
+     * Bytes per pixel of the raster the reader decodes into, from its header. 16-bit PNGs take
+     * 8 bytes per pixel, and readers that convert (such as CMYK JPEG) also hold their raw raster.
      */
-    private byte[] resizeIfNeeded(MultipartFile file) throws IOException {
-        try (InputStream inputStream = file.getInputStream()) {
-            BufferedImage originalImage = ImageIO.read(inputStream);
-            
-            if (originalImage == null) {
-                throw new IOException("Unable to read image file");
-            }
+    static int decodedBytesPerPixel(ImageReader reader) throws IOException {
+        int bytesPerPixel = 0;
+        ImageTypeSpecifier rawType = reader.getRawImageType(0);
+        if (rawType != null) {
+            bytesPerPixel = bytesPerPixel(rawType);
+        }
+        // Reading with the default parameters decodes into the first of these types
+        Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+        if (types != null && types.hasNext()) {
+            bytesPerPixel = Math.max(bytesPerPixel, bytesPerPixel(types.next()));
+        }
+        return bytesPerPixel > 0 ? bytesPerPixel : 4;
+    }
 
-            int width = originalImage.getWidth();
-            int height = originalImage.getHeight();
+    private static int bytesPerPixel(ImageTypeSpecifier type) {
+        SampleModel sampleModel = type.getSampleModel();
+        int bits = sampleModel.getNumDataElements() * DataBuffer.getDataTypeSize(sampleModel.getDataType());
+        return (bits + 7) / 8;
+    }
 
-            // Check if resizing is needed
-            if (width <= maxDimension && height <= maxDimension) {
-                return file.getBytes(); // No resizing needed
-            }
+    /**
+     * Decode only every n-th row and column, so a large photo never exists at full resolution in memory
+     */
+    BufferedImage decodeSubsampled(ImageReader reader, int width, int height, int subsampling)
+            throws IOException {
+        ImageReadParam param = reader.getDefaultReadParam();
+        if (subsampling > 1) {
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            logger.info("Decoding {}x{} image with subsampling {}", width, height, subsampling);
+        }
+        BufferedImage image = reader.read(0, param);
+        if (image == null) {
+            throw new IOException("Unable to read image file");
+        }
+        return image;
+    }
 
-            // Calculate new dimensions maintaining aspect ratio
-            double aspectRatio = (double) width / height;
-            int newWidth, newHeight;
+    /**
+     * Scale to the maximum dimensions, then find the highest quality that fits the target size,
+     * reducing the dimensions further only when the lowest quality is still too large
+     */
+    private EncodeResult encodeToTargetSize(BufferedImage originalImage, boolean png, long targetSizeBytes)
+            throws IOException {
+        int width = originalImage.getWidth();
+        int height = originalImage.getHeight();
+        double fitScale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+
+        BufferedImage image = scale(originalImage, (int) (width * fitScale), (int) (height * fitScale), png);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        EncodeResult result = new EncodeResult();
+        double scaleFactor = 1.0;
+
+        // ImageWriter instances are not thread safe and hold native encoder state,
+        // so each image gets its own writer for all its passes and disposes it afterwards
+        ImageWriter jpegWriter = png ? null : ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            for (int scaleStep = 0; ; scaleStep++) {
+                int size = png ? encodePng(image, outputStream, result)
+                        : searchJpegQuality(jpegWriter, image, targetSizeBytes, outputStream, result);
+                if (size <= targetSizeBytes || scaleFactor <= MIN_SCALE_FACTOR || scaleStep == MAX_SCALE_STEPS) {
+                    logger.debug("Encoded {}x{} to {}KB", image.getWidth(), image.getHeight(), size / 1024);
+                    return result;
+                }
 
-            if (width > height) {
-                newWidth = maxDimension;
-                newHeight = (int) (maxDimension / aspectRatio);
-            } else {
-                newHeight = maxDimension;
-                newWidth = (int) (maxDimension * aspectRatio);
+                // Encoded size roughly follows the pixel count, so shrink by the square root of the overshoot
+                scaleFactor = Math.max(MIN_SCALE_FACTOR, scaleFactor * Math.sqrt((double) targetSizeBytes / size) * 0.95);
+                logger.debug("Lowest quality still {}KB, scaling to {}", size / 1024, scaleFactor);
+                image = scale(originalImage, (int) (width * fitScale * scaleFactor), (int) (height * fitScale * scaleFactor), png);
+            }
+        } finally {
+            if (jpegWriter != null) {
+                jpegWriter.dispose();
             }
-
-            logger.info("Resizing image from {}x{} to {}x{}", width, height, newWidth, newHeight);
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            Thumbnails.of(originalImage)
-                    .size(newWidth, newHeight)
-                    .outputFormat(getOutputFormat(file.getContentType()))
-                    .outputQuality(initialQuality)
-                    .toOutputStream(outputStream);
-
-            return outputStream.toByteArray();
         }
     }
 
     /**
-     * Perform iterative compression to reach target file size
+     * Binary search the highest JPEG quality whose output fits the target size
+     *
+     * @return Size of the kept encoding, which is over the target only if even the lowest quality is
      */
-    private byte[] performIterativeCompression(MultipartFile file) throws IOException {
-        try (InputStream inputStream = file.getInputStream()) {
-            BufferedImage originalImage = ImageIO.read(inputStream);
-            
-            if (originalImage == null) {
-                throw new IOException("Unable to read image file");
-            }
+    private int searchJpegQuality(ImageWriter writer, BufferedImage image, long targetSizeBytes,
+                                  ByteArrayOutputStream outputStream, EncodeResult result) throws IOException {
+        float quality = (float) initialQuality;
+        if (encodeJpeg(writer, image, quality, outputStream, result) <= targetSizeBytes) {
+            result.imageData = outputStream.toByteArray();
+            return result.imageData.length;
+        }
 
-            int width = originalImage.getWidth();
-            int height = originalImage.getHeight();
-            
-            // Start with dimension reduction if image is too large
-            if (width > maxDimension || height > maxDimension) {
-                double aspectRatio = (double) width / height;
-                if (width > height) {
-                    width = maxDimension;
-                    height = (int) (maxDimension / aspectRatio);
-                } else {
-                    height = maxDimension;
-                    width = (int) (maxDimension * aspectRatio);
-                }
+        float low = MIN_QUALITY;
+        float high = quality;
+        byte[] best = null;
+        for (int step = 0; step < QUALITY_SEARCH_STEPS; step++) {
+            float mid = (low + high) / 2;
+            if (encodeJpeg(writer, image, mid, outputStream, result) <= targetSizeBytes) {
+                best = outputStream.toByteArray();
+                low = mid;
+            } else {
+                high = mid;
             }
+        }
 
-            double quality = initialQuality;
-            double scaleFactor = 1.0;
-            byte[] compressedImage = null;
-            long targetSizeBytes = targetSizeKb * 1024;
-
-            // Iterative compression with quality and size reduction
-            for (int attempt = 0; attempt < 10; attempt++) {
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                
-                int currentWidth = (int) (width * scaleFactor);
-                int currentHeight = (int) (height * scaleFactor);
-
-                Thumbnails.of(originalImage)
-                        .size(currentWidth, currentHeight)
-                        .outputFormat(getOutputFormat(file.getContentType()))
-                        .outputQuality(quality)
-                        .toOutputStream(outputStream);
-
-                compressedImage = outputStream.toByteArray();
-                long currentSize = compressedImage.length;
-
-                logger.debug("Compression attempt {}: {}x{}, quality={}, size={}KB", 
-                    attempt + 1, currentWidth, currentHeight, quality, currentSize / 1024);
-
-                if (currentSize <= targetSizeBytes) {
-                    logger.info("Target size reached in {} attempts", attempt + 1);
-                    break;
-                }
+        if (best == null) {
+            encodeJpeg(writer, image, MIN_QUALITY, outputStream, result);
+            best = outputStream.toByteArray();
+        }
+        result.imageData = best;
+        return best.length;
+    }
 
-                // Adjust parameters for next iteration
-                if (attempt < 5) {
-                    // First, reduce quality
-                    quality = Math.max(0.3, quality - 0.1);
-                } else {
-                    // Then, reduce dimensions
-                    scaleFactor = Math.max(0.5, scaleFactor - 0.1);
-                    quality = Math.max(0.3, quality - 0.05);
-                }
-            }
+    private int encodeJpeg(ImageWriter writer, BufferedImage image, float quality, ByteArrayOutputStream outputStream,
+                           EncodeResult result) throws IOException {
+        outputStream.reset();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        try (ImageOutputStream imageOutputStream = new MemoryCacheImageOutputStream(outputStream)) {
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.reset();
+        }
+        result.encodePasses++;
+        logger.debug("Encode pass {}: quality={}, size={}KB", result.encodePasses, quality, outputStream.size() / 1024);
+        return outputStream.size();
+    }
+
+    // PNG is lossless, so its size only responds to the dimensions
+    private int encodePng(BufferedImage image, ByteArrayOutputStream outputStream, EncodeResult result) throws IOException {
+        outputStream.reset();
+        ImageIO.write(image, "png", outputStream);
+        result.encodePasses++;
+        result.imageData = outputStream.toByteArray();
+        return result.imageData.length;
+    }
 
-            return compressedImage;
+    private BufferedImage scale(BufferedImage image, int width, int height, boolean png) throws IOException {
+        // The JPEG encoder needs an opaque image
+        boolean needsRgb = !png && image.getColorModel().hasAlpha();
+        if (width == image.getWidth() && height == image.getHeight() && !needsRgb) {
+            return image;
         }
+        return Thumbnails.of(image)
+                .size(Math.max(1, width), Math.max(1, height))
+                .imageType(png ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB)
+                .asBufferedImage();
     }
 
     /**
@@ -222,6 +384,11 @@ public class ImageCompressionUtil {
         return "image/jpeg"; // Default to JPEG
     }
 
+    private static class EncodeResult {
+        private byte[] imageData;
+        private int encodePasses;
+    }
+
     /**
      * Result class for compressed image data
      */
@@ -238,6 +405,17 @@ public class ImageCompressionUtil {
             this.wasCompressed = wasCompressed;
         }
 
+        /**
+         * Result telling the caller to store the original file as it is, streamed from the upload
+         * rather than copied into memory
+         */
+        public static CompressedImageResult original(String contentType, long sizeBytes) {
+            return new CompressedImageResult(null, contentType, sizeBytes, false);
+        }
+
+        /**
+         * @return Compressed bytes, or null if the original file should be stored unchanged
+         */
         public byte[] getImageData() {
             return imageData;
         }
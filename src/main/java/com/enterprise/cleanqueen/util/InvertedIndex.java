@@ -0,0 +1,157 @@
+package com.enterprise.cleanqueen.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-safe in-memory inverted index from word tokens to document IDs.
+ * Tokens are kept sorted, so every query token is matched as a prefix with a
+ * single range lookup instead of a scan over all documents.
+ */
+public class InvertedIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final NavigableMap<String, Set<String>> documentIdsByToken = new TreeMap<>();
+    private final Map<String, IndexedDocument> documentsById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Add a document or replace its previously indexed text
+     *
+     * @param rank Higher ranked documents are returned first, e.g. a creation timestamp
+     */
+    public void put(String documentId, String text, long rank) {
+        Set<String> tokens = tokenize(text);
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(documentId);
+            for (String token : tokens) {
+                documentIdsByToken.computeIfAbsent(token, key -> new HashSet<>()).add(documentId);
+            }
+            documentsById.put(documentId, new IndexedDocument(tokens, rank));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String documentId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(documentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find documents containing a token starting with each of the query's tokens
+     *
+     * @return IDs of at most limit matching documents, highest rank first
+     */
+    public List<String> search(String query, int limit) {
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<String> matches = null;
+            for (String queryToken : queryTokens) {
+                Set<String> tokenMatches = new HashSet<>();
+                for (Set<String> documentIds : documentIdsByToken
+                        .subMap(queryToken, true, queryToken + Character.MAX_VALUE, true).values()) {
+                    if (matches == null) {
+                        tokenMatches.addAll(documentIds);
+                    } else {
+                        // Only documents that matched every previous token can still qualify
+                        for (String documentId : documentIds) {
+                            if (matches.contains(documentId)) {
+                                tokenMatches.add(documentId);
+                            }
+                        }
+                    }
+                }
+                matches = tokenMatches;
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return matches.stream()
+                    .sorted(Comparator.comparingLong((String id) -> documentsById.get(id).rank).reversed())
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Split text into lower-case word tokens without diacritics
+     */
+    public static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : NON_WORD.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void removeUnlocked(String documentId) {
+        IndexedDocument previous = documentsById.remove(documentId);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens) {
+            Set<String> documentIds = documentIdsByToken.get(token);
+            if (documentIds != null) {
+                documentIds.remove(documentId);
+                if (documentIds.isEmpty()) {
+                    documentIdsByToken.remove(token);
+                }
+            }
+        }
+    }
+
+    private static class IndexedDocument {
+        private final List<String> tokens;
+        private final long rank;
+
+        IndexedDocument(Set<String> tokens, long rank) {
+            this.tokens = new ArrayList<>(tokens);
+            this.rank = rank;
+        }
+    }
+}
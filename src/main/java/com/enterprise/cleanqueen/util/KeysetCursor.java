@@ -0,0 +1,64 @@
+package com.enterprise.cleanqueen.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.enterprise.cleanqueen.exception.BusinessException;
+
+/**
+ * Opaque position in a listing ordered by (createdAt, id), handed to clients
+ * as the cursor for the next page of a keyset-paginated endpoint
+ */
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    public KeysetCursor(LocalDateTime createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * Encode this position as a URL-safe token
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     *
+     * @return Decoded position, or null if no cursor was given
+     * @throws BusinessException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new BusinessException("Invalid cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    raw.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Invalid cursor", e);
+        }
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
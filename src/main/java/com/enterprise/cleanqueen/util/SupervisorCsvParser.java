@@ -0,0 +1,119 @@
+package com.enterprise.cleanqueen.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.enterprise.cleanqueen.dto.admin.CreateSupervisorRequest;
+import com.enterprise.cleanqueen.exception.BusinessException;
+
+/**
+ * Parses a supervisor upload in CSV form. The first line is a header naming the
+ * columns (firstName, lastName, email, phoneNumber, in any order and case);
+ * quoted fields may contain commas, doubled quotes and line breaks.
+ */
+@Component
+public class SupervisorCsvParser {
+
+    private static final String FIRST_NAME = "firstname";
+    private static final String LAST_NAME = "lastname";
+    private static final String EMAIL = "email";
+    private static final String PHONE_NUMBER = "phonenumber";
+
+    /**
+     * @return One request per data line, in file order; blank lines are skipped
+     */
+    public List<CreateSupervisorRequest> parse(String csv) {
+        List<List<String>> records = readRecords(csv);
+        if (records.isEmpty()) {
+            throw new BusinessException("CSV header row is required");
+        }
+
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        List<String> header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columnIndexes.put(header.get(i).replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columnIndexes.containsKey(FIRST_NAME) || !columnIndexes.containsKey(EMAIL)) {
+            throw new BusinessException("CSV header must contain firstName and email columns");
+        }
+
+        List<CreateSupervisorRequest> requests = new ArrayList<>(records.size() - 1);
+        for (List<String> record : records.subList(1, records.size())) {
+            requests.add(new CreateSupervisorRequest(
+                    column(record, columnIndexes.get(FIRST_NAME)),
+                    column(record, columnIndexes.get(LAST_NAME)),
+                    column(record, columnIndexes.get(EMAIL)),
+                    column(record, columnIndexes.get(PHONE_NUMBER))
+            ));
+        }
+        return requests;
+    }
+
+    private String column(List<String> record, Integer index) {
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<List<String>> readRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        if (csv == null) {
+            return records;
+        }
+
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        // Skip a UTF-8 byte order mark left by spreadsheet exports
+        int start = csv.startsWith("﻿") ? 1 : 0;
+
+        for (int i = start; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                endRecord(records, record, field);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new BusinessException("CSV contains an unterminated quoted field");
+        }
+        endRecord(records, record, field);
+        return records;
+    }
+
+    private void endRecord(List<List<String>> records, List<String> record, StringBuilder field) {
+        record.add(field.toString());
+        field.setLength(0);
+        boolean blank = record.size() == 1 && record.get(0).isBlank();
+        if (!blank) {
+            records.add(record);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.enterprise.cleanqueen.util;
+
+import com.enterprise.cleanqueen.enums.TaskStatus;
+
+/**
+ * Accumulates changes to a project's denormalized task counters
+ * so they can be applied with a single increment statement
+ */
+public class TaskCounterDelta {
+
+    private int totalTasks;
+    private int completedTasks;
+    private int activeTasks;
+
+    /**
+     * Count a task added to the project
+     */
+    public void add(TaskStatus status) {
+        totalTasks++;
+        adjustForStatus(status, 1);
+    }
+
+    /**
+     * Count a task removed from the project
+     */
+    public void remove(TaskStatus status) {
+        remove(status, 1);
+    }
+
+    /**
+     * Count several tasks with the same status removed from the project
+     */
+    public void remove(TaskStatus status, int count) {
+        totalTasks -= count;
+        adjustForStatus(status, -count);
+    }
+
+    /**
+     * Count a status transition of an existing task
+     */
+    public void changeStatus(TaskStatus previousStatus, TaskStatus newStatus) {
+        adjustForStatus(previousStatus, -1);
+        adjustForStatus(newStatus, 1);
+    }
+
+    public boolean isEmpty() {
+        return totalTasks == 0 && completedTasks == 0 && activeTasks == 0;
+    }
+
+    private void adjustForStatus(TaskStatus status, int amount) {
+        if (status == TaskStatus.COMPLETED) {
+            completedTasks += amount;
+        } else if (status == TaskStatus.IN_PROGRESS) {
+            activeTasks += amount;
+        }
+    }
+
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public int getActiveTasks() {
+        return activeTasks;
+    }
+}
@@ -0,0 +1,121 @@
+package com.enterprise.cleanqueen.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.enterprise.cleanqueen.dto.project.TaskHierarchyRow;
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes a project task hierarchy as JSON directly to an output stream.
+ * Produces the same document as ProjectTaskHierarchyResponse, but only keeps
+ * the chain of currently open tasks in memory, so memory use is bounded by the
+ * depth of the tree rather than its size.
+ * <p>
+ * Follows the same rules as {@link TaskTreeAssembler}: a task is written under its
+ * nearest active ancestor on its materialized path, or as a root if none is left,
+ * and siblings are written in materialized path order
+ * ({@link TaskTreeAssembler#HIERARCHY_ORDER}).
+ */
+@Component
+public class TaskHierarchyStreamWriter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Write the hierarchy of a project
+     *
+     * @param project The project being written
+     * @param rows Tasks of the project ordered by materialized path, so every task
+     *             directly follows its parent or a previous sibling's subtree
+     * @param outputStream Target stream, left open
+     */
+    public void write(Project project, Iterator<TaskHierarchyRow> rows, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeStringField("message", "Streamed task hierarchy for project " + project.getId());
+
+            generator.writeObjectFieldStart("project");
+            generator.writeStringField("projectId", project.getId());
+            generator.writeStringField("projectCode", project.getProjectCode());
+            generator.writeStringField("projectName", project.getName());
+            generator.writeStringField("description", project.getDescription());
+            generator.writeObjectField("status", project.getStatus());
+
+            generator.writeArrayFieldStart("rootTasks");
+            Deque<String> openTaskPaths = new ArrayDeque<>();
+            int totalTasks = 0;
+            int completedTasks = 0;
+
+            while (rows.hasNext()) {
+                TaskHierarchyRow row = rows.next();
+
+                // Close every open task that is not an ancestor of this one, so a task
+                // below a deleted parent ends up under its nearest active ancestor
+                while (!openTaskPaths.isEmpty() && !row.getPath().startsWith(openTaskPaths.peek())) {
+                    writeTaskEnd(generator);
+                    openTaskPaths.pop();
+                }
+
+                writeTaskStart(generator, row);
+                openTaskPaths.push(row.getPath());
+
+                totalTasks++;
+                if (row.getStatus() == TaskStatus.COMPLETED) {
+                    completedTasks++;
+                }
+            }
+            while (!openTaskPaths.isEmpty()) {
+                writeTaskEnd(generator);
+                openTaskPaths.pop();
+            }
+            generator.writeEndArray();
+
+            generator.writeNumberField("totalTasks", totalTasks);
+            generator.writeNumberField("completedTasks", completedTasks);
+            generator.writeObjectField("createdAt", project.getCreatedAt());
+            generator.writeObjectField("updatedAt", project.getUpdatedAt());
+            generator.writeEndObject();
+
+            generator.writeObjectField("timestamp", LocalDateTime.now());
+            generator.writeEndObject();
+        }
+    }
+
+    // Writes the task's fields and opens its subtasks array, in TaskHierarchy property order
+    private void writeTaskStart(JsonGenerator generator, TaskHierarchyRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("taskId", row.getTaskId());
+        generator.writeStringField("taskName", row.getTaskName());
+        generator.writeStringField("description", row.getDescription());
+        generator.writeObjectField("status", row.getStatus());
+        generator.writeObjectField("priority", row.getPriority());
+        generator.writeNullField("estimatedHours"); // not in entity
+        generator.writeNullField("assignedUserId"); // not in entity
+        generator.writeNullField("assignedUserName"); // not in entity
+        generator.writeNullField("dueDate"); // only projects have due dates
+        generator.writeObjectField("averageRating", row.getAverageRating());
+        generator.writeObjectField("createdAt", row.getCreatedAt());
+        generator.writeObjectField("updatedAt", row.getUpdatedAt());
+        generator.writeArrayFieldStart("subtasks");
+    }
+
+    private void writeTaskEnd(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,95 @@
+package com.enterprise.cleanqueen.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.enterprise.cleanqueen.entity.Task;
+
+/**
+ * Recomputes the running rating sums of a project's tasks from their children,
+ * for writes that change the tree structure rather than a single rating.
+ * Averages are left as they are; they only change when a review is propagated.
+ */
+public class TaskRatingAggregates {
+
+    private final List<Task> changedTasks = new ArrayList<>();
+    private double rootRatingSum;
+    private int ratedRootCount;
+    private int rootCount;
+
+    private TaskRatingAggregates() {}
+
+    /**
+     * @param tasks All active tasks of one project
+     * @return The project's root task sums and the tasks whose sums changed
+     */
+    public static TaskRatingAggregates recompute(Collection<Task> tasks) {
+        Map<String, Sums> sumsByTaskId = new HashMap<>();
+        for (Task task : tasks) {
+            sumsByTaskId.put(task.getId(), new Sums());
+        }
+
+        TaskRatingAggregates aggregates = new TaskRatingAggregates();
+        for (Task task : tasks) {
+            Float rating = task.getAverageRating();
+            Sums parentSums = task.getParentId() != null ? sumsByTaskId.get(task.getParentId()) : null;
+            if (parentSums != null) {
+                parentSums.add(rating);
+            } else {
+                // Tasks whose parent was deleted are rated into the project like root tasks
+                aggregates.rootCount++;
+                if (rating != null) {
+                    aggregates.ratedRootCount++;
+                    aggregates.rootRatingSum += rating;
+                }
+            }
+        }
+
+        for (Task task : tasks) {
+            Sums sums = sumsByTaskId.get(task.getId());
+            if (!Objects.equals(task.getChildCount(), sums.childCount)
+                    || !Objects.equals(task.getRatedChildCount(), sums.ratedChildCount)
+                    || !Objects.equals(task.getRatingSum(), sums.ratingSum)) {
+                task.setChildCount(sums.childCount);
+                task.setRatedChildCount(sums.ratedChildCount);
+                task.setRatingSum(sums.ratingSum);
+                aggregates.changedTasks.add(task);
+            }
+        }
+        return aggregates;
+    }
+
+    public List<Task> getChangedTasks() {
+        return changedTasks;
+    }
+
+    public double getRootRatingSum() {
+        return rootRatingSum;
+    }
+
+    public int getRatedRootCount() {
+        return ratedRootCount;
+    }
+
+    public int getRootCount() {
+        return rootCount;
+    }
+
+    private static class Sums {
+        private int childCount;
+        private int ratedChildCount;
+        private double ratingSum;
+
+        void add(Float rating) {
+            childCount++;
+            if (rating != null) {
+                ratedChildCount++;
+                ratingSum += rating;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.enterprise.cleanqueen.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.enterprise.cleanqueen.dto.project.ProjectTaskHierarchyResponse;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+
+/**
+ * Builds the task hierarchy of a project from a flat list of its tasks.
+ * All tasks are indexed by parent ID in memory, so the whole tree is assembled
+ * without any further database access.
+ * <p>
+ * Follows the same rules as {@link TaskHierarchyStreamWriter}, so both endpoints
+ * return the same tree: a task is listed under its nearest active ancestor on its
+ * materialized path, so a task whose parent was deleted moves up to the parent's
+ * parent, or becomes a root if no ancestor is left; siblings are listed in
+ * materialized path order.
+ */
+@Component
+public class TaskTreeAssembler {
+
+    /**
+     * Materialized path order, the order the streamed hierarchy is read in. Task IDs
+     * are upper-case alphanumeric, so this matches the database's ordering of the path
+     * column; tasks not indexed yet follow by ID.
+     */
+    public static final Comparator<Task> HIERARCHY_ORDER = Comparator
+            .comparing(Task::getPath, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(Task::getId);
+
+    /**
+     * Assemble the task tree and its statistics
+     *
+     * @param tasks All tasks of one project, in any order
+     * @return AssembledTaskTree containing the root tasks and task statistics
+     */
+    public AssembledTaskTree assemble(List<Task> tasks) {
+        Set<String> taskIds = new HashSet<>(tasks.size() * 2);
+        for (Task task : tasks) {
+            taskIds.add(task.getId());
+        }
+
+        List<Task> orderedTasks = new ArrayList<>(tasks);
+        orderedTasks.sort(HIERARCHY_ORDER);
+
+        Map<String, List<Task>> childrenByParentId = new HashMap<>();
+        List<Task> rootTasks = new ArrayList<>();
+        for (Task task : orderedTasks) {
+            String parentId = findListedParentId(task, taskIds);
+            if (parentId == null) {
+                rootTasks.add(task);
+            } else {
+                childrenByParentId.computeIfAbsent(parentId, key -> new ArrayList<>()).add(task);
+            }
+        }
+
+        // Statistics count exactly the tasks placed in the tree
+        TaskCounts counts = new TaskCounts();
+        List<ProjectTaskHierarchyResponse.TaskHierarchy> rootHierarchies = new ArrayList<>(rootTasks.size());
+        for (Task rootTask : rootTasks) {
+            rootHierarchies.add(buildTaskHierarchy(rootTask, childrenByParentId, counts));
+        }
+
+        return new AssembledTaskTree(rootHierarchies, counts.total, counts.completed);
+    }
+
+    // Nearest ancestor among the loaded tasks, or null for a root
+    private String findListedParentId(Task task, Set<String> taskIds) {
+        if (task.getPath() == null) {
+            // Not indexed yet, only the direct parent is known
+            return task.getParentId() != null && taskIds.contains(task.getParentId()) ? task.getParentId() : null;
+        }
+        for (String ancestorId : task.getAncestorIds()) {
+            if (taskIds.contains(ancestorId)) {
+                return ancestorId;
+            }
+        }
+        return null;
+    }
+
+    private ProjectTaskHierarchyResponse.TaskHierarchy buildTaskHierarchy(Task task,
+            Map<String, List<Task>> childrenByParentId, TaskCounts counts) {
+        counts.total++;
+        if (task.getStatus() == TaskStatus.COMPLETED) {
+            counts.completed++;
+        }
+
+        List<Task> subtasks = childrenByParentId.getOrDefault(task.getId(), Collections.emptyList());
+        List<ProjectTaskHierarchyResponse.TaskHierarchy> subtaskHierarchies = new ArrayList<>(subtasks.size());
+        for (Task subtask : subtasks) {
+            subtaskHierarchies.add(buildTaskHierarchy(subtask, childrenByParentId, counts));
+        }
+
+        // Since tasks don't have assignment info in the current entity,
+        // we'll set these to null for now
+        return new ProjectTaskHierarchyResponse.TaskHierarchy(
+            task.getId(),
+            task.getName(),
+            task.getDescription(),
+            task.getStatus(),
+            task.getPriority(),
+            null, // estimatedHours - not in entity
+            null, // assignedUserId - not in entity
+            null, // assignedUserName - not in entity
+            null, // dueDate - removed from tasks, only projects have due dates
+            task.getAverageRating(),
+            task.getCreatedAt(),
+            task.getUpdatedAt(),
+            subtaskHierarchies
+        );
+    }
+
+    private static class TaskCounts {
+        private int total;
+        private int completed;
+    }
+
+    /**
+     * Result class for an assembled task tree
+     */
+    public static class AssembledTaskTree {
+        private final List<ProjectTaskHierarchyResponse.TaskHierarchy> rootTasks;
+        private final int totalTasks;
+        private final int completedTasks;
+
+        public AssembledTaskTree(List<ProjectTaskHierarchyResponse.TaskHierarchy> rootTasks,
+                int totalTasks, int completedTasks) {
+            this.rootTasks = rootTasks;
+            this.totalTasks = totalTasks;
+            this.completedTasks = completedTasks;
+        }
+
+        public List<ProjectTaskHierarchyResponse.TaskHierarchy> getRootTasks() {
+            return rootTasks;
+        }
+
+        public int getTotalTasks() {
+            return totalTasks;
+        }
+
+        public int getCompletedTasks() {
+            return completedTasks;
+        }
+    }
+}
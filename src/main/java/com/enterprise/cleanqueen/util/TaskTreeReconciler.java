@@ -0,0 +1,193 @@
+package com.enterprise.cleanqueen.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.enterprise.cleanqueen.dto.project.TaskUpdateRequest;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+
+/**
+ * Computes the difference between a project's stored tasks and a requested task tree.
+ * Existing tasks are keyed by ID and changed in place only when a field differs,
+ * so unchanged tasks produce no writes at all.
+ */
+@Component
+public class TaskTreeReconciler {
+
+    @Autowired
+    private CodeGenerator codeGenerator;
+
+    /**
+     * Reconcile the requested task tree against the already-loaded tasks of a project
+     *
+     * @param taskRequests Requested root tasks with their subtasks
+     * @param projectId Project the tasks belong to
+     * @param existingTasks All tasks currently stored for the project
+     * @return TaskTreeChanges containing the insert, update and delete sets
+     */
+    public TaskTreeChanges reconcile(List<TaskUpdateRequest> taskRequests, String projectId, List<Task> existingTasks) {
+        Map<String, Task> existingTasksById = new LinkedHashMap<>();
+        for (Task task : existingTasks) {
+            existingTasksById.put(task.getId(), task);
+        }
+
+        TaskTreeChanges changes = new TaskTreeChanges();
+        Set<String> usedTaskIds = new HashSet<>(existingTasksById.keySet());
+        Set<String> retainedTaskIds = new HashSet<>();
+
+        reconcileLevel(taskRequests, projectId, null, existingTasksById, usedTaskIds, retainedTaskIds, changes);
+
+        // Tasks not included in the request are removed
+        for (Task task : existingTasks) {
+            if (!retainedTaskIds.contains(task.getId())) {
+                changes.tasksToDelete.add(task);
+                if (Boolean.TRUE.equals(task.getIsActive())) {
+                    changes.counterDelta.remove(task.getStatus());
+                }
+            }
+        }
+
+        return changes;
+    }
+
+    private void reconcileLevel(List<TaskUpdateRequest> taskRequests, String projectId, Task parentTask,
+            Map<String, Task> existingTasksById, Set<String> usedTaskIds, Set<String> retainedTaskIds,
+            TaskTreeChanges changes) {
+        if (taskRequests == null || taskRequests.isEmpty()) {
+            return;
+        }
+
+        for (TaskUpdateRequest taskRequest : taskRequests) {
+            TaskStatus status = taskRequest.getStatus() != null ? taskRequest.getStatus() : TaskStatus.PENDING_ASSIGNMENT;
+            TaskPriority priority = taskRequest.getPriority() != null ? taskRequest.getPriority() : TaskPriority.MEDIUM;
+            // An ID is only matched once; repeated or unknown IDs become new tasks
+            Task existingTask = taskRequest.getId() != null && !retainedTaskIds.contains(taskRequest.getId())
+                    ? existingTasksById.get(taskRequest.getId()) : null;
+
+            Task task;
+            if (existingTask == null) {
+                // Create new task
+                String taskId;
+                do {
+                    taskId = codeGenerator.generateTaskId();
+                } while (!usedTaskIds.add(taskId));
+
+                task = new Task();
+                task.setId(taskId);
+                task.setName(taskRequest.getName());
+                task.setDescription(taskRequest.getDescription());
+                task.setStatus(status);
+                task.setPriority(priority);
+                task.setProjectId(projectId);
+                task.placeUnder(parentTask);
+                changes.tasksToInsert.add(task);
+                changes.counterDelta.add(status);
+            } else {
+                // Update existing task only if something differs
+                task = existingTask;
+                retainedTaskIds.add(task.getId());
+                TaskStatus previousStatus = task.getStatus();
+                if (applyChanges(task, taskRequest, status, priority, parentTask)) {
+                    changes.tasksToUpdate.add(task);
+                    if (Boolean.TRUE.equals(task.getIsActive())) {
+                        changes.counterDelta.changeStatus(previousStatus, status);
+                    }
+                }
+            }
+
+            // Process subtasks below their parent
+            reconcileLevel(taskRequest.getSubtasks(), projectId, task, existingTasksById,
+                    usedTaskIds, retainedTaskIds, changes);
+        }
+    }
+
+    private boolean applyChanges(Task task, TaskUpdateRequest taskRequest, TaskStatus status,
+            TaskPriority priority, Task parentTask) {
+        boolean changed = false;
+
+        if (!Objects.equals(task.getName(), taskRequest.getName())) {
+            task.setName(taskRequest.getName());
+            changed = true;
+        }
+        if (!Objects.equals(task.getDescription(), taskRequest.getDescription())) {
+            task.setDescription(taskRequest.getDescription());
+            changed = true;
+        }
+        if (task.getStatus() != status) {
+            task.setStatus(status);
+            changed = true;
+        }
+        if (task.getPriority() != priority) {
+            task.setPriority(priority);
+            changed = true;
+        }
+
+        // A moved task, or a task whose ancestor moved, gets a new path. Below a parent that is
+        // not indexed yet the task stays unindexed too, so only its parent link is compared there.
+        String expectedParentId = parentTask != null ? parentTask.getId() : null;
+        boolean moved = !Objects.equals(task.getParentId(), expectedParentId);
+        if (!moved && (parentTask == null || isIndexed(parentTask))) {
+            String expectedPath = (parentTask != null ? parentTask.getPath() : "/") + task.getId() + "/";
+            Integer expectedDepth = parentTask != null ? parentTask.getDepth() + 1 : 0;
+            moved = !Objects.equals(task.getPath(), expectedPath) || !Objects.equals(task.getDepth(), expectedDepth);
+        }
+        if (moved) {
+            task.placeUnder(parentTask);
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    // Same condition as Task#placeUnder uses to index a child below its parent
+    private static boolean isIndexed(Task task) {
+        return task.getPath() != null && task.getDepth() != null;
+    }
+
+    /**
+     * Result class for a reconciled task tree
+     */
+    public static class TaskTreeChanges {
+        private final List<Task> tasksToInsert = new ArrayList<>();
+        private final List<Task> tasksToUpdate = new ArrayList<>();
+        private final List<Task> tasksToDelete = new ArrayList<>();
+        private final TaskCounterDelta counterDelta = new TaskCounterDelta();
+
+        public List<Task> getTasksToInsert() {
+            return tasksToInsert;
+        }
+
+        public List<Task> getTasksToUpdate() {
+            return tasksToUpdate;
+        }
+
+        public List<Task> getTasksToDelete() {
+            return tasksToDelete;
+        }
+
+        /**
+         * Change to the project's task counters caused by these changes
+         */
+        public TaskCounterDelta getCounterDelta() {
+            return counterDelta;
+        }
+
+        public List<String> getTaskIdsToDelete() {
+            List<String> taskIds = new ArrayList<>(tasksToDelete.size());
+            for (Task task : tasksToDelete) {
+                taskIds.add(task.getId());
+            }
+            return taskIds;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.enterprise.cleanqueen.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.enterprise.cleanqueen.dto.project.ProjectTaskHierarchyResponse;
+import com.enterprise.cleanqueen.dto.project.ProjectTaskReviewsResponse;
+import com.enterprise.cleanqueen.exception.ResourceNotFoundException;
+import com.enterprise.cleanqueen.service.ProjectService;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectControllerTest {
+
+    private static final String PROJECT_ID = "PRJ001";
+    private static final String TASKS_ETAG = "\"tasks-1-1700000000000-7\"";
+
+    @Mock
+    private ProjectService projectService;
+
+    @InjectMocks
+    private ProjectController projectController;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ServletWebRequest webRequest;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/projects/" + PROJECT_ID + "/tasks");
+        response = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, response);
+    }
+
+    @Test
+    void currentClientCopyIsAnsweredWith304WithoutLoadingTheHierarchy() {
+        request.addHeader("If-None-Match", TASKS_ETAG);
+        when(projectService.getProjectTaskHierarchyETag(PROJECT_ID)).thenReturn(TASKS_ETAG);
+
+        ResponseEntity<?> result = projectController.getProjectTaskHierarchy(PROJECT_ID, webRequest);
+
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+        assertEquals(TASKS_ETAG, response.getHeader("ETag"));
+        verify(projectService, never()).getProjectTaskHierarchy(anyString());
+    }
+
+    @Test
+    void staleClientCopyGetsTheHierarchyWithTheCurrentETag() {
+        request.addHeader("If-None-Match", "\"tasks-1-1700000000000-6\"");
+        ProjectTaskHierarchyResponse hierarchy = new ProjectTaskHierarchyResponse(true, "Retrieved",
+                new ProjectTaskHierarchyResponse.ProjectDetails());
+        when(projectService.getProjectTaskHierarchyETag(PROJECT_ID)).thenReturn(TASKS_ETAG);
+        when(projectService.getProjectTaskHierarchy(PROJECT_ID)).thenReturn(hierarchy);
+
+        ResponseEntity<?> result = projectController.getProjectTaskHierarchy(PROJECT_ID, webRequest);
+
+        assertEquals(200, result.getStatusCode().value());
+        assertEquals(TASKS_ETAG, result.getHeaders().getETag());
+        assertSame(hierarchy, result.getBody());
+    }
+
+    @Test
+    void unknownProjectGetsNoValidatorAndTheRegularLookup() {
+        request.addHeader("If-None-Match", "*");
+        RuntimeException notFound = new RuntimeException("Project not found with ID: " + PROJECT_ID);
+        when(projectService.getProjectTaskHierarchyETag(PROJECT_ID)).thenReturn(null);
+        when(projectService.getProjectTaskHierarchy(PROJECT_ID)).thenThrow(notFound);
+
+        // A wildcard If-None-Match must not turn a missing project into a 304
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> projectController.getProjectTaskHierarchy(PROJECT_ID, webRequest));
+
+        assertSame(notFound, e);
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void unchangedStreamIsAnsweredWith304BeforeIndexingOrStreaming() throws Exception {
+        request.addHeader("If-None-Match", TASKS_ETAG);
+        when(projectService.getProjectTaskHierarchyETag(PROJECT_ID)).thenReturn(TASKS_ETAG);
+
+        ResponseEntity<StreamingResponseBody> result = projectController.streamProjectTaskHierarchy(PROJECT_ID, webRequest);
+
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+        verify(projectService, never()).indexTaskHierarchy(anyString());
+        verify(projectService, never()).streamProjectTaskHierarchy(anyString(), any());
+    }
+
+    @Test
+    void streamOfUnknownProjectIsRejectedBeforeTheResponseIsCommitted() {
+        when(projectService.getProjectTaskHierarchyETag(PROJECT_ID)).thenReturn(null);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> projectController.streamProjectTaskHierarchy(PROJECT_ID, webRequest));
+
+        verify(projectService, never()).indexTaskHierarchy(anyString());
+    }
+
+    @Test
+    void changedStreamCarriesTheETagAndIndexesFirst() {
+        when(projectService.getProjectTaskHierarchyETag(PROJECT_ID)).thenReturn(TASKS_ETAG);
+
+        ResponseEntity<StreamingResponseBody> result = projectController.streamProjectTaskHierarchy(PROJECT_ID, webRequest);
+
+        assertEquals(200, result.getStatusCode().value());
+        assertEquals(TASKS_ETAG, result.getHeaders().getETag());
+        verify(projectService).indexTaskHierarchy(PROJECT_ID);
+    }
+
+    @Test
+    void reviewPageValidatorIsLookedUpForTheRequestedPage() {
+        String eTag = "\"reviews-reviewed-20-abc-1-1700000000000-7\"";
+        request.addHeader("If-None-Match", eTag);
+        when(projectService.getProjectTaskReviewsETag(PROJECT_ID, true, "abc", 20)).thenReturn(eTag);
+
+        ResponseEntity<?> result = projectController.getProjectTaskReviews(PROJECT_ID, true, "abc", 20, webRequest);
+
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+        verify(projectService, never()).getProjectTaskReviews(anyString(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    void reviewPageIsReturnedWithItsETagWhenTheClientHasNone() {
+        String eTag = "\"reviews-50-1-1700000000000-7\"";
+        ProjectTaskReviewsResponse reviews = new ProjectTaskReviewsResponse();
+        when(projectService.getProjectTaskReviewsETag(PROJECT_ID, false, null, null)).thenReturn(eTag);
+        when(projectService.getProjectTaskReviews(PROJECT_ID, false, null, null)).thenReturn(reviews);
+
+        ResponseEntity<?> result = projectController.getProjectTaskReviews(PROJECT_ID, false, null, null, webRequest);
+
+        assertEquals(eTag, result.getHeaders().getETag());
+        assertSame(reviews, result.getBody());
+    }
+}
@@ -0,0 +1,90 @@
+package com.enterprise.cleanqueen.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.enterprise.cleanqueen.enums.TaskPriority;
+
+class TaskTest {
+
+    @Test
+    void placeUnderBuildsPathAndDepthFromParent() {
+        Task root = task("ROOT0001");
+        root.placeUnder(null);
+        Task child = task("CHILD001");
+        child.placeUnder(root);
+        Task grandchild = task("GRAND001");
+        grandchild.placeUnder(child);
+
+        assertEquals("/ROOT0001/", root.getPath());
+        assertEquals(0, root.getDepth());
+        assertEquals("/ROOT0001/CHILD001/GRAND001/", grandchild.getPath());
+        assertEquals(2, grandchild.getDepth());
+        assertEquals("CHILD001", grandchild.getParentId());
+        assertEquals(List.of("CHILD001", "ROOT0001"), grandchild.getAncestorIds());
+    }
+
+    @Test
+    void placeUnderUnindexedParentLeavesTaskForBackfill() {
+        // A legacy row loaded before the backfill reached its project
+        Task legacyParent = task("LEGACY01");
+
+        Task child = task("CHILD001");
+        child.placeUnder(legacyParent);
+
+        assertEquals("LEGACY01", child.getParentId());
+        assertNull(child.getPath());
+        assertNull(child.getDepth());
+        assertEquals(List.of(), child.getAncestorIds());
+    }
+
+    @Test
+    void ratingChangesKeepRunningSumsAndAverage() {
+        Task parent = task("PARENT01");
+        parent.setChildCount(2);
+
+        parent.applyChildRatingChange(null, 4.0f);
+        assertFalse(parent.hasAllChildrenRated());
+        parent.applyChildRatingChange(null, 2.0f);
+        parent.applyChildRatingChange(2.0f, 5.0f);
+
+        assertTrue(parent.hasAllChildrenRated());
+        assertEquals(2, parent.getRatedChildCount());
+        assertEquals(9.0, parent.getRatingSum());
+        assertEquals(4.5f, parent.getChildRatingAverage());
+
+        parent.removeChild(5.0f);
+        assertEquals(1, parent.getChildCount());
+        assertEquals(1, parent.getRatedChildCount());
+        assertEquals(4.0, parent.getRatingSum());
+    }
+
+    @Test
+    void legacyRowWithoutRunningSumsIsTreatedAsEmpty() {
+        // Loaded before the backfill recomputed the sums of its project
+        Task legacy = task("LEGACY01");
+        legacy.setRatingSum(null);
+        legacy.setRatedChildCount(null);
+        legacy.setChildCount(null);
+
+        assertFalse(legacy.hasAllChildrenRated());
+
+        legacy.applyChildRatingChange(null, 3.0f);
+        assertEquals(1, legacy.getRatedChildCount());
+        assertEquals(3.0, legacy.getRatingSum());
+
+        legacy.removeChild(3.0f);
+        assertEquals(0, legacy.getRatedChildCount());
+        assertEquals(0.0, legacy.getRatingSum());
+    }
+
+    private static Task task(String id) {
+        return new Task(id, "Task " + id, null, TaskPriority.MEDIUM, "PRJ001", null);
+    }
+}
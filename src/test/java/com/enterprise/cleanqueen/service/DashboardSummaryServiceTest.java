@@ -0,0 +1,169 @@
+package com.enterprise.cleanqueen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.entity.DashboardCounter;
+import com.enterprise.cleanqueen.entity.DashboardCounterDelta;
+import com.enterprise.cleanqueen.enums.ProjectStatus;
+import com.enterprise.cleanqueen.enums.Role;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+import com.enterprise.cleanqueen.repository.CleaningRequestRepository;
+import com.enterprise.cleanqueen.repository.DashboardCounterDeltaRepository;
+import com.enterprise.cleanqueen.repository.DashboardCounterRepository;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.ReviewRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+import com.enterprise.cleanqueen.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardSummaryServiceTest {
+
+    @Mock
+    private DashboardCounterRepository dashboardCounterRepository;
+
+    @Mock
+    private DashboardCounterDeltaRepository dashboardCounterDeltaRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private CleaningRequestRepository cleaningRequestRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Test
+    void writersOnlyInsertDeltasAndNeverTouchTheCounterRows() {
+        dashboardSummaryService.reviewCreated(4);
+        dashboardSummaryService.projectStatusChanged(ProjectStatus.PENDING_ASSIGNMENT, ProjectStatus.IN_PROGRESS);
+        dashboardSummaryService.adjustUnratedCompletedTasks(0);
+
+        ArgumentCaptor<DashboardCounterDelta> saved = ArgumentCaptor.forClass(DashboardCounterDelta.class);
+        verify(dashboardCounterDeltaRepository, times(4)).save(saved.capture());
+        List<String> recorded = saved.getAllValues().stream()
+                .map(delta -> delta.getKey() + "=" + delta.getDelta())
+                .toList();
+        assertEquals(List.of("reviews.count=1", "reviews.ratingSum=4",
+                "projects.PENDING_ASSIGNMENT=-1", "projects.IN_PROGRESS=1"), recorded);
+        verifyNoInteractions(dashboardCounterRepository);
+    }
+
+    @Test
+    void pendingDeltasAreSummedPerCounterAndAppliedInKeyOrder() {
+        runTransactionCallbacks();
+        ReflectionTestUtils.setField(dashboardSummaryService, "deltasPerPoll", 100);
+        List<DashboardCounterDelta> deltas = List.of(
+                new DashboardCounterDelta("reviews.ratingSum", 5L),
+                new DashboardCounterDelta("reviews.count", 1L),
+                new DashboardCounterDelta("projects.IN_PROGRESS", 1L),
+                new DashboardCounterDelta("reviews.ratingSum", 3L),
+                new DashboardCounterDelta("reviews.count", 1L),
+                new DashboardCounterDelta("projects.IN_PROGRESS", -1L));
+        when(dashboardCounterDeltaRepository.findOldestForUpdate(any())).thenReturn(deltas);
+
+        assertEquals(6, dashboardSummaryService.applyPendingDeltas());
+
+        InOrder inOrder = inOrder(dashboardCounterRepository, dashboardCounterDeltaRepository);
+        inOrder.verify(dashboardCounterRepository).adjustValue("reviews.count", 2);
+        inOrder.verify(dashboardCounterRepository).adjustValue("reviews.ratingSum", 8);
+        inOrder.verify(dashboardCounterDeltaRepository).deleteAllInBatch(deltas);
+        // Changes that cancel out leave the counter row unlocked
+        verify(dashboardCounterRepository, never()).adjustValue(eq("projects.IN_PROGRESS"), anyLong());
+    }
+
+    @Test
+    void failedApplyKeepsDeltasPending() {
+        when(transactionTemplate.execute(any())).thenThrow(new RuntimeException("Deadlock found"));
+
+        assertEquals(0, dashboardSummaryService.applyPendingDeltas());
+
+        verify(dashboardCounterDeltaRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void reconcileCorrectsDriftByIncrementRelativeToPendingDeltas() {
+        stubActualCounts(10, 40);
+        // 9 applied + 1 pending matches the recount; the rating sum is 2 short of it
+        when(dashboardCounterRepository.findAll()).thenReturn(List.of(
+                new DashboardCounter("reviews.count", 9L),
+                new DashboardCounter("reviews.ratingSum", 35L)));
+        List<Object[]> pending = new ArrayList<>();
+        pending.add(new Object[] {"reviews.count", 1L});
+        pending.add(new Object[] {"reviews.ratingSum", 3L});
+        when(dashboardCounterDeltaRepository.sumByKey()).thenReturn(pending);
+
+        assertEquals(1, dashboardSummaryService.reconcileCounters());
+
+        verify(dashboardCounterRepository).adjustValue("reviews.ratingSum", 2);
+        verify(dashboardCounterRepository, never()).adjustValue(eq("reviews.count"), anyLong());
+        verify(dashboardCounterRepository, never()).save(any());
+    }
+
+    @Test
+    void reconcileCreatesMissingCountersWithoutReportingDrift() {
+        stubActualCounts(3, 12);
+        when(dashboardCounterRepository.findAll()).thenReturn(List.of());
+        when(dashboardCounterDeltaRepository.sumByKey()).thenReturn(List.of());
+
+        assertEquals(0, dashboardSummaryService.reconcileCounters());
+
+        verify(dashboardCounterRepository).adjustValue("reviews.count", 3);
+        verify(dashboardCounterRepository).adjustValue("reviews.ratingSum", 12);
+        // Counters whose value is zero need no row
+        verify(dashboardCounterRepository, never()).adjustValue(eq("supervisors.active"), anyLong());
+        verify(dashboardCounterRepository, never()).adjustValue(startsWith("projects."), anyLong());
+        verify(dashboardCounterRepository, never()).adjustValue(anyString(), eq(0L));
+    }
+
+    private void stubActualCounts(long reviewCount, long ratingSum) {
+        when(projectRepository.countByStatus()).thenReturn(List.of());
+        when(cleaningRequestRepository.countByStatus()).thenReturn(List.of());
+        when(userRepository.countByRoleAndIsActive(Role.SUPERVISOR, true)).thenReturn(0L);
+        when(taskRepository.countByStatusAndAverageRatingIsNullAndIsActiveTrue(TaskStatus.COMPLETED)).thenReturn(0L);
+        when(reviewRepository.count()).thenReturn(reviewCount);
+        when(reviewRepository.sumRatings()).thenReturn(ratingSum);
+    }
+
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
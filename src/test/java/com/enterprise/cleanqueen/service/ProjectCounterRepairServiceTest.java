@@ -0,0 +1,104 @@
+package com.enterprise.cleanqueen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.dto.project.ProjectTaskStatistics;
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectCounterRepairServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ProjectCounterRepairService repairService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void driftConfirmedUnderLockIsRepairedFromLockedRecount() {
+        when(taskRepository.findTaskStatisticsForAllProjects()).thenReturn(List.of(stats("PRJ001", 5, 1, 1)));
+        when(projectRepository.findAllTaskCounters()).thenReturn(List.of(stats("PRJ001", 4, 1, 1)));
+        when(projectRepository.findByIdForUpdate("PRJ001")).thenReturn(Optional.of(project("PRJ001", 4, 1, 1)));
+        when(taskRepository.findTaskStatisticsByProjectId("PRJ001")).thenReturn(Optional.of(stats("PRJ001", 6, 2, 1)));
+
+        assertEquals(1, repairService.repairTaskCounters());
+
+        // Values come from the count taken after the lock, not from the unlocked scan
+        InOrder order = inOrder(projectRepository, taskRepository);
+        order.verify(projectRepository).findByIdForUpdate("PRJ001");
+        order.verify(taskRepository).findTaskStatisticsByProjectId("PRJ001");
+        order.verify(projectRepository).setTaskCounters("PRJ001", 6, 2, 1);
+    }
+
+    @Test
+    void suspectResolvedByDeltaInFlightIsLeftAlone() {
+        when(taskRepository.findTaskStatisticsForAllProjects()).thenReturn(List.of(stats("PRJ001", 5, 0, 0)));
+        when(projectRepository.findAllTaskCounters()).thenReturn(List.of(stats("PRJ001", 4, 0, 0)));
+        // The writer's counter delta committed before the lock was granted
+        when(projectRepository.findByIdForUpdate("PRJ001")).thenReturn(Optional.of(project("PRJ001", 5, 0, 0)));
+        when(taskRepository.findTaskStatisticsByProjectId("PRJ001")).thenReturn(Optional.of(stats("PRJ001", 5, 0, 0)));
+
+        assertEquals(0, repairService.repairTaskCounters());
+        verify(projectRepository, never()).setTaskCounters(anyString(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void failingProjectDoesNotStopTheRun() {
+        when(taskRepository.findTaskStatisticsForAllProjects()).thenReturn(List.of());
+        when(projectRepository.findAllTaskCounters())
+                .thenReturn(List.of(stats("PRJ001", 1, 0, 0), stats("PRJ002", 2, 0, 0)));
+        when(projectRepository.findByIdForUpdate("PRJ001")).thenThrow(new RuntimeException("Lock wait timeout"));
+        when(projectRepository.findByIdForUpdate("PRJ002")).thenReturn(Optional.of(project("PRJ002", 2, 0, 0)));
+        when(taskRepository.findTaskStatisticsByProjectId("PRJ002")).thenReturn(Optional.empty());
+
+        assertEquals(1, repairService.repairTaskCounters());
+        verify(projectRepository).setTaskCounters("PRJ002", 0, 0, 0);
+    }
+
+    private static ProjectTaskStatistics stats(String projectId, long total, long completed, long active) {
+        return new ProjectTaskStatistics(projectId, total, completed, active);
+    }
+
+    private static Project project(String projectId, int total, int completed, int active) {
+        Project project = new Project();
+        project.setId(projectId);
+        project.setTotalTasks(total);
+        project.setCompletedTasks(completed);
+        project.setActiveTasks(active);
+        return project;
+    }
+}
@@ -0,0 +1,124 @@
+package com.enterprise.cleanqueen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.enterprise.cleanqueen.dto.project.ProjectTaskHierarchyResponse.ProjectDetails;
+import com.enterprise.cleanqueen.dto.project.ProjectTaskHierarchyResponse.TaskHierarchy;
+import com.enterprise.cleanqueen.enums.ProjectStatus;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectHierarchyCacheServiceTest {
+
+    private static final String PROJECT_ID = "PRJ001";
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @InjectMocks
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(projectHierarchyCacheService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(projectHierarchyCacheService, "maxEntries", 2);
+        projectHierarchyCacheService.registerMetrics();
+    }
+
+    @Test
+    void entryIsOnlyServedForTheTreeVersionItWasBuiltFor() {
+        projectHierarchyCacheService.put(PROJECT_ID, 3, details("Windows"));
+
+        assertNotNull(projectHierarchyCacheService.get(PROJECT_ID, 3));
+        assertNull(projectHierarchyCacheService.get(PROJECT_ID, 4));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void olderVersionNeverReplacesANewerEntry() {
+        projectHierarchyCacheService.put(PROJECT_ID, 4, details("Windows"));
+        // A reader that loaded the tree before the last write finishes late
+        projectHierarchyCacheService.put(PROJECT_ID, 3, details("Floors"));
+
+        assertNull(projectHierarchyCacheService.get(PROJECT_ID, 3));
+        assertEquals("Windows", projectHierarchyCacheService.get(PROJECT_ID, 4).getRootTasks().get(0).getTaskName());
+    }
+
+    @Test
+    void invalidateBumpsTheTreeVersionAndDropsTheEntry() {
+        projectHierarchyCacheService.put(PROJECT_ID, 3, details("Windows"));
+
+        projectHierarchyCacheService.invalidate(PROJECT_ID);
+
+        verify(projectRepository).incrementTreeVersion(PROJECT_ID);
+        assertNull(projectHierarchyCacheService.get(PROJECT_ID, 3));
+        assertEquals(0.0, meterRegistry.get("cache.size").gauge().value());
+    }
+
+    @Test
+    void callersCannotChangeTheCachedHierarchy() {
+        ProjectDetails built = details("Windows");
+        projectHierarchyCacheService.put(PROJECT_ID, 3, built);
+        // The builder's instance is still in use after it was cached
+        built.getRootTasks().get(0).setTaskName("Changed by the builder");
+
+        ProjectDetails first = projectHierarchyCacheService.get(PROJECT_ID, 3);
+        first.setProjectName("Changed by a caller");
+        first.getRootTasks().get(0).getSubtasks().clear();
+
+        ProjectDetails second = projectHierarchyCacheService.get(PROJECT_ID, 3);
+        assertNotSame(first, second);
+        assertEquals("Office", second.getProjectName());
+        assertEquals("Windows", second.getRootTasks().get(0).getTaskName());
+        assertEquals(1, second.getRootTasks().get(0).getSubtasks().size());
+    }
+
+    @Test
+    void leastRecentlyReadHierarchyIsEvictedFirst() {
+        projectHierarchyCacheService.put("PRJ001", 1, details("Windows"));
+        projectHierarchyCacheService.put("PRJ002", 1, details("Floors"));
+        projectHierarchyCacheService.get("PRJ001", 1);
+
+        projectHierarchyCacheService.put("PRJ003", 1, details("Stairs"));
+
+        assertNotNull(projectHierarchyCacheService.get("PRJ001", 1));
+        assertNull(projectHierarchyCacheService.get("PRJ002", 1));
+        assertEquals(1.0, meterRegistry.get("cache.evictions").counter().count());
+    }
+
+    private static ProjectDetails details(String rootTaskName) {
+        TaskHierarchy leaf = task("CHILD001", "Frames", new ArrayList<>());
+        List<TaskHierarchy> rootTasks = new ArrayList<>(List.of(task("ROOT0001", rootTaskName,
+                new ArrayList<>(List.of(leaf)))));
+        return new ProjectDetails(PROJECT_ID, "PRJ-001", "Office", null, ProjectStatus.IN_PROGRESS, rootTasks,
+                2, 0, null, null);
+    }
+
+    private static TaskHierarchy task(String id, String name, List<TaskHierarchy> subtasks) {
+        return new TaskHierarchy(id, name, null, TaskStatus.PENDING_ASSIGNMENT, TaskPriority.MEDIUM, null,
+                null, null, null, null, null, null, subtasks);
+    }
+}
@@ -0,0 +1,204 @@
+package com.enterprise.cleanqueen.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.entity.RatingPropagationJob;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.RatingPropagationJobRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class RatingPropagationServiceTest {
+
+    private static final String PROJECT_ID = "PRJ001";
+
+    @Mock
+    private RatingPropagationJobRepository ratingPropagationJobRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Mock
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private RatingPropagationService ratingPropagationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ratingPropagationService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(ratingPropagationService, "projectsPerPoll", 50);
+        ratingPropagationService.registerMetrics();
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void jobsUnderOneParentAreCoalescedIntoOneWrite() {
+        Task root = task("ROOT0001", "/ROOT0001/", null, 2, 0, 0.0);
+        Task first = task("CHILD001", "/ROOT0001/CHILD001/", 4.0f, 0, 0, 0.0);
+        Task second = task("CHILD002", "/ROOT0001/CHILD002/", 2.0f, 0, 0, 0.0);
+        List<RatingPropagationJob> jobs = pending(job(first, null), job(second, null));
+        when(taskRepository.findByIdIn(List.of("CHILD001", "CHILD002"))).thenReturn(List.of(first, second));
+        when(taskRepository.findAncestorsByIds(anyCollection())).thenReturn(List.of(root));
+
+        ratingPropagationService.processPendingPropagations();
+
+        verify(taskRepository).updateRatingAggregates("ROOT0001", 6.0, 2, 3.0f);
+        verify(projectRepository).applyRootTaskRatingChange(PROJECT_ID, 3.0, 1);
+        verify(ratingPropagationJobRepository).deleteAllInBatch(jobs);
+        verify(projectHierarchyCacheService).invalidate(PROJECT_ID);
+        // Only the rating columns are written, never whole task rows
+        verify(taskRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void deeperChangesSettleAParentBeforeItsSharedAncestorIsApplied() {
+        Task root = task("ROOT0001", "/ROOT0001/", null, 2, 0, 0.0);
+        Task parent = task("CHILD001", "/ROOT0001/CHILD001/", null, 1, 0, 0.0);
+        parent.setStatus(TaskStatus.COMPLETED);
+        Task sibling = task("CHILD002", "/ROOT0001/CHILD002/", 2.0f, 0, 0, 0.0);
+        Task grandchild = task("GRAND001", "/ROOT0001/CHILD001/GRAND001/", 4.0f, 0, 0, 0.0);
+        pending(job(grandchild, null), job(sibling, null));
+        when(taskRepository.findByIdIn(List.of("GRAND001", "CHILD002"))).thenReturn(List.of(grandchild, sibling));
+        // Deepest first, as ordered by the query
+        when(taskRepository.findAncestorsByIds(anyCollection())).thenReturn(List.of(parent, root));
+
+        ratingPropagationService.processPendingPropagations();
+
+        // The root sees the sibling's rating and the parent's new average in the same pass
+        InOrder order = inOrder(taskRepository, projectRepository);
+        order.verify(taskRepository).updateRatingAggregates("CHILD001", 4.0, 1, 4.0f);
+        order.verify(taskRepository).updateRatingAggregates("ROOT0001", 6.0, 2, 3.0f);
+        order.verify(projectRepository).applyRootTaskRatingChange(PROJECT_ID, 3.0, 1);
+        // The completed parent is rated now
+        verify(dashboardSummaryService).adjustUnratedCompletedTasks(-1);
+    }
+
+    @Test
+    void jobsOfDeletedTasksAreDroppedWithoutTouchingTheSums() {
+        Task root = task("ROOT0001", "/ROOT0001/", null, 2, 0, 0.0);
+        Task rated = task("CHILD001", "/ROOT0001/CHILD001/", 4.0f, 0, 0, 0.0);
+        RatingPropagationJob deletedJob = new RatingPropagationJob("CHILD002", PROJECT_ID, null);
+        List<RatingPropagationJob> jobs = pending(job(rated, null), deletedJob);
+        when(taskRepository.findByIdIn(List.of("CHILD001", "CHILD002"))).thenReturn(List.of(rated));
+        when(taskRepository.findAncestorsByIds(anyCollection())).thenReturn(List.of(root));
+
+        ratingPropagationService.processPendingPropagations();
+
+        // The remaining child is still unrated, so the root gets no average yet
+        verify(taskRepository).updateRatingAggregates("ROOT0001", 4.0, 1, null);
+        verify(projectRepository, never()).applyRootTaskRatingChange(anyString(), anyDouble(), anyInt());
+        verify(ratingPropagationJobRepository).deleteAllInBatch(jobs);
+    }
+
+    @Test
+    void jobsOfADeletedProjectAreDropped() {
+        List<RatingPropagationJob> jobs = List.of(new RatingPropagationJob("CHILD001", PROJECT_ID, null));
+        when(ratingPropagationJobRepository.findPendingProjectIds(any(Limit.class))).thenReturn(List.of(PROJECT_ID));
+        when(projectRepository.findByIdForUpdate(PROJECT_ID)).thenReturn(Optional.empty());
+        when(ratingPropagationJobRepository.findByProjectIdOrderByEnqueuedAt(PROJECT_ID)).thenReturn(jobs);
+
+        ratingPropagationService.processPendingPropagations();
+
+        verify(ratingPropagationJobRepository).deleteAllInBatch(jobs);
+        verify(taskRepository, never()).findByIdIn(anyCollection());
+    }
+
+    @Test
+    void rootTaskChangesReachTheProjectAsOneDelta() {
+        Task rerated = task("ROOT0001", "/ROOT0001/", 5.0f, 0, 0, 0.0);
+        Task firstRating = task("ROOT0002", "/ROOT0002/", 4.0f, 0, 0, 0.0);
+        pending(job(rerated, 3.0f), job(firstRating, null));
+        when(taskRepository.findByIdIn(List.of("ROOT0001", "ROOT0002"))).thenReturn(List.of(rerated, firstRating));
+
+        ratingPropagationService.processPendingPropagations();
+
+        verify(projectRepository).applyRootTaskRatingChange(PROJECT_ID, 6.0, 1);
+        verify(taskRepository, never()).findAncestorsByIds(anyCollection());
+        verify(taskRepository, never()).updateRatingAggregates(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void rebasedJobsOnlyDeriveTheAveragesAboveThem() {
+        ratingPropagationService.rebasePendingRatings(PROJECT_ID);
+        verify(ratingPropagationJobRepository).rebaseOnCurrentRatings(PROJECT_ID);
+
+        // The reindex already counted the child's rating in the root's sums, but did not derive the average
+        Task root = task("ROOT0001", "/ROOT0001/", null, 1, 1, 4.0);
+        Task child = task("CHILD001", "/ROOT0001/CHILD001/", 4.0f, 0, 0, 0.0);
+        pending(job(child, 4.0f));
+        when(taskRepository.findByIdIn(List.of("CHILD001"))).thenReturn(List.of(child));
+        when(taskRepository.findAncestorsByIds(anyCollection())).thenReturn(List.of(root));
+
+        ratingPropagationService.processPendingPropagations();
+
+        verify(taskRepository).updateRatingAggregates("ROOT0001", 4.0, 1, 4.0f);
+        verify(projectRepository).applyRootTaskRatingChange(PROJECT_ID, 4.0, 1);
+    }
+
+    private List<RatingPropagationJob> pending(RatingPropagationJob... jobs) {
+        List<RatingPropagationJob> pendingJobs = List.of(jobs);
+        when(ratingPropagationJobRepository.findPendingProjectIds(any(Limit.class))).thenReturn(List.of(PROJECT_ID));
+        when(projectRepository.findByIdForUpdate(PROJECT_ID)).thenReturn(Optional.of(new Project()));
+        when(ratingPropagationJobRepository.findByProjectIdOrderByEnqueuedAt(PROJECT_ID)).thenReturn(pendingJobs);
+        return pendingJobs;
+    }
+
+    private static RatingPropagationJob job(Task task, Float previousRating) {
+        return new RatingPropagationJob(task.getId(), PROJECT_ID, previousRating);
+    }
+
+    private static Task task(String id, String path, Float rating, int childCount, int ratedChildCount, double ratingSum) {
+        Task task = new Task(id, "Task " + id, null, TaskPriority.MEDIUM, PROJECT_ID, null);
+        task.setPath(path);
+        task.setDepth(path.split("/").length - 2);
+        task.setAverageRating(rating);
+        task.setChildCount(childCount);
+        task.setRatedChildCount(ratedChildCount);
+        task.setRatingSum(ratingSum);
+        return task;
+    }
+}
@@ -0,0 +1,82 @@
+package com.enterprise.cleanqueen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TaskHierarchyIndexServiceTest {
+
+    private static final String PROJECT_ID = "PRJ001";
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private RatingPropagationService ratingPropagationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TaskHierarchyIndexService taskHierarchyIndexService;
+
+    @Test
+    void indexedProjectIsLeftAlone() {
+        when(taskRepository.existsByProjectIdAndPathIsNull(PROJECT_ID)).thenReturn(false);
+
+        assertFalse(taskHierarchyIndexService.indexProjectIfNeeded(PROJECT_ID));
+
+        verifyNoInteractions(transactionTemplate, projectRepository);
+    }
+
+    @Test
+    void unindexedTasksAreIndexedUnderTheProjectLockInTheirOwnTransaction() {
+        Task root = task("ROOT0001", null);
+        Task indexedChild = task("CHILD001", "ROOT0001");
+        indexedChild.setPath("/ROOT0001/CHILD001/");
+        Task legacyGrandchild = task("GRAND001", "CHILD001");
+        when(taskRepository.existsByProjectIdAndPathIsNull(PROJECT_ID)).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(taskRepository.findByProjectId(PROJECT_ID)).thenReturn(List.of(root, indexedChild, legacyGrandchild));
+
+        assertTrue(taskHierarchyIndexService.indexProjectIfNeeded(PROJECT_ID));
+
+        // The tasks are read only after the lock, so the reindex works on current rows
+        InOrder order = inOrder(projectRepository, taskRepository);
+        order.verify(projectRepository).findByIdForUpdate(PROJECT_ID);
+        order.verify(taskRepository).findByProjectId(PROJECT_ID);
+        order.verify(taskRepository).saveAll(List.of(root, indexedChild, legacyGrandchild));
+        assertEquals("/ROOT0001/", root.getPath());
+        assertEquals("/ROOT0001/CHILD001/GRAND001/", legacyGrandchild.getPath());
+        assertEquals(2, legacyGrandchild.getDepth());
+    }
+
+    private static Task task(String id, String parentId) {
+        return new Task(id, "Task " + id, null, TaskPriority.MEDIUM, PROJECT_ID, parentId);
+    }
+}
@@ -0,0 +1,312 @@
+package com.enterprise.cleanqueen.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.dto.admin.BulkCreateSupervisorsResponse;
+import com.enterprise.cleanqueen.dto.admin.CreateSupervisorRequest;
+import com.enterprise.cleanqueen.dto.admin.DeleteTaskResponse;
+import com.enterprise.cleanqueen.dto.admin.GetAllCustomersResponse;
+import com.enterprise.cleanqueen.dto.admin.GetAllProjectsResponse;
+import com.enterprise.cleanqueen.dto.admin.GetAllSupervisorsResponse;
+import com.enterprise.cleanqueen.dto.admin.SupervisorCreationResult;
+import com.enterprise.cleanqueen.dto.user.UserNameDto;
+import com.enterprise.cleanqueen.dto.user.UserSummaryDto;
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.Role;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+import com.enterprise.cleanqueen.repository.UserRepository;
+import com.enterprise.cleanqueen.service.DashboardSummaryService;
+import com.enterprise.cleanqueen.service.EmailService;
+import com.enterprise.cleanqueen.service.ProjectHierarchyCacheService;
+import com.enterprise.cleanqueen.service.RatingPropagationService;
+import com.enterprise.cleanqueen.service.TaskHierarchyIndexService;
+import com.enterprise.cleanqueen.util.KeysetCursor;
+
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+class AdminServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Mock
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Mock
+    private RatingPropagationService ratingPropagationService;
+
+    @Mock
+    private TaskHierarchyIndexService taskHierarchyIndexService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Validator validator;
+
+    @InjectMocks
+    private AdminServiceImpl adminService;
+
+    @Test
+    void nullSupervisorRowFailsOnlyItsOwnRow() {
+        CreateSupervisorRequest registered =
+                new CreateSupervisorRequest("Ada", "Lovelace", "ada@example.com", null);
+        when(validator.validate(any(CreateSupervisorRequest.class))).thenReturn(Set.of());
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of("ada@example.com"));
+
+        BulkCreateSupervisorsResponse response = adminService.createSupervisors(Arrays.asList(null, registered));
+
+        List<SupervisorCreationResult> results = response.getResults();
+        assertFalse(response.isSuccess());
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getRow());
+        assertFalse(results.get(0).isSuccess());
+        assertNull(results.get(0).getEmail());
+        assertEquals("Supervisor details are required", results.get(0).getMessage());
+        // The next row is still validated and checked on its own
+        assertEquals(2, results.get(1).getRow());
+        assertEquals("Email is already registered", results.get(1).getMessage());
+
+        verify(validator, never()).validate(isNull());
+        verify(userRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void deletedSubtreeIsCountedDeactivatedAndRemovedFromItsParentUnderTheProjectLock() {
+        Task parent = task("ROOT0001", null);
+        parent.setChildCount(2);
+        parent.setRatedChildCount(2);
+        parent.setRatingSum(7.0);
+        Task deleted = task("CHILD001", parent);
+        deleted.setAverageRating(4.0f);
+        stubDeletion("CHILD001");
+        when(taskRepository.findById("CHILD001")).thenReturn(Optional.of(deleted));
+        when(taskRepository.findById("ROOT0001")).thenReturn(Optional.of(parent));
+        when(taskRepository.countSubtreeByStatus("PRJ001", "/ROOT0001/CHILD001/")).thenReturn(List.of(
+                new Object[] {TaskStatus.COMPLETED, 2L, 1L},
+                new Object[] {TaskStatus.IN_PROGRESS, 1L, 1L}));
+        when(taskRepository.deactivateSubtree("PRJ001", "/ROOT0001/CHILD001/")).thenReturn(3);
+        when(ratingPropagationService.getPropagatedRating(deleted)).thenReturn(4.0f);
+
+        DeleteTaskResponse response = adminService.deleteTask("CHILD001");
+
+        assertTrue(response.isSuccess());
+        // The task is read only once the project is locked
+        InOrder order = inOrder(projectRepository, taskRepository);
+        order.verify(projectRepository).findByIdForUpdate("PRJ001");
+        order.verify(taskRepository).findById("CHILD001");
+        order.verify(taskRepository).deactivateSubtree("PRJ001", "/ROOT0001/CHILD001/");
+        verify(projectRepository).adjustTaskCounters("PRJ001", -3, -2, -1);
+        verify(dashboardSummaryService).adjustUnratedCompletedTasks(-1);
+        verify(projectHierarchyCacheService).invalidate("PRJ001");
+
+        // The parent keeps only its remaining child in the running sums
+        verify(taskRepository).save(parent);
+        assertEquals(1, parent.getChildCount());
+        assertEquals(1, parent.getRatedChildCount());
+        assertEquals(3.0, parent.getRatingSum());
+    }
+
+    @Test
+    void deletedRootTaskIsRemovedFromTheProjectSums() {
+        Task root = task("ROOT0001", null);
+        stubDeletion("ROOT0001");
+        when(taskRepository.findById("ROOT0001")).thenReturn(Optional.of(root));
+        when(taskRepository.countSubtreeByStatus("PRJ001", "/ROOT0001/")).thenReturn(List.<Object[]>of(
+                new Object[] {TaskStatus.PENDING_ASSIGNMENT, 1L, 1L}));
+        when(ratingPropagationService.getPropagatedRating(root)).thenReturn(null);
+
+        adminService.deleteTask("ROOT0001");
+
+        verify(projectRepository).adjustTaskCounters("PRJ001", -1, 0, 0);
+        verify(projectRepository).adjustRatingAggregates("PRJ001", 0, 0, -1);
+    }
+
+    @Test
+    void deletingAnAlreadyDeletedTaskSucceedsWithoutChanges() {
+        stubDeletion("CHILD001");
+        when(taskRepository.findById("CHILD001")).thenReturn(Optional.empty());
+        when(taskRepository.findNameOfDeletedTask("CHILD001")).thenReturn(Optional.of("Windows"));
+
+        DeleteTaskResponse response = adminService.deleteTask("CHILD001");
+
+        assertTrue(response.isSuccess());
+        assertEquals("Windows", response.getTaskName());
+        verify(taskRepository, never()).deactivateSubtree(anyString(), anyString());
+        verify(projectRepository, never()).adjustTaskCounters(anyString(), anyInt(), anyInt(), anyInt());
+        verify(projectRepository, never()).adjustRatingAggregates(anyString(), anyDouble(), anyInt(), anyInt());
+    }
+
+    @Test
+    void unknownTaskIsNotFound() {
+        when(taskRepository.findProjectIdIncludingDeleted("MISSING1")).thenReturn(Optional.empty());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> adminService.deleteTask("MISSING1"));
+
+        assertEquals("Failed to delete task: Task not found with ID: MISSING1", e.getMessage());
+        verify(projectRepository, never()).findByIdForUpdate(anyString());
+    }
+
+    @Test
+    void projectPageResolvesCustomerAndSupervisorNamesInOneQuery() {
+        Project first = project("PRJ001", "CUST0001", "SUPV0001");
+        Project second = project("PRJ002", "CUST0001", null);
+        Project third = project("PRJ003", "CUST0002", "SUPV0001");
+        doReturn(List.of(first, second, third)).when(projectRepository).findBy(any(Specification.class), any());
+        when(userRepository.findNamesByIdIn(Set.of("CUST0001", "CUST0002", "SUPV0001"))).thenReturn(List.of(
+                new UserNameDto("CUST0001", "Grace", "Hopper"),
+                new UserNameDto("SUPV0001", "Alan", null)));
+
+        GetAllProjectsResponse response = adminService.getAllProjects(null, null, null, null, null, null, null);
+
+        List<GetAllProjectsResponse.ProjectInfo> projects = response.getProjects();
+        assertEquals("Grace Hopper", projects.get(0).getCustomerName());
+        assertEquals("Alan", projects.get(0).getSupervisorName());
+        // Unassigned supervisors and users without a row have no name
+        assertNull(projects.get(1).getSupervisorName());
+        assertNull(projects.get(2).getCustomerName());
+        verify(userRepository).findNamesByIdIn(anyCollection());
+        verify(userRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void projectPageWithoutUsersIssuesNoNameQuery() {
+        doReturn(List.of(project("PRJ001", null, null))).when(projectRepository).findBy(any(Specification.class), any());
+
+        GetAllProjectsResponse response = adminService.getAllProjects(null, null, null, null, null, null, null);
+
+        assertNull(response.getProjects().get(0).getCustomerName());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void userSearchEscapesLikeWildcardsAndKeepsThePageOrder() {
+        when(userRepository.findIdsByRoleAndPrefix("CUSTOMER", "50!%!_o!!ff%", 21)).thenReturn(List.of("USER0002", "USER0001"));
+        when(userRepository.findSummariesByIdIn(List.of("USER0002", "USER0001"))).thenReturn(List.of(
+                summary("USER0001", LocalDateTime.of(2024, 1, 1, 9, 0)),
+                summary("USER0002", LocalDateTime.of(2024, 1, 2, 9, 0))));
+
+        GetAllCustomersResponse response = adminService.getAllCustomers(" 50%_o!ff ", null, 20);
+
+        // Newest first, as ranked by the ID query, not as the summaries happened to load
+        assertEquals(List.of("USER0002", "USER0001"),
+                response.getCustomers().stream().map(UserSummaryDto::getId).toList());
+        assertNull(response.getNextCursor());
+        verify(userRepository, never()).findSummariesByRole(any(), any());
+    }
+
+    @Test
+    void userSearchContinuesAfterTheCursorAndTrimsTheLookAheadRow() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 3, 9, 0);
+        String cursor = new KeysetCursor(createdAt, "USER0003").encode();
+        when(userRepository.findIdsByRoleAndPrefixAfter("SUPERVISOR", "ada%", createdAt, "USER0003", 2))
+                .thenReturn(List.of("USER0002", "USER0001"));
+        when(userRepository.findSummariesByIdIn(List.of("USER0002", "USER0001"))).thenReturn(List.of(
+                summary("USER0002", LocalDateTime.of(2024, 1, 2, 9, 0)),
+                summary("USER0001", LocalDateTime.of(2024, 1, 1, 9, 0))));
+
+        GetAllSupervisorsResponse response = adminService.getAllSupervisors("ada", cursor, 1);
+
+        assertEquals(1, response.getSupervisors().size());
+        KeysetCursor next = KeysetCursor.decode(response.getNextCursor());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 9, 0), next.getCreatedAt());
+        assertEquals("USER0002", next.getId());
+    }
+
+    @Test
+    void userListingWithoutSearchUsesTheRoleIndexOnly() {
+        when(userRepository.findSummariesByRole(Role.CUSTOMER, Limit.of(51))).thenReturn(List.of());
+
+        GetAllCustomersResponse response = adminService.getAllCustomers("  ", null, null);
+
+        assertTrue(response.getCustomers().isEmpty());
+        verify(userRepository, never()).findIdsByRoleAndPrefix(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void userSearchWithoutMatchesSkipsTheSummaryQuery() {
+        when(userRepository.findIdsByRoleAndPrefix("CUSTOMER", "zz%", 51)).thenReturn(List.of());
+
+        GetAllCustomersResponse response = adminService.getAllCustomers("zz", null, null);
+
+        assertTrue(response.getCustomers().isEmpty());
+        verify(userRepository, never()).findSummariesByIdIn(anyCollection());
+    }
+
+    private void stubDeletion(String taskId) {
+        when(taskRepository.findProjectIdIncludingDeleted(taskId)).thenReturn(Optional.of("PRJ001"));
+        when(projectRepository.findByIdForUpdate("PRJ001")).thenReturn(Optional.of(new Project()));
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static UserSummaryDto summary(String id, LocalDateTime createdAt) {
+        return new UserSummaryDto(id, "User", id, id.toLowerCase() + "@example.com", null, Role.CUSTOMER,
+                true, true, createdAt);
+    }
+
+    private static Project project(String id, String customerId, String supervisorId) {
+        Project project = new Project();
+        project.setId(id);
+        project.setCustomerId(customerId);
+        project.setSupervisorId(supervisorId);
+        return project;
+    }
+
+    private static Task task(String id, Task parent) {
+        Task task = new Task(id, "Task " + id, null, TaskPriority.MEDIUM, "PRJ001", null);
+        task.placeUnder(parent);
+        return task;
+    }
+}
@@ -0,0 +1,571 @@
+package com.enterprise.cleanqueen.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsRequest;
+import com.enterprise.cleanqueen.dto.review.CreateImageUploadUrlsResponse;
+import com.enterprise.cleanqueen.util.ImageCompressionUtil;
+import com.enterprise.cleanqueen.util.ImageCompressionUtil.CompressedImageResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the R2 service against an in-process S3 stand-in, reached through the
+ * cloudflare.r2.endpoint and path-style-access settings like a local MinIO would be
+ */
+class CloudflareR2ServiceImplTest {
+
+    private static final String BUCKET = "review-images";
+
+    private FakeS3 fakeS3;
+    private ImageCompressionUtil imageCompressionUtil;
+    private CloudflareR2ServiceImpl r2Service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fakeS3 = new FakeS3();
+        imageCompressionUtil = mock(ImageCompressionUtil.class);
+        Executor directExecutor = Runnable::run;
+        r2Service = new CloudflareR2ServiceImpl(imageCompressionUtil, directExecutor);
+        ReflectionTestUtils.setField(r2Service, "accountId", "test-account");
+        ReflectionTestUtils.setField(r2Service, "accessKey", "test-access-key");
+        ReflectionTestUtils.setField(r2Service, "secretKey", "test-secret-key");
+        ReflectionTestUtils.setField(r2Service, "bucketName", BUCKET);
+        ReflectionTestUtils.setField(r2Service, "publicDomain", "");
+        ReflectionTestUtils.setField(r2Service, "multipartPartSizeMb", 8);
+        ReflectionTestUtils.setField(r2Service, "endpoint", fakeS3.endpoint());
+        ReflectionTestUtils.setField(r2Service, "pathStyleAccess", true);
+        ReflectionTestUtils.setField(r2Service, "uploadUrlExpirySeconds", 300L);
+        ReflectionTestUtils.setField(r2Service, "uploadRetentionMinutes", 1440L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fakeS3.stop();
+    }
+
+    @Test
+    void directUploadIsScopedToCustomerAndTaskAndFinalized() throws Exception {
+        byte[] image = "jpeg-bytes".getBytes(StandardCharsets.UTF_8);
+        List<CreateImageUploadUrlsResponse.ImageUploadUrl> urls = r2Service.createImageUploadUrls("CUST0001", "TASK0001",
+                List.of(new CreateImageUploadUrlsRequest.ImageUpload("image/jpeg", (long) image.length, "lab.jpg")));
+
+        String uploadKey = urls.get(0).getUploadKey();
+        assertTrue(uploadKey.startsWith("reviews/uploads/CUST0001/TASK0001/"), uploadKey);
+        assertTrue(uploadKey.endsWith(".jpg"), uploadKey);
+        assertEquals(200, putThroughPresignedUrl(urls.get(0).getUploadUrl(), "image/jpeg", image));
+        assertArrayEquals(image, fakeS3.objects.get(uploadKey).data);
+
+        List<String> imageUrls = r2Service.finalizeUploadedImages("CUST0001", "TASK0001", List.of(uploadKey));
+
+        String finalKey = imageUrls.get(0).substring(("https://" + BUCKET + ".r2.dev/").length());
+        assertTrue(finalKey.startsWith("reviews/review_"), finalKey);
+        assertArrayEquals(image, fakeS3.objects.get(finalKey).data);
+        assertEquals("image/jpeg", fakeS3.objects.get(finalKey).contentType);
+        assertFalse(fakeS3.objects.containsKey(uploadKey));
+    }
+
+    @Test
+    void uploadIssuedForAnotherTaskCannotBeFinalized() {
+        String uploadKey = "reviews/uploads/CUST0001/TASK0002/" + "image.jpg";
+        fakeS3.store(uploadKey, "image/jpeg", new byte[] {1, 2, 3}, Instant.now());
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> r2Service.finalizeUploadedImages("CUST0001", "TASK0001", List.of(uploadKey)));
+
+        assertTrue(e.getMessage().contains("was not issued to this customer for this task"), e.getMessage());
+        assertTrue(fakeS3.objects.containsKey(uploadKey));
+    }
+
+    @Test
+    void storedImageIsReplacedByItsCompressedVersion() throws IOException {
+        String key = "reviews/review_photo.jpg";
+        fakeS3.store(key, "image/jpeg", new byte[4096], Instant.now());
+        byte[] compressed = new byte[] {9, 8, 7};
+        when(imageCompressionUtil.compressImage(any(InputStreamSource.class), anyString(), anyLong(), anyString()))
+                .thenReturn(new CompressedImageResult(compressed, "image/jpeg", compressed.length, true));
+
+        r2Service.compressStoredImage(publicUrl(key));
+
+        assertArrayEquals(compressed, fakeS3.objects.get(key).data);
+    }
+
+    @Test
+    void imageDeletedDuringCompressionIsNotResurrected() throws IOException {
+        String key = "reviews/review_photo.jpg";
+        fakeS3.store(key, "image/jpeg", new byte[4096], Instant.now());
+        byte[] compressed = new byte[] {9, 8, 7};
+        when(imageCompressionUtil.compressImage(any(InputStreamSource.class), anyString(), anyLong(), anyString()))
+                .thenAnswer(invocation -> {
+                    // The review is deleted together with its images while the compression runs
+                    fakeS3.objects.remove(key);
+                    return new CompressedImageResult(compressed, "image/jpeg", compressed.length, true);
+                });
+
+        r2Service.compressStoredImage(publicUrl(key));
+
+        assertFalse(fakeS3.objects.containsKey(key));
+    }
+
+    @Test
+    void imageReplacedDuringCompressionKeepsTheReplacement() throws IOException {
+        String key = "reviews/review_photo.jpg";
+        fakeS3.store(key, "image/jpeg", new byte[4096], Instant.now());
+        byte[] replacement = new byte[] {4, 4, 4, 4};
+        byte[] compressed = new byte[] {9, 8, 7};
+        when(imageCompressionUtil.compressImage(any(InputStreamSource.class), anyString(), anyLong(), anyString()))
+                .thenAnswer(invocation -> {
+                    fakeS3.store(key, "image/jpeg", replacement, Instant.now());
+                    return new CompressedImageResult(compressed, "image/jpeg", compressed.length, true);
+                });
+
+        r2Service.compressStoredImage(publicUrl(key));
+
+        assertArrayEquals(replacement, fakeS3.objects.get(key).data);
+    }
+
+    @Test
+    void storedGifIsLeftAsUploaded() {
+        String key = "reviews/review_animation.gif";
+        byte[] gif = new byte[4096];
+        fakeS3.store(key, "image/gif", gif, Instant.now());
+
+        r2Service.compressStoredImage(publicUrl(key));
+
+        verifyNoInteractions(imageCompressionUtil);
+        assertArrayEquals(gif, fakeS3.objects.get(key).data);
+        assertEquals("image/gif", fakeS3.objects.get(key).contentType);
+    }
+
+    @Test
+    void imageLargerThanOnePartIsUploadedInParts() {
+        ReflectionTestUtils.setField(r2Service, "multipartPartSizeMb", 1);
+        byte[] gif = pattern(5 * 512 * 1024);
+
+        List<String> imageUrls = r2Service.uploadImages(List.of(new MockMultipartFile("images", "animation.gif", "image/gif", gif)));
+
+        String key = imageUrls.get(0).substring(("https://" + BUCKET + ".r2.dev/").length());
+        assertArrayEquals(gif, fakeS3.objects.get(key).data);
+        assertEquals("image/gif", fakeS3.objects.get(key).contentType);
+        // Two full parts and the remainder, assembled in part order
+        assertEquals(List.of(1024 * 1024, 1024 * 1024, 512 * 1024), fakeS3.completedPartSizes);
+        assertTrue(fakeS3.uploads.isEmpty());
+        assertTrue(fakeS3.abortedUploadIds.isEmpty());
+    }
+
+    @Test
+    void imageFittingOnePartIsUploadedWithASinglePut() {
+        ReflectionTestUtils.setField(r2Service, "multipartPartSizeMb", 1);
+        byte[] gif = pattern(1024 * 1024);
+
+        List<String> imageUrls = r2Service.uploadImages(List.of(new MockMultipartFile("images", "animation.gif", "image/gif", gif)));
+
+        String key = imageUrls.get(0).substring(("https://" + BUCKET + ".r2.dev/").length());
+        assertArrayEquals(gif, fakeS3.objects.get(key).data);
+        assertEquals(0, fakeS3.createdUploads.get());
+    }
+
+    @Test
+    void failedPartAbortsTheMultipartUpload() {
+        ReflectionTestUtils.setField(r2Service, "multipartPartSizeMb", 1);
+        fakeS3.failingPartNumber = 2;
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> r2Service.uploadImages(
+                List.of(new MockMultipartFile("images", "animation.gif", "image/gif", pattern(5 * 512 * 1024)))));
+
+        assertTrue(e.getMessage().startsWith("Failed to upload image: animation.gif."), e.getMessage());
+        // The uploaded first part is discarded with the upload instead of lingering in the bucket
+        assertEquals(1, fakeS3.createdUploads.get());
+        assertEquals(1, fakeS3.abortedUploadIds.size());
+        assertTrue(fakeS3.uploads.isEmpty());
+        assertTrue(fakeS3.objects.isEmpty());
+    }
+
+    @Test
+    void onlyUploadsOlderThanTheRetentionPeriodAreSwept() {
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        fakeS3.store("reviews/uploads/CUST0001/TASK0001/abandoned.jpg", "image/jpeg", new byte[] {1}, old);
+        fakeS3.store("reviews/uploads/CUST0001/TASK0002/recent.jpg", "image/jpeg", new byte[] {2}, Instant.now());
+        fakeS3.store("reviews/review_kept.jpg", "image/jpeg", new byte[] {3}, old);
+
+        assertEquals(1, r2Service.deleteAbandonedUploads());
+
+        assertEquals(List.of("reviews/review_kept.jpg", "reviews/uploads/CUST0001/TASK0002/recent.jpg"),
+                fakeS3.objects.keySet().stream().sorted().toList());
+    }
+
+    // Not constant, so parts assembled in the wrong order would not compare equal
+    private static byte[] pattern(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i / 1024 + i);
+        }
+        return data;
+    }
+
+    private static String publicUrl(String key) {
+        return "https://" + BUCKET + ".r2.dev/" + key;
+    }
+
+    private static int putThroughPresignedUrl(String url, String contentType, byte[] data)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", contentType)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(data))
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Minimal path-style S3 API: single-part put (plain or aws-chunked, with If-Match),
+     * get, head, delete, copy (with x-amz-copy-source-if-match), ListObjectsV2 and
+     * multipart uploads (create, upload part, complete, abort).
+     * ETags are the MD5 of the content, which the SDK checks.
+     */
+    private static class FakeS3 {
+
+        private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+        private final Map<String, MultipartUpload> uploads = new ConcurrentHashMap<>();
+        private final AtomicInteger createdUploads = new AtomicInteger();
+        private final List<String> abortedUploadIds = new CopyOnWriteArrayList<>();
+        private final List<Integer> completedPartSizes = new CopyOnWriteArrayList<>();
+        private volatile int failingPartNumber;
+        private final HttpServer server;
+
+        FakeS3() throws IOException {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/", this::handle);
+            server.start();
+        }
+
+        String endpoint() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        void store(String key, String contentType, byte[] data, Instant lastModified) {
+            objects.put(key, new StoredObject(data, contentType, lastModified));
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            try (exchange) {
+                String path = exchange.getRequestURI().getPath();
+                String bucketPath = "/" + BUCKET;
+                if (!path.startsWith(bucketPath)) {
+                    error(exchange, 404, "NoSuchBucket");
+                    return;
+                }
+                String key = path.length() > bucketPath.length() + 1 ? path.substring(bucketPath.length() + 1) : "";
+                String method = exchange.getRequestMethod();
+                Map<String, String> query = queryParameters(exchange);
+
+                if ("POST".equals(method) && query.containsKey("uploads")) {
+                    createMultipartUpload(exchange, key);
+                } else if ("PUT".equals(method) && query.containsKey("uploadId")) {
+                    uploadPart(exchange, query.get("uploadId"), Integer.parseInt(query.get("partNumber")));
+                } else if ("POST".equals(method) && query.containsKey("uploadId")) {
+                    completeMultipartUpload(exchange, key, query.get("uploadId"));
+                } else if ("DELETE".equals(method) && query.containsKey("uploadId")) {
+                    uploads.remove(query.get("uploadId"));
+                    abortedUploadIds.add(query.get("uploadId"));
+                    exchange.sendResponseHeaders(204, -1);
+                } else if (key.isEmpty() && "GET".equals(method)) {
+                    list(exchange);
+                } else if ("PUT".equals(method) && exchange.getRequestHeaders().containsKey("x-amz-copy-source")) {
+                    copy(exchange, key);
+                } else if ("PUT".equals(method)) {
+                    put(exchange, key);
+                } else if ("GET".equals(method) || "HEAD".equals(method)) {
+                    get(exchange, key, "HEAD".equals(method));
+                } else if ("DELETE".equals(method)) {
+                    objects.remove(key);
+                    exchange.sendResponseHeaders(204, -1);
+                } else {
+                    error(exchange, 405, "MethodNotAllowed");
+                }
+            }
+        }
+
+        private void put(HttpExchange exchange, String key) throws IOException {
+            byte[] body = readBody(exchange);
+
+            String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+            StoredObject current = objects.get(key);
+            if (ifMatch != null && current == null) {
+                error(exchange, 404, "NoSuchKey");
+                return;
+            }
+            if (ifMatch != null && !ifMatch.equals(current.eTag)) {
+                error(exchange, 412, "PreconditionFailed");
+                return;
+            }
+
+            StoredObject stored = new StoredObject(body, exchange.getRequestHeaders().getFirst("Content-Type"), Instant.now());
+            objects.put(key, stored);
+            exchange.getResponseHeaders().set("ETag", stored.eTag);
+            exchange.sendResponseHeaders(200, -1);
+        }
+
+        private void createMultipartUpload(HttpExchange exchange, String key) throws IOException {
+            String uploadId = "upload-" + createdUploads.incrementAndGet();
+            uploads.put(uploadId, new MultipartUpload(exchange.getRequestHeaders().getFirst("Content-Type")));
+            xml(exchange, 200, "<InitiateMultipartUploadResult><Bucket>" + BUCKET + "</Bucket><Key>" + key + "</Key>"
+                    + "<UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+        }
+
+        private void uploadPart(HttpExchange exchange, String uploadId, int partNumber) throws IOException {
+            byte[] body = readBody(exchange);
+            MultipartUpload upload = uploads.get(uploadId);
+            if (upload == null) {
+                error(exchange, 404, "NoSuchUpload");
+                return;
+            }
+            if (partNumber == failingPartNumber) {
+                error(exchange, 400, "InvalidRequest");
+                return;
+            }
+            upload.parts.put(partNumber, body);
+            exchange.getResponseHeaders().set("ETag", "\"" + md5Hex(body) + "\"");
+            exchange.sendResponseHeaders(200, -1);
+        }
+
+        // Assembles the parts listed in the request, which must match the uploaded ones
+        private void completeMultipartUpload(HttpExchange exchange, String key, String uploadId) throws IOException {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            MultipartUpload upload = uploads.remove(uploadId);
+            if (upload == null) {
+                error(exchange, 404, "NoSuchUpload");
+                return;
+            }
+
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            Matcher part = Pattern.compile("<Part>(.*?)</Part>", Pattern.DOTALL).matcher(request);
+            List<Integer> partSizes = new ArrayList<>();
+            while (part.find()) {
+                byte[] partData = upload.parts.get(Integer.parseInt(element(part.group(1), "PartNumber")));
+                String eTag = element(part.group(1), "ETag").replace("&quot;", "\"");
+                if (partData == null || !eTag.equals("\"" + md5Hex(partData) + "\"")) {
+                    error(exchange, 400, "InvalidPart");
+                    return;
+                }
+                data.write(partData);
+                partSizes.add(partData.length);
+            }
+            completedPartSizes.addAll(partSizes);
+
+            StoredObject stored = new StoredObject(data.toByteArray(), upload.contentType, Instant.now());
+            objects.put(key, stored);
+            xml(exchange, 200, "<CompleteMultipartUploadResult><Bucket>" + BUCKET + "</Bucket><Key>" + key + "</Key>"
+                    + "<ETag>" + stored.eTag.replace("\"", "&quot;") + "</ETag></CompleteMultipartUploadResult>");
+        }
+
+        private void copy(HttpExchange exchange, String key) throws IOException {
+            String source = URLDecoder.decode(exchange.getRequestHeaders().getFirst("x-amz-copy-source"), StandardCharsets.UTF_8);
+            source = source.startsWith("/") ? source.substring(1) : source;
+            StoredObject sourceObject = objects.get(source.substring(BUCKET.length() + 1));
+            if (sourceObject == null) {
+                error(exchange, 404, "NoSuchKey");
+                return;
+            }
+            String ifMatch = exchange.getRequestHeaders().getFirst("x-amz-copy-source-if-match");
+            if (ifMatch != null && !ifMatch.equals(sourceObject.eTag)) {
+                error(exchange, 412, "PreconditionFailed");
+                return;
+            }
+
+            StoredObject copied = new StoredObject(sourceObject.data, sourceObject.contentType, Instant.now());
+            objects.put(key, copied);
+            xml(exchange, 200, "<CopyObjectResult><LastModified>" + copied.lastModified + "</LastModified>"
+                    + "<ETag>" + copied.eTag.replace("\"", "&quot;") + "</ETag></CopyObjectResult>");
+        }
+
+        private void get(HttpExchange exchange, String key, boolean headOnly) throws IOException {
+            StoredObject object = objects.get(key);
+            if (object == null) {
+                if (headOnly) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    error(exchange, 404, "NoSuchKey");
+                }
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", object.contentType);
+            exchange.getResponseHeaders().set("ETag", object.eTag);
+            exchange.getResponseHeaders().set("Last-Modified",
+                    DateTimeFormatter.RFC_1123_DATE_TIME.format(object.lastModified.atOffset(ZoneOffset.UTC)));
+            if (headOnly) {
+                exchange.getResponseHeaders().set("Content-Length", Long.toString(object.data.length));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, object.data.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(object.data);
+            }
+        }
+
+        private void list(HttpExchange exchange) throws IOException {
+            String prefix = "";
+            String query = exchange.getRequestURI().getRawQuery();
+            for (String parameter : query != null ? query.split("&") : new String[0]) {
+                if (parameter.startsWith("prefix=")) {
+                    prefix = URLDecoder.decode(parameter.substring("prefix=".length()), StandardCharsets.UTF_8);
+                }
+            }
+
+            StringBuilder contents = new StringBuilder();
+            int keyCount = 0;
+            for (String key : objects.keySet().stream().sorted().toList()) {
+                StoredObject object = objects.get(key);
+                if (object != null && key.startsWith(prefix)) {
+                    keyCount++;
+                    contents.append("<Contents><Key>").append(key).append("</Key>")
+                            .append("<LastModified>").append(object.lastModified).append("</LastModified>")
+                            .append("<ETag>").append(object.eTag.replace("\"", "&quot;")).append("</ETag>")
+                            .append("<Size>").append(object.data.length).append("</Size>")
+                            .append("<StorageClass>STANDARD</StorageClass></Contents>");
+                }
+            }
+            xml(exchange, 200, "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+                    + "<Name>" + BUCKET + "</Name><Prefix>" + prefix + "</Prefix>"
+                    + "<KeyCount>" + keyCount + "</KeyCount><MaxKeys>1000</MaxKeys><IsTruncated>false</IsTruncated>"
+                    + contents + "</ListBucketResult>");
+        }
+
+        private static Map<String, String> queryParameters(HttpExchange exchange) {
+            Map<String, String> parameters = new HashMap<>();
+            String query = exchange.getRequestURI().getRawQuery();
+            for (String parameter : query != null ? query.split("&") : new String[0]) {
+                int separator = parameter.indexOf('=');
+                String name = separator < 0 ? parameter : parameter.substring(0, separator);
+                String value = separator < 0 ? "" : URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+                parameters.put(name, value);
+            }
+            return parameters;
+        }
+
+        private static String element(String xml, String name) {
+            int start = xml.indexOf("<" + name + ">") + name.length() + 2;
+            return xml.substring(start, xml.indexOf("</" + name + ">", start));
+        }
+
+        private static byte[] readBody(HttpExchange exchange) throws IOException {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String contentSha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+            return contentSha != null && contentSha.startsWith("STREAMING-") ? decodeAwsChunked(body) : body;
+        }
+
+        private static void error(HttpExchange exchange, int status, String code) throws IOException {
+            xml(exchange, status, "<Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>");
+        }
+
+        private static void xml(HttpExchange exchange, int status, String body) throws IOException {
+            byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/xml");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+
+        // Body of a signed streaming upload: "<hex size>;chunk-signature=...\r\n<data>\r\n", ending with a 0-size chunk
+        private static byte[] decodeAwsChunked(byte[] body) {
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+            int position = 0;
+            while (position < body.length) {
+                int lineEnd = position;
+                while (body[lineEnd] != '\r') {
+                    lineEnd++;
+                }
+                String header = new String(body, position, lineEnd - position, StandardCharsets.US_ASCII);
+                int size = Integer.parseInt(header.split(";")[0], 16);
+                if (size == 0) {
+                    break;
+                }
+                decoded.write(body, lineEnd + 2, size);
+                position = lineEnd + 2 + size + 2;
+            }
+            return decoded.toByteArray();
+        }
+
+        private static class StoredObject {
+            private final byte[] data;
+            private final String contentType;
+            private final String eTag;
+            private final Instant lastModified;
+
+            StoredObject(byte[] data, String contentType, Instant lastModified) {
+                this.data = data;
+                this.contentType = contentType;
+                this.eTag = "\"" + md5Hex(data) + "\"";
+                this.lastModified = lastModified;
+            }
+        }
+
+        private static class MultipartUpload {
+            private final String contentType;
+            private final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+
+            MultipartUpload(String contentType) {
+                this.contentType = contentType;
+            }
+        }
+
+        private static String md5Hex(byte[] data) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
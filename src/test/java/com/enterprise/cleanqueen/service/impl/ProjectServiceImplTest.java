@@ -0,0 +1,340 @@
+package com.enterprise.cleanqueen.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.enterprise.cleanqueen.dto.project.ProjectCreateRequest;
+import com.enterprise.cleanqueen.dto.project.ProjectCreateResponse;
+import com.enterprise.cleanqueen.dto.project.ProjectListResponse;
+import com.enterprise.cleanqueen.dto.project.ProjectTaskHierarchyResponse;
+import com.enterprise.cleanqueen.dto.project.ProjectTaskReviewsResponse;
+import com.enterprise.cleanqueen.dto.project.ProjectUpdateRequest;
+import com.enterprise.cleanqueen.dto.project.ProjectVersionStamp;
+import com.enterprise.cleanqueen.dto.project.TaskCreateRequest;
+import com.enterprise.cleanqueen.dto.project.TaskReviewRow;
+import com.enterprise.cleanqueen.dto.project.TaskUpdateRequest;
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.exception.BusinessException;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.ReviewRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+import com.enterprise.cleanqueen.service.AdminSearchIndexService;
+import com.enterprise.cleanqueen.service.DashboardSummaryService;
+import com.enterprise.cleanqueen.service.ProjectHierarchyCacheService;
+import com.enterprise.cleanqueen.service.RatingPropagationService;
+import com.enterprise.cleanqueen.util.CodeGenerator;
+import com.enterprise.cleanqueen.util.KeysetCursor;
+import com.enterprise.cleanqueen.util.TaskTreeAssembler;
+import com.enterprise.cleanqueen.util.TaskTreeReconciler;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectServiceImplTest {
+
+    private static final String PROJECT_ID = "PRJ001";
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Mock
+    private AdminSearchIndexService adminSearchIndexService;
+
+    @Mock
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Mock
+    private RatingPropagationService ratingPropagationService;
+
+    @Mock
+    private TaskTreeReconciler taskTreeReconciler;
+
+    @Spy
+    private CodeGenerator codeGenerator = new CodeGenerator();
+
+    @Spy
+    private TaskTreeAssembler taskTreeAssembler = new TaskTreeAssembler();
+
+    @Captor
+    private ArgumentCaptor<List<Task>> savedTasksCaptor;
+
+    @InjectMocks
+    private ProjectServiceImpl projectService;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        project = new Project();
+        project.setId(PROJECT_ID);
+        project.setName("Office cleaning");
+        project.setProjectCode("OFC123");
+    }
+
+    @Test
+    void taskHierarchyIsLoadedWithOneTaskQueryRegardlessOfTreeSize() {
+        // 10 roots with 10 children with 10 grandchildren each
+        List<Task> tasks = new ArrayList<>();
+        for (int r = 0; r < 10; r++) {
+            Task root = task(String.format("R%07d", r), null);
+            tasks.add(root);
+            for (int c = 0; c < 10; c++) {
+                Task child = task(String.format("C%03d%04d", r, c), root);
+                tasks.add(child);
+                for (int g = 0; g < 10; g++) {
+                    tasks.add(task(String.format("G%02d%02d%03d", r, c, g), child));
+                }
+            }
+        }
+        when(projectRepository.findTreeVersionById(PROJECT_ID)).thenReturn(Optional.of(7L));
+        when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project));
+        when(taskRepository.findByProjectId(PROJECT_ID)).thenReturn(tasks);
+
+        ProjectTaskHierarchyResponse response = projectService.getProjectTaskHierarchy(PROJECT_ID);
+
+        assertEquals(1110, response.getProject().getTotalTasks());
+        assertEquals(10, response.getProject().getRootTasks().size());
+
+        // One project version lookup, one project lookup and one task query; never a query per parent
+        verify(projectRepository).findTreeVersionById(PROJECT_ID);
+        verify(projectRepository).findById(PROJECT_ID);
+        verify(taskRepository).findByProjectId(PROJECT_ID);
+        verifyNoMoreInteractions(projectRepository, taskRepository);
+        verify(projectHierarchyCacheService).put(eq(PROJECT_ID), eq(7L), any());
+    }
+
+    @Test
+    void cachedTaskHierarchyIsServedWithoutTaskQuery() {
+        ProjectTaskHierarchyResponse.ProjectDetails cached = new ProjectTaskHierarchyResponse.ProjectDetails();
+        when(projectRepository.findTreeVersionById(PROJECT_ID)).thenReturn(Optional.of(3L));
+        when(projectHierarchyCacheService.get(PROJECT_ID, 3L)).thenReturn(cached);
+
+        ProjectTaskHierarchyResponse response = projectService.getProjectTaskHierarchy(PROJECT_ID);
+
+        assertSame(cached, response.getProject());
+        verify(projectRepository).findTreeVersionById(PROJECT_ID);
+        verifyNoMoreInteractions(projectRepository);
+        verifyNoInteractions(taskRepository);
+        verify(projectHierarchyCacheService, never()).put(any(), anyLong(), any());
+    }
+
+    @Test
+    void createProjectInsertsFiveThousandTasksWithOneSaveAll() {
+        // 50 roots with 9 children with 10 grandchildren each: 50 + 450 + 4,500 tasks
+        List<TaskCreateRequest> roots = new ArrayList<>();
+        for (int r = 0; r < 50; r++) {
+            List<TaskCreateRequest> children = new ArrayList<>();
+            for (int c = 0; c < 9; c++) {
+                List<TaskCreateRequest> grandchildren = new ArrayList<>();
+                for (int g = 0; g < 10; g++) {
+                    grandchildren.add(new TaskCreateRequest("Grandchild " + g, null, TaskPriority.LOW, null));
+                }
+                children.add(new TaskCreateRequest("Child " + c, null, null, grandchildren));
+            }
+            roots.add(new TaskCreateRequest("Root " + r, null, TaskPriority.HIGH, children));
+        }
+        ProjectCreateRequest request = new ProjectCreateRequest();
+        request.setName("Campus cleaning");
+        request.setTasks(roots);
+        when(projectRepository.existsByProjectCode(any())).thenReturn(false);
+
+        ProjectCreateResponse response = projectService.createProject(request);
+
+        assertEquals(5000, response.getTotalTasks());
+
+        // The whole tree goes to the database in one saveAll, which Hibernate sends as JDBC batches
+        verify(projectRepository).save(any(Project.class));
+        verify(taskRepository).saveAll(savedTasksCaptor.capture());
+        verifyNoMoreInteractions(taskRepository);
+
+        // Parent-first order with unique IDs and paths consistent with the parents
+        List<Task> savedTasks = savedTasksCaptor.getValue();
+        assertEquals(5000, savedTasks.size());
+        Map<String, Task> tasksById = new HashMap<>();
+        for (Task task : savedTasks) {
+            if (task.getParentId() == null) {
+                assertEquals("/" + task.getId() + "/", task.getPath());
+            } else {
+                Task parent = tasksById.get(task.getParentId());
+                assertTrue(parent != null, "Parent must be saved before its child");
+                assertEquals(parent.getPath() + task.getId() + "/", task.getPath());
+                assertEquals(parent.getDepth() + 1, task.getDepth());
+            }
+            assertTrue(tasksById.put(task.getId(), task) == null, "Task IDs must be unique");
+        }
+    }
+
+    @Test
+    void projectListingTakesTaskStatisticsFromTheProjectCountersWithoutTaskQueries() {
+        project.setTotalTasks(12);
+        project.setCompletedTasks(5);
+        Project empty = new Project();
+        empty.setId("PRJ002");
+        empty.setTotalTasks(0);
+        empty.setCompletedTasks(0);
+        when(projectRepository.findByCustomerIdOrSupervisorId("USER0001", "USER0001"))
+                .thenReturn(List.of(project, empty));
+
+        ProjectListResponse response = projectService.getProjectsByUserId("USER0001");
+
+        assertEquals(2, response.getTotalProjects());
+        assertEquals(12, response.getProjects().get(0).getTotalTasks());
+        assertEquals(5, response.getProjects().get(0).getCompletedTasks());
+        assertEquals(0, response.getProjects().get(1).getTotalTasks());
+        // One project query for customer and supervisor projects alike, never a task scan per project
+        verify(projectRepository).findByCustomerIdOrSupervisorId("USER0001", "USER0001");
+        verifyNoMoreInteractions(projectRepository);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void projectUpdateInvalidatesTheCachedHierarchyAfterItsWrites() {
+        Task existing = task("ROOT0001", null);
+        TaskTreeReconciler.TaskTreeChanges changes = new TaskTreeReconciler.TaskTreeChanges();
+        changes.getTasksToUpdate().add(existing);
+        List<TaskUpdateRequest> tasks = List.of();
+        when(projectRepository.findByIdForUpdate(PROJECT_ID)).thenReturn(Optional.of(project));
+        when(taskRepository.findByProjectId(PROJECT_ID)).thenReturn(List.of(existing));
+        when(taskTreeReconciler.reconcile(tasks, PROJECT_ID, List.of(existing))).thenReturn(changes);
+
+        projectService.updateProject(PROJECT_ID,
+                new ProjectUpdateRequest("Office cleaning", null, null, null, null, null, tasks));
+
+        // The version bump commits with the task writes, so no reader can cache the old tree under the new version
+        InOrder order = inOrder(taskRepository, projectHierarchyCacheService);
+        order.verify(taskRepository).saveAll(List.of(existing));
+        order.verify(projectHierarchyCacheService).invalidate(PROJECT_ID);
+    }
+
+    @Test
+    void everyReviewPageAndFilterHasItsOwnValidator() {
+        ProjectVersionStamp stamp = new ProjectVersionStamp(1L, LocalDateTime.of(2024, 1, 1, 0, 0), 7L);
+        when(projectRepository.findVersionStampById(PROJECT_ID)).thenReturn(stamp);
+
+        assertEquals("\"reviews-50-1-1704067200000-7\"",
+                projectService.getProjectTaskReviewsETag(PROJECT_ID, false, null, null));
+        // Limits are clamped, so equivalent requests share a validator
+        assertEquals("\"reviews-200-1-1704067200000-7\"",
+                projectService.getProjectTaskReviewsETag(PROJECT_ID, false, " ", 500));
+        assertEquals("\"reviews-reviewed-20-abc-1-1704067200000-7\"",
+                projectService.getProjectTaskReviewsETag(PROJECT_ID, true, "abc", 20));
+    }
+
+    @Test
+    void hierarchyValidatorFollowsTheTreeVersionAndIsAbsentForUnknownProjects() {
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(projectRepository.findVersionStampById(PROJECT_ID)).thenReturn(
+                new ProjectVersionStamp(1L, updatedAt, 7L), new ProjectVersionStamp(1L, updatedAt, 8L));
+        when(projectRepository.findVersionStampById("MISSING1")).thenReturn(new ProjectVersionStamp(0L, null, null));
+
+        assertEquals("\"tasks-1-1704067200000-7\"", projectService.getProjectTaskHierarchyETag(PROJECT_ID));
+        // A task write bumps only the tree version, yet the validator changes
+        assertEquals("\"tasks-1-1704067200000-8\"", projectService.getProjectTaskHierarchyETag(PROJECT_ID));
+        assertNull(projectService.getProjectTaskHierarchyETag("MISSING1"));
+    }
+
+    @Test
+    void reviewPageFetchesOneExtraRowAndPointsTheCursorAtItsLastRow() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project));
+        when(reviewRepository.findTaskReviewsByProjectId(PROJECT_ID, true, null, null, Limit.of(3))).thenReturn(List.of(
+                new TaskReviewRow("TASK0001", "Windows", createdAt, "Spotless", 5),
+                new TaskReviewRow("TASK0002", "Floors", createdAt, "Streaky", 2),
+                new TaskReviewRow("TASK0003", "Stairs", createdAt.plusMinutes(1), null, 4)));
+
+        ProjectTaskReviewsResponse response = projectService.getProjectTaskReviews(PROJECT_ID, true, null, 2);
+
+        assertEquals(List.of("TASK0001", "TASK0002"),
+                response.getTasks().stream().map(ProjectTaskReviewsResponse.TaskReviewInfo::getTaskId).toList());
+        assertEquals(2.0f, response.getTasks().get(1).getRating());
+        assertTrue(response.isHasMore());
+        // The next page starts after the last row served, not after the extra row
+        KeysetCursor next = KeysetCursor.decode(response.getNextCursor());
+        assertEquals(createdAt, next.getCreatedAt());
+        assertEquals("TASK0002", next.getId());
+    }
+
+    @Test
+    void reviewCursorIsDecodedIntoTheKeysetPositionOfTheNextPage() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        String cursor = new KeysetCursor(createdAt, "TASK0002").encode();
+        when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project));
+        when(reviewRepository.findTaskReviewsByProjectId(PROJECT_ID, false, createdAt, "TASK0002", Limit.of(51)))
+                .thenReturn(List.of(new TaskReviewRow("TASK0003", "Stairs", createdAt, null, null)));
+
+        ProjectTaskReviewsResponse response = projectService.getProjectTaskReviews(PROJECT_ID, false, cursor, null);
+
+        // Unreviewed tasks are listed unless reviewedOnly is set
+        assertEquals(1, response.getTotalTasks());
+        assertFalse(response.getTasks().get(0).isHasReview());
+        assertNull(response.getTasks().get(0).getRating());
+        assertFalse(response.isHasMore());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void reviewPageSizeIsClampedToItsBounds() {
+        when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project));
+
+        projectService.getProjectTaskReviews(PROJECT_ID, false, null, 1000);
+        projectService.getProjectTaskReviews(PROJECT_ID, false, null, 0);
+
+        verify(reviewRepository).findTaskReviewsByProjectId(PROJECT_ID, false, null, null, Limit.of(201));
+        verify(reviewRepository).findTaskReviewsByProjectId(PROJECT_ID, false, null, null, Limit.of(2));
+    }
+
+    @Test
+    void malformedReviewCursorIsRejectedBeforeAnyQuery() {
+        assertThrows(BusinessException.class,
+                () -> projectService.getProjectTaskReviews(PROJECT_ID, false, "not-a-cursor", null));
+
+        verifyNoInteractions(projectRepository, reviewRepository);
+    }
+
+    private static Task task(String id, Task parent) {
+        Task task = new Task(id, "Task " + id, null, TaskPriority.MEDIUM, PROJECT_ID, null);
+        task.placeUnder(parent);
+        return task;
+    }
+}
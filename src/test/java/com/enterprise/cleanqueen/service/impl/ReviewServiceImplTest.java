@@ -0,0 +1,156 @@
+package com.enterprise.cleanqueen.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.cleanqueen.dto.review.CreateReviewRequest;
+import com.enterprise.cleanqueen.dto.review.CreateReviewResponse;
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.entity.Review;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.entity.User;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.ReviewRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+import com.enterprise.cleanqueen.repository.UserRepository;
+import com.enterprise.cleanqueen.service.CloudflareR2Service;
+import com.enterprise.cleanqueen.service.DashboardSummaryService;
+import com.enterprise.cleanqueen.service.ProjectHierarchyCacheService;
+import com.enterprise.cleanqueen.service.RatingPropagationService;
+import com.enterprise.cleanqueen.util.CodeGenerator;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceImplTest {
+
+    private static final String CUSTOMER_EMAIL = "customer@example.com";
+    private static final List<String> IMAGE_URLS = List.of("https://images.example.com/reviews/review_1.jpg");
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private CodeGenerator codeGenerator = new CodeGenerator();
+
+    @Mock
+    private CloudflareR2Service cloudflareR2Service;
+
+    @Mock
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Mock
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Mock
+    private RatingPropagationService ratingPropagationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ReviewServiceImpl reviewService;
+
+    private User customer;
+    private Project project;
+    private Task task;
+    private CreateReviewRequest request;
+
+    @BeforeEach
+    void setUp() {
+        customer = new User();
+        customer.setId("CUST0001");
+        project = new Project();
+        project.setId("PRJ001");
+        project.setCustomerId("CUST0001");
+        task = new Task("TASK0001", "Windows", null, TaskPriority.MEDIUM, "PRJ001", null);
+        request = new CreateReviewRequest("TASK0001", 4, "Spotless");
+        request.setImageKeys(List.of("reviews/uploads/CUST0001/TASK0001/photo.jpg"));
+
+        when(userRepository.findByEmail(CUSTOMER_EMAIL)).thenReturn(Optional.of(customer));
+        when(taskRepository.findById("TASK0001")).thenReturn(Optional.of(task));
+        when(projectRepository.findById("PRJ001")).thenReturn(Optional.of(project));
+        when(cloudflareR2Service.finalizeUploadedImages("CUST0001", "TASK0001", request.getImageKeys()))
+                .thenReturn(IMAGE_URLS);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void reviewIsPersistedAfterTheChecksAreRepeatedUnderTheProjectLock() {
+        when(projectRepository.findByIdForUpdate("PRJ001")).thenReturn(Optional.of(project));
+
+        CreateReviewResponse response = reviewService.createReview(request, CUSTOMER_EMAIL);
+
+        assertEquals("TASK0001", response.getTaskId());
+        assertEquals(4.0f, task.getAverageRating());
+        InOrder order = inOrder(projectRepository, taskRepository, reviewRepository, ratingPropagationService);
+        order.verify(projectRepository).findByIdForUpdate("PRJ001");
+        order.verify(taskRepository).countChildrenTasks("TASK0001");
+        order.verify(reviewRepository).save(any(Review.class));
+        order.verify(ratingPropagationService).enqueue(task, null);
+        verify(cloudflareR2Service).compressStoredImage(IMAGE_URLS.get(0));
+        verify(cloudflareR2Service, never()).deleteImages(any());
+    }
+
+    @Test
+    void taskGivenSubtasksDuringTheUploadIsNotRated() {
+        when(projectRepository.findByIdForUpdate("PRJ001")).thenReturn(Optional.of(project));
+        // A leaf when the request arrived, a parent by the time the review is persisted
+        when(taskRepository.countChildrenTasks("TASK0001")).thenReturn(0L, 2L);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> reviewService.createReview(request, CUSTOMER_EMAIL));
+
+        assertEquals("Failed to create review: Reviews can only be created for leaf tasks (tasks with no subtasks)",
+                e.getMessage());
+        assertEquals("Reviews can only be created for leaf tasks (tasks with no subtasks)", e.getCause().getMessage());
+        verify(reviewRepository, never()).save(any());
+        verify(ratingPropagationService, never()).enqueue(any(), any());
+        verify(cloudflareR2Service).deleteImages(IMAGE_URLS);
+        verify(cloudflareR2Service, never()).compressStoredImage(anyString());
+    }
+
+    @Test
+    void uploadedImagesAreDeletedWhenPersistingFails() {
+        when(projectRepository.findByIdForUpdate("PRJ001")).thenReturn(Optional.of(project));
+        IllegalStateException failure = new IllegalStateException("Deadlock found when trying to get lock");
+        when(reviewRepository.save(any(Review.class))).thenThrow(failure);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> reviewService.createReview(request, CUSTOMER_EMAIL));
+
+        assertSame(failure, e.getCause());
+        verify(cloudflareR2Service).deleteImages(IMAGE_URLS);
+        verify(ratingPropagationService, never()).enqueue(any(), any());
+    }
+}
@@ -0,0 +1,92 @@
+package com.enterprise.cleanqueen.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.enterprise.cleanqueen.dto.task.BulkUpdateTaskStatusResponse;
+import com.enterprise.cleanqueen.dto.task.TaskStatusUpdate;
+import com.enterprise.cleanqueen.dto.task.UpdateTaskStatusRequest;
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.entity.User;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+import com.enterprise.cleanqueen.repository.ProjectRepository;
+import com.enterprise.cleanqueen.repository.TaskRepository;
+import com.enterprise.cleanqueen.repository.UserRepository;
+import com.enterprise.cleanqueen.service.DashboardSummaryService;
+import com.enterprise.cleanqueen.service.ProjectHierarchyCacheService;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceImplTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectHierarchyCacheService projectHierarchyCacheService;
+
+    @Mock
+    private DashboardSummaryService dashboardSummaryService;
+
+    @InjectMocks
+    private TaskServiceImpl taskService;
+
+    @Test
+    void projectsAreLockedInIdOrderBeforeTheTasksAreRead() {
+        Task first = task("TASK0001", "PRJ002", TaskStatus.IN_PROGRESS);
+        Task second = task("TASK0002", "PRJ001", TaskStatus.PENDING_ASSIGNMENT);
+        List<String> taskIds = List.of("TASK0001", "TASK0002", "MISSING1");
+        when(userRepository.findByEmail("supervisor@example.com")).thenReturn(Optional.of(new User()));
+        when(taskRepository.findProjectIdsByTaskIds(taskIds)).thenReturn(List.of("PRJ001", "PRJ002"));
+        when(projectRepository.findByIdForUpdate(anyString())).thenReturn(Optional.of(new Project()));
+        when(taskRepository.findAllByIdForUpdate(taskIds)).thenReturn(List.of(first, second));
+
+        BulkUpdateTaskStatusResponse response = taskService.updateTasksStatus(new UpdateTaskStatusRequest(List.of(
+                new TaskStatusUpdate("TASK0001", TaskStatus.COMPLETED, null),
+                new TaskStatusUpdate("TASK0002", TaskStatus.IN_PROGRESS, null),
+                new TaskStatusUpdate("MISSING1", TaskStatus.COMPLETED, null))), "supervisor@example.com");
+
+        InOrder order = inOrder(projectRepository, taskRepository);
+        order.verify(projectRepository).findByIdForUpdate("PRJ001");
+        order.verify(projectRepository).findByIdForUpdate("PRJ002");
+        order.verify(taskRepository).findAllByIdForUpdate(taskIds);
+        order.verify(taskRepository).save(first);
+        order.verify(taskRepository).save(second);
+        verify(taskRepository, never()).findById(anyString());
+
+        assertTrue(response.isSuccess());
+        assertFalse(response.getResults().get(2).isSuccess());
+        assertEquals(TaskStatus.COMPLETED, first.getStatus());
+        verify(projectRepository).adjustTaskCounters("PRJ002", 0, 1, -1);
+        verify(projectRepository).adjustTaskCounters("PRJ001", 0, 0, 1);
+    }
+
+    private static Task task(String id, String projectId, TaskStatus status) {
+        Task task = new Task(id, "Task " + id, null, TaskPriority.MEDIUM, projectId, null);
+        task.setStatus(status);
+        return task;
+    }
+}
@@ -0,0 +1,104 @@
+package com.enterprise.cleanqueen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.enterprise.cleanqueen.dto.request.CleaningRequestSummaryDto;
+import com.enterprise.cleanqueen.enums.CleaningRequestStatus;
+import com.enterprise.cleanqueen.enums.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CleaningRequestExportWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final CleaningRequestExportWriter writer = new CleaningRequestExportWriter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writer, "objectMapper", objectMapper);
+    }
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void writesOneJsonDocumentPerLine() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = writer.write(ExportFormat.NDJSON,
+                List.of(request("REQ0000001", "Jane Doe"), request("REQ0000002", "John Roe")).iterator(), output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("REQ0000001", first.get("id").asText());
+        assertEquals("2024-05-01", first.get("preferredDate").asText());
+        assertEquals("PENDING", first.get("status").asText());
+        assertEquals("John Roe", objectMapper.readTree(lines[1]).get("name").asText());
+    }
+
+    @Test
+    void writesCsvWithHeaderAndEscapedFields() throws IOException {
+        CleaningRequestSummaryDto row = request("REQ0000001", "Doe, Jane");
+        row.setAdditionalDetails("Say \"hi\"\nat the door");
+        row.setServiceAddress("=HYPERLINK(\"http://example.com\")");
+        row.setUserId(null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = writer.write(ExportFormat.CSV, List.of(row).iterator(), output);
+
+        String[] records = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(1, written);
+        assertEquals("id,name,email,phoneNumber,serviceAddress,serviceType,preferredDate,timeFrom,timeTo,"
+                + "additionalDetails,status,userId,createdAt,updatedAt", records[0]);
+        assertEquals("REQ0000001,\"Doe, Jane\",jane@example.com,0771234567,"
+                + "\"'=HYPERLINK(\"\"http://example.com\"\")\",Deep cleaning,2024-05-01,09:00,12:00,"
+                + "\"Say \"\"hi\"\"\nat the door\",PENDING,,2024-04-20T08:15:30,", records[1]);
+    }
+
+    @Test
+    void writesOnlyCsvHeaderForEmptyExport() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = writer.write(ExportFormat.CSV, Collections.emptyIterator(), output);
+
+        assertEquals(0, written);
+        assertEquals(1, output.toString(StandardCharsets.UTF_8).split("\r\n").length);
+    }
+
+    @Test
+    void cancelledExportStopsAtNextFlush() {
+        List<CleaningRequestSummaryDto> rows = Collections.nCopies(1000, request("REQ0000001", "Jane Doe"));
+        Thread.currentThread().interrupt();
+
+        assertThrows(InterruptedIOException.class,
+                () -> writer.write(ExportFormat.NDJSON, rows.iterator(), new ByteArrayOutputStream()));
+    }
+
+    private static CleaningRequestSummaryDto request(String id, String name) {
+        return new CleaningRequestSummaryDto(id, name, "jane@example.com", "0771234567", "12 Main Street",
+                "Deep cleaning", LocalDate.of(2024, 5, 1), LocalTime.of(9, 0), LocalTime.of(12, 0), null,
+                CleaningRequestStatus.PENDING, "USR001", LocalDateTime.of(2024, 4, 20, 8, 15, 30), null);
+    }
+}
@@ -0,0 +1,249 @@
+package com.enterprise.cleanqueen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.enterprise.cleanqueen.util.ImageCompressionUtil.CompressedImageResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ImageCompressionUtilTest {
+
+    private ImageCompressionUtil imageCompressionUtil;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        imageCompressionUtil = new ImageCompressionUtil();
+        ReflectionTestUtils.setField(imageCompressionUtil, "compressionEnabled", true);
+        ReflectionTestUtils.setField(imageCompressionUtil, "targetSizeKb", 200L);
+        ReflectionTestUtils.setField(imageCompressionUtil, "initialQuality", 0.8);
+        ReflectionTestUtils.setField(imageCompressionUtil, "maxDimension", 800);
+        ReflectionTestUtils.setField(imageCompressionUtil, "maxDecodedMb", 48);
+        ReflectionTestUtils.setField(imageCompressionUtil, "decodeBudgetMb", 256);
+        ReflectionTestUtils.setField(imageCompressionUtil, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(imageCompressionUtil, "initialize");
+    }
+
+    @Test
+    void largeJpegIsScaledToMaxDimensionAndFitsTarget() throws IOException {
+        byte[] original = encode(photo(2400, 1600, BufferedImage.TYPE_INT_RGB), "jpeg");
+
+        CompressedImageResult result = compress(original, "image/jpeg");
+
+        assertTrue(result.wasCompressed());
+        assertEquals("image/jpeg", result.getContentType());
+        assertTrue(result.getSizeBytes() <= 200 * 1024, "size " + result.getSizeBytes());
+        BufferedImage compressed = ImageIO.read(new ByteArrayInputStream(result.getImageData()));
+        // Decoded with subsampling 3, so the longer side already fits
+        assertTrue(compressed.getWidth() <= 800);
+        assertEquals(1.5, (double) compressed.getWidth() / compressed.getHeight(), 0.01);
+        assertEquals(0.0, meterRegistry.get("image.compression.decode.budget.used").gauge().value());
+    }
+
+    @Test
+    void transparentPngStaysPng() throws IOException {
+        byte[] original = encode(photo(1200, 1200, BufferedImage.TYPE_INT_ARGB), "png");
+
+        CompressedImageResult result = compress(original, "image/png");
+
+        assertTrue(result.wasCompressed());
+        assertEquals("image/png", result.getContentType());
+        BufferedImage compressed = ImageIO.read(new ByteArrayInputStream(result.getImageData()));
+        assertTrue(compressed.getColorModel().hasAlpha());
+        assertTrue(Math.max(compressed.getWidth(), compressed.getHeight()) <= 800);
+    }
+
+    @Test
+    void smallImageIsKeptAsUploaded() throws IOException {
+        byte[] original = encode(photo(320, 240, BufferedImage.TYPE_INT_RGB), "jpeg");
+
+        CompressedImageResult result = compress(original, "image/jpeg");
+
+        assertFalse(result.wasCompressed());
+        assertNull(result.getImageData());
+        assertEquals(original.length, result.getSizeBytes());
+    }
+
+    @Test
+    void repeatedCompressionsOnOneThreadEachUseAFreshWriter() throws IOException {
+        byte[] original = encode(photo(1600, 1200, BufferedImage.TYPE_INT_RGB), "jpeg");
+
+        for (int i = 0; i < 5; i++) {
+            CompressedImageResult result = compress(original, "image/jpeg");
+            assertNotNull(ImageIO.read(new ByteArrayInputStream(result.getImageData())));
+        }
+        assertEquals(0.0, meterRegistry.get("image.compression.decode.budget.used").gauge().value());
+    }
+
+    @Test
+    void bytesPerPixelFollowTheDecodedImageType() throws IOException {
+        assertEquals(8, bytesPerPixel(encode(rgba16(4, 4), "png")));
+        assertEquals(4, bytesPerPixel(encode(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB), "png")));
+        assertEquals(3, bytesPerPixel(encode(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB), "jpeg")));
+        assertEquals(1, bytesPerPixel(encode(new BufferedImage(4, 4, BufferedImage.TYPE_BYTE_GRAY), "png")));
+    }
+
+    @Test
+    void reservationCoversScaledCopyAndOutputAndRoundsUp() {
+        // 1 MB decoded at 4 bytes per pixel, plus 1 MB scaled copy and 1 MB output
+        assertEquals(3, imageCompressionUtil.reservedMegabytes(512, 512, 1, 4));
+        assertEquals(4, imageCompressionUtil.reservedMegabytes(513, 512, 1, 4));
+        // 4000x3000 16-bit RGBA decoded at 800x600: 3.7 MB raster, 1.8 MB scaled copy, 1.8 MB output
+        assertEquals(8, imageCompressionUtil.reservedMegabytes(4000, 3000, 5, 8));
+        assertEquals(1, imageCompressionUtil.reservedMegabytes(10, 10, 1, 3));
+        // Never more than the whole budget, so a single large image can still be compressed
+        assertEquals(256, imageCompressionUtil.reservedMegabytes(20000, 20000, 1, 8));
+    }
+
+    @Test
+    void subsamplingKeepsMaxDimensionPixelsUnlessTheDecodedCapIsHit() {
+        // 3000x2000 RGB at 800 pixels: every 3rd pixel leaves 1000x667, 2 MB decoded
+        assertEquals(3, imageCompressionUtil.computeSubsampling(3000, 2000, 3));
+        assertEquals(1, imageCompressionUtil.computeSubsampling(800, 600, 3));
+
+        // With a 1 MB cap the 16-bit RGBA version has to be decoded at every 7th pixel: 429x286 x 8 bytes
+        ReflectionTestUtils.setField(imageCompressionUtil, "maxDecodedMb", 1);
+        assertEquals(7, imageCompressionUtil.computeSubsampling(3000, 2000, 8));
+    }
+
+    @Test
+    void largeImageIsDecodedSubsampledWithinTheDecodedCapAndTheBudget() throws IOException {
+        ReflectionTestUtils.setField(imageCompressionUtil, "maxDecodedMb", 1);
+        ReflectionTestUtils.setField(imageCompressionUtil, "decodeBudgetMb", 4);
+        SimpleMeterRegistry budgetRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(imageCompressionUtil, "meterRegistry", budgetRegistry);
+        ReflectionTestUtils.invokeMethod(imageCompressionUtil, "initialize");
+        ImageCompressionUtil compressionUtil = spy(imageCompressionUtil);
+
+        List<Integer> subsamplings = new ArrayList<>();
+        List<BufferedImage> decodedImages = new ArrayList<>();
+        List<Double> budgetUsedWhileDecoded = new ArrayList<>();
+        doAnswer(invocation -> {
+            subsamplings.add(invocation.getArgument(3));
+            BufferedImage decoded = (BufferedImage) invocation.callRealMethod();
+            decodedImages.add(decoded);
+            budgetUsedWhileDecoded.add(budgetRegistry.get("image.compression.decode.budget.used").gauge().value());
+            return decoded;
+        }).when(compressionUtil).decodeSubsampled(any(ImageReader.class), anyInt(), anyInt(), anyInt());
+
+        // Every 3rd pixel would leave 800x534 at 3 bytes, 1.2 MB; every 4th leaves 600x400, 0.7 MB
+        byte[] original = encode(gradient(2400, 1600), "jpeg");
+        CompressedImageResult result = compressionUtil.compressImage(
+                new ByteArrayResource(original), "image/jpeg", original.length, "large");
+
+        assertTrue(result.wasCompressed());
+        assertEquals(List.of(4), subsamplings);
+        BufferedImage decoded = decodedImages.get(0);
+        assertEquals(600, decoded.getWidth());
+        assertEquals(400, decoded.getHeight());
+        assertTrue((long) decoded.getWidth() * decoded.getHeight() * 3 <= 1 << 20);
+
+        // Decoded raster plus scaled copy plus output, 2.6 MB rounded up, held within the 4 MB budget
+        assertEquals(3, compressionUtil.reservedMegabytes(2400, 1600, 4, 3));
+        assertEquals(List.of(3.0), budgetUsedWhileDecoded);
+        assertEquals(0.0, budgetRegistry.get("image.compression.decode.budget.used").gauge().value());
+    }
+
+    @Test
+    void sixteenBitPngIsCompressedAndReleasesItsReservation() throws IOException {
+        BufferedImage image = rgba16(1000, 1000);
+        image.getGraphics().drawImage(photo(1000, 1000, BufferedImage.TYPE_INT_ARGB), 0, 0, null);
+        byte[] original = encode(image, "png");
+
+        CompressedImageResult result = compress(original, "image/png");
+
+        assertTrue(result.wasCompressed());
+        assertEquals("image/png", result.getContentType());
+        assertEquals(0.0, meterRegistry.get("image.compression.decode.budget.used").gauge().value());
+    }
+
+    @Test
+    void unreadableDataIsRejected() {
+        assertThrows(IOException.class, () -> compress(new byte[] {1, 2, 3, 4}, "image/jpeg"));
+    }
+
+    private CompressedImageResult compress(byte[] data, String contentType) throws IOException {
+        return imageCompressionUtil.compressImage(new ByteArrayResource(data), contentType, data.length, "test");
+    }
+
+    private static int bytesPerPixel(byte[] data) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            ImageReader reader = ImageIO.getImageReaders(input).next();
+            try {
+                reader.setInput(input, true, true);
+                return ImageCompressionUtil.decodedBytesPerPixel(reader);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage rgba16(int width, int height) {
+        return ImageTypeSpecifier.createInterleaved(ColorSpace.getInstance(ColorSpace.CS_sRGB),
+                new int[] {0, 1, 2, 3}, DataBuffer.TYPE_USHORT, true, false).createBufferedImage(width, height);
+    }
+
+    private static BufferedImage gradient(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.WHITE, width, height, Color.DARK_GRAY));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+
+    // Smooth gradients with light noise, which compress roughly like a photo
+    private static BufferedImage photo(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int r = (x * 255 / width + random.nextInt(16)) & 0xFF;
+                int g = (y * 255 / height + random.nextInt(16)) & 0xFF;
+                int b = ((x + y) * 255 / (width + height)) & 0xFF;
+                int a = type == BufferedImage.TYPE_INT_ARGB ? (x * 255 / width) : 0xFF;
+                image.setRGB(x, y, (a << 24) | (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, format, outputStream);
+        return outputStream.toByteArray();
+    }
+}
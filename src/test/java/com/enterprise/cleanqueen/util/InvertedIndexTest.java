@@ -0,0 +1,70 @@
+package com.enterprise.cleanqueen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void tokenizesToLowerCaseWordsWithoutDiacritics() {
+        assertEquals(Set.of("cafe", "creme", "brulee", "42b"), InvertedIndex.tokenize("Café  Crème-Brûlée, #42B"));
+        assertTrue(InvertedIndex.tokenize("  -- ").isEmpty());
+        assertTrue(InvertedIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void matchesEveryQueryTokenAsPrefix() {
+        index.put("P1", "Office cleaning Colombo", 1);
+        index.put("P2", "Office windows Kandy", 2);
+        index.put("P3", "Home cleaning Colombo", 3);
+
+        assertEquals(List.of("P3", "P1"), index.search("clean col", 10));
+        assertEquals(List.of("P1"), index.search("OFF col", 10));
+        assertEquals(List.of(), index.search("office galle", 10));
+    }
+
+    @Test
+    void returnsHighestRankFirstUpToLimit() {
+        index.put("OLD", "deep cleaning", 100);
+        index.put("NEW", "deep cleaning", 300);
+        index.put("MID", "deep cleaning", 200);
+
+        assertEquals(List.of("NEW", "MID"), index.search("deep", 2));
+    }
+
+    @Test
+    void replacingDocumentDropsItsOldTokens() {
+        index.put("P1", "Office cleaning", 1);
+        index.put("P1", "Warehouse cleaning", 1);
+
+        assertEquals(List.of(), index.search("office", 10));
+        assertEquals(List.of("P1"), index.search("warehouse", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void removedDocumentIsNoLongerFound() {
+        index.put("P1", "Office cleaning", 1);
+        index.put("P2", "Office cleaning", 2);
+
+        index.remove("P2");
+        index.remove("UNKNOWN");
+
+        assertEquals(List.of("P1"), index.search("office", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void blankQueryMatchesNothing() {
+        index.put("P1", "Office cleaning", 1);
+
+        assertEquals(List.of(), index.search(" ,. ", 10));
+    }
+}
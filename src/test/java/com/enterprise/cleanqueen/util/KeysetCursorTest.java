@@ -0,0 +1,66 @@
+package com.enterprise.cleanqueen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.enterprise.cleanqueen.exception.BusinessException;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsPositionWithNanoseconds() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 15, 9, 30, 12, 123_456_789);
+
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(createdAt, "PRJ001").encode());
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals("PRJ001", decoded.getId());
+    }
+
+    @Test
+    void roundTripsPositionOnWholeMinute() {
+        // LocalDateTime.toString drops zero seconds
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 15, 9, 30);
+
+        assertEquals(createdAt, KeysetCursor.decode(new KeysetCursor(createdAt, "PRJ001").encode()).getCreatedAt());
+    }
+
+    @Test
+    void encodesUrlSafeTokenWithoutPadding() {
+        String token = new KeysetCursor(LocalDateTime.of(2024, 1, 1, 0, 0, 0, 1), "A?B/C").encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void keepsSeparatorInsideId() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 15, 9, 30, 12);
+
+        assertEquals("A|B", KeysetCursor.decode(new KeysetCursor(createdAt, "A|B").encode()).getId());
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode("  "));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThrows(BusinessException.class, () -> KeysetCursor.decode("not base64!"));
+        assertThrows(BusinessException.class, () -> KeysetCursor.decode(encodeRaw("no-separator")));
+        assertThrows(BusinessException.class, () -> KeysetCursor.decode(encodeRaw("yesterday|PRJ001")));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
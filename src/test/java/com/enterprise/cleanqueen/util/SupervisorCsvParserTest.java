@@ -0,0 +1,80 @@
+package com.enterprise.cleanqueen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.enterprise.cleanqueen.dto.admin.CreateSupervisorRequest;
+import com.enterprise.cleanqueen.exception.BusinessException;
+
+class SupervisorCsvParserTest {
+
+    private final SupervisorCsvParser parser = new SupervisorCsvParser();
+
+    @Test
+    void columnsAreMatchedByHeaderNameInAnyOrderAndCase() {
+        List<CreateSupervisorRequest> requests = parser.parse(
+                "E-Mail,LASTNAME,first_name,Phone Number\n"
+                + "ada@example.com,Lovelace,Ada,+15550100\n");
+
+        assertEquals(1, requests.size());
+        CreateSupervisorRequest request = requests.get(0);
+        assertEquals("Ada", request.getFirstName());
+        assertEquals("Lovelace", request.getLastName());
+        assertEquals("ada@example.com", request.getEmail());
+        assertEquals("+15550100", request.getPhoneNumber());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() {
+        List<CreateSupervisorRequest> requests = parser.parse(
+                "firstName,lastName,email\r\n"
+                + "\"Mary, Jr.\",\"O\"\"Neil\nSmith\",mary@example.com\r\n");
+
+        assertEquals(1, requests.size());
+        assertEquals("Mary, Jr.", requests.get(0).getFirstName());
+        assertEquals("O\"Neil\nSmith", requests.get(0).getLastName());
+        assertEquals("mary@example.com", requests.get(0).getEmail());
+    }
+
+    @Test
+    void blankLinesAreSkippedAndMissingOrEmptyColumnsBecomeNull() {
+        List<CreateSupervisorRequest> requests = parser.parse(
+                "\uFEFFfirstName,email,lastName\n"
+                + "\n"
+                + "Grace,grace@example.com\n"
+                + "  ,  ,Hopper\n"
+                + "\n");
+
+        assertEquals(2, requests.size());
+        assertEquals("Grace", requests.get(0).getFirstName());
+        assertNull(requests.get(0).getLastName());
+        assertNull(requests.get(0).getPhoneNumber());
+        // Left for the per-row validation to report
+        assertNull(requests.get(1).getFirstName());
+        assertNull(requests.get(1).getEmail());
+        assertEquals("Hopper", requests.get(1).getLastName());
+    }
+
+    @Test
+    void headerOnlyUploadHasNoRows() {
+        assertEquals(List.of(), parser.parse("firstName,email"));
+    }
+
+    @Test
+    void missingOrIncompleteHeaderIsRejected() {
+        assertThrows(BusinessException.class, () -> parser.parse(""));
+        assertThrows(BusinessException.class, () -> parser.parse(null));
+        assertThrows(BusinessException.class, () -> parser.parse("firstName,lastName\nAda,Lovelace"));
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() {
+        assertThrows(BusinessException.class,
+                () -> parser.parse("firstName,email\n\"Ada,ada@example.com\n"));
+    }
+}
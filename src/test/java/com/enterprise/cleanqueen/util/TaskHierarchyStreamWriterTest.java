@@ -0,0 +1,222 @@
+package com.enterprise.cleanqueen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.enterprise.cleanqueen.dto.project.ProjectTaskHierarchyResponse;
+import com.enterprise.cleanqueen.dto.project.TaskHierarchyRow;
+import com.enterprise.cleanqueen.entity.Project;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+class TaskHierarchyStreamWriterTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private final TaskHierarchyStreamWriter writer = new TaskHierarchyStreamWriter();
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writer, "objectMapper", objectMapper);
+        project = new Project();
+        project.setId("PRJ001");
+        project.setName("Office cleaning");
+    }
+
+    @Test
+    void streamedTreeMatchesAssembledTree() throws IOException {
+        Task rootB = task("ROOTBBBB", null);
+        Task rootA = task("ROOTAAAA", null);
+        Task child2 = task("CHILD002", rootA);
+        Task child1 = task("CHILD001", rootA);
+        Task grandchild = task("GRAND001", child1);
+        Task deletedParent = task("DELETED1", rootB);
+        Task orphan = task("ORPHAN01", deletedParent);
+        Task orphanChild = task("ORPHANC1", orphan);
+        Task deletedRoot = task("AAAAAAAA", null);
+        Task rootlessOrphan = task("ORPHAN02", deletedRoot);
+        grandchild.setStatus(TaskStatus.COMPLETED);
+        orphanChild.setStatus(TaskStatus.COMPLETED);
+
+        // The deleted tasks are missing from both reads
+        List<Task> activeTasks = List.of(orphanChild, child2, rootB, grandchild, rootlessOrphan, orphan, child1, rootA);
+        TaskTreeAssembler.AssembledTaskTree assembled = new TaskTreeAssembler().assemble(activeTasks);
+
+        // The stream query returns rows in path order
+        List<Task> pathOrdered = new ArrayList<>(activeTasks);
+        pathOrdered.sort(TaskTreeAssembler.HIERARCHY_ORDER);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writer.write(project, pathOrdered.stream().map(TaskHierarchyStreamWriterTest::row).iterator(), output);
+
+        JsonNode streamedProject = objectMapper.readTree(output.toByteArray()).get("project");
+        assertEquals(idTree(assembled.getRootTasks()), idTree(streamedProject.get("rootTasks")));
+        assertEquals(assembled.getTotalTasks(), streamedProject.get("totalTasks").asInt());
+        assertEquals(assembled.getCompletedTasks(), streamedProject.get("completedTasks").asInt());
+        assertEquals(8, assembled.getTotalTasks());
+        assertEquals(List.of("ORPHAN02", "ROOTAAAA", "ROOTBBBB"),
+                assembled.getRootTasks().stream().map(ProjectTaskHierarchyResponse.TaskHierarchy::getTaskId).toList());
+        assertEquals(2, assembled.getCompletedTasks());
+    }
+
+    @Test
+    void streamsLargeHierarchyWithoutRetainingRows() throws IOException {
+        // 100 roots with 100 children with 10 grandchildren each, generated on demand
+        GeneratedRows rows = new GeneratedRows(100, 100, 10);
+        TailOutputStream output = new TailOutputStream(512);
+
+        writer.write(project, rows, output);
+
+        assertEquals(101_100, rows.emitted);
+        assertTrue(output.tail().contains("\"totalTasks\":101100"), "Document must end with the task statistics");
+
+        // Rows written earlier were collectable while later rows were still being streamed
+        assertTrue(rows.firstRowCollected, "Streamed rows must not be retained by the writer");
+    }
+
+    private static List<Object> idTree(List<ProjectTaskHierarchyResponse.TaskHierarchy> nodes) {
+        List<Object> tree = new ArrayList<>();
+        for (ProjectTaskHierarchyResponse.TaskHierarchy node : nodes) {
+            tree.add(List.of(node.getTaskId(), idTree(node.getSubtasks())));
+        }
+        return tree;
+    }
+
+    private static List<Object> idTree(JsonNode nodes) {
+        List<Object> tree = new ArrayList<>();
+        for (JsonNode node : nodes) {
+            tree.add(List.of(node.get("taskId").asText(), idTree(node.get("subtasks"))));
+        }
+        return tree;
+    }
+
+    private static Task task(String id, Task parent) {
+        Task task = new Task(id, "Task " + id, null, TaskPriority.MEDIUM, "PRJ001", null);
+        task.placeUnder(parent);
+        return task;
+    }
+
+    private static TaskHierarchyRow row(Task task) {
+        return new TaskHierarchyRow(task.getId(), task.getName(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getAverageRating(), task.getCreatedAt(), task.getUpdatedAt(), task.getPath());
+    }
+
+    /**
+     * Rows of a three-level tree in path order, created only when the writer asks for them
+     */
+    private static class GeneratedRows implements Iterator<TaskHierarchyRow> {
+        private final int roots;
+        private final int childrenPerRoot;
+        private final int grandchildrenPerChild;
+        private int root;
+        private int child = -1; // -1 while the root row itself is next
+        private int grandchild = -1; // -1 while the child row itself is next
+        private int emitted;
+        private WeakReference<TaskHierarchyRow> firstRow;
+        private boolean firstRowCollected;
+
+        GeneratedRows(int roots, int childrenPerRoot, int grandchildrenPerChild) {
+            this.roots = roots;
+            this.childrenPerRoot = childrenPerRoot;
+            this.grandchildrenPerChild = grandchildrenPerChild;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return root < roots;
+        }
+
+        @Override
+        public TaskHierarchyRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String rootPath = "/" + String.format("R%07d", root) + "/";
+            TaskHierarchyRow row;
+            if (child < 0) {
+                row = row(String.format("R%07d", root), rootPath);
+                child = 0;
+            } else {
+                String childId = String.format("C%03d%04d", root, child);
+                if (grandchild < 0) {
+                    row = row(childId, rootPath + childId + "/");
+                    grandchild = 0;
+                } else {
+                    String grandchildId = String.format("G%03d%02d%02d", root, child, grandchild);
+                    row = row(grandchildId, rootPath + childId + "/" + grandchildId + "/");
+                    grandchild++;
+                }
+                if (grandchild == grandchildrenPerChild) {
+                    grandchild = -1;
+                    child++;
+                }
+                if (child == childrenPerRoot) {
+                    child = -1;
+                    root++;
+                }
+            }
+
+            emitted++;
+            if (firstRow == null) {
+                firstRow = new WeakReference<>(row);
+            } else if (emitted == 50_000) {
+                firstRowCollected = isCollected(firstRow);
+            }
+            return row;
+        }
+
+        private static boolean isCollected(WeakReference<?> reference) {
+            for (int attempt = 0; attempt < 10 && reference.get() != null; attempt++) {
+                System.gc();
+            }
+            return reference.get() == null;
+        }
+
+        private static TaskHierarchyRow row(String id, String path) {
+            return new TaskHierarchyRow(id, "Task " + id, null, TaskStatus.PENDING_ASSIGNMENT, TaskPriority.MEDIUM,
+                    null, null, null, path);
+        }
+    }
+
+    /**
+     * Discards the document but keeps its last characters
+     */
+    private static class TailOutputStream extends OutputStream {
+        private final int capacity;
+        private final StringBuilder tail = new StringBuilder();
+
+        TailOutputStream(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public void write(int b) {
+            tail.append((char) b);
+            if (tail.length() > capacity * 2) {
+                tail.delete(0, tail.length() - capacity);
+            }
+        }
+
+        String tail() {
+            return tail.toString();
+        }
+    }
+}
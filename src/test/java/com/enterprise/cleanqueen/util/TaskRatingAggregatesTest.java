@@ -0,0 +1,84 @@
+package com.enterprise.cleanqueen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+
+class TaskRatingAggregatesTest {
+
+    @Test
+    void sumsAreRecomputedFromDirectChildrenOnly() {
+        Task root = task("ROOT0001", null, null);
+        Task child = task("CHILD001", "ROOT0001", 4.0f);
+        Task unrated = task("CHILD002", "ROOT0001", null);
+        Task grandchild = task("GRAND001", "CHILD001", 4.0f);
+
+        TaskRatingAggregates aggregates = TaskRatingAggregates.recompute(List.of(root, child, unrated, grandchild));
+
+        assertEquals(2, root.getChildCount());
+        assertEquals(1, root.getRatedChildCount());
+        assertEquals(4.0, root.getRatingSum());
+        assertEquals(1, child.getChildCount());
+        assertEquals(4.0, child.getRatingSum());
+        assertEquals(0, grandchild.getChildCount());
+
+        assertEquals(1, aggregates.getRootCount());
+        assertEquals(0, aggregates.getRatedRootCount());
+        assertEquals(0.0, aggregates.getRootRatingSum());
+    }
+
+    @Test
+    void tasksWhoseParentIsMissingCountAsRoots() {
+        Task root = task("ROOT0001", null, 3.0f);
+        Task orphan = task("ORPHAN01", "DELETED1", 5.0f);
+
+        TaskRatingAggregates aggregates = TaskRatingAggregates.recompute(List.of(root, orphan));
+
+        assertEquals(2, aggregates.getRootCount());
+        assertEquals(2, aggregates.getRatedRootCount());
+        assertEquals(8.0, aggregates.getRootRatingSum());
+    }
+
+    @Test
+    void onlyTasksWithChangedSumsAreReported() {
+        Task root = task("ROOT0001", null, null);
+        Task child = task("CHILD001", "ROOT0001", 2.0f);
+        root.setChildCount(1);
+        root.setRatedChildCount(1);
+        root.setRatingSum(2.0);
+
+        // A legacy row whose sums were never computed
+        Task legacy = task("LEGACY01", null, null);
+        Task legacyChild = task("LEGACYC1", "LEGACY01", null);
+        legacy.setChildCount(null);
+        legacy.setRatedChildCount(null);
+        legacy.setRatingSum(null);
+
+        TaskRatingAggregates aggregates = TaskRatingAggregates.recompute(List.of(root, child, legacy, legacyChild));
+
+        assertEquals(List.of(legacy), aggregates.getChangedTasks());
+        assertEquals(1, legacy.getChildCount());
+        assertEquals(0, legacy.getRatedChildCount());
+        assertEquals(0.0, legacy.getRatingSum());
+    }
+
+    @Test
+    void emptyProjectHasNoRoots() {
+        TaskRatingAggregates aggregates = TaskRatingAggregates.recompute(List.of());
+
+        assertEquals(0, aggregates.getRootCount());
+        assertTrue(aggregates.getChangedTasks().isEmpty());
+    }
+
+    private static Task task(String id, String parentId, Float rating) {
+        Task task = new Task(id, "Task " + id, null, TaskPriority.MEDIUM, "PRJ001", parentId);
+        task.setAverageRating(rating);
+        return task;
+    }
+}
@@ -0,0 +1,139 @@
+package com.enterprise.cleanqueen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.enterprise.cleanqueen.dto.project.ProjectTaskHierarchyResponse;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+
+class TaskTreeAssemblerTest {
+
+    private final TaskTreeAssembler assembler = new TaskTreeAssembler();
+
+    @Test
+    void assemblesNestedTreeFromFlatList() {
+        Task root = task("ROOT0001", null);
+        Task child1 = task("CHILD001", root);
+        Task child2 = task("CHILD002", root);
+        Task grandchild = task("GRAND001", child1);
+        child2.setStatus(TaskStatus.COMPLETED);
+        grandchild.setStatus(TaskStatus.COMPLETED);
+
+        // Children listed before their parents still end up under them
+        TaskTreeAssembler.AssembledTaskTree tree = assembler.assemble(List.of(grandchild, child2, root, child1));
+
+        assertEquals(1, tree.getRootTasks().size());
+        ProjectTaskHierarchyResponse.TaskHierarchy rootNode = tree.getRootTasks().get(0);
+        assertEquals("ROOT0001", rootNode.getTaskId());
+        assertEquals(List.of("CHILD001", "CHILD002"), ids(rootNode.getSubtasks()));
+        assertEquals(List.of("GRAND001"), ids(rootNode.getSubtasks().get(0).getSubtasks()));
+        assertTrue(rootNode.getSubtasks().get(1).getSubtasks().isEmpty());
+        assertEquals(4, tree.getTotalTasks());
+        assertEquals(2, tree.getCompletedTasks());
+    }
+
+    @Test
+    void assemblesSeveralRoots() {
+        Task first = task("ROOT0001", null);
+        Task second = task("ROOT0002", null);
+
+        TaskTreeAssembler.AssembledTaskTree tree = assembler.assemble(List.of(first, second));
+
+        assertEquals(List.of("ROOT0001", "ROOT0002"), ids(tree.getRootTasks()));
+        assertEquals(2, tree.getTotalTasks());
+        assertEquals(0, tree.getCompletedTasks());
+    }
+
+    @Test
+    void listsSiblingsInPathOrderWhateverTheInputOrder() {
+        Task rootB = task("ROOTBBBB", null);
+        Task rootA = task("ROOTAAAA", null);
+        Task child2 = task("CHILD002", rootA);
+        Task child1 = task("CHILD001", rootA);
+
+        TaskTreeAssembler.AssembledTaskTree tree = assembler.assemble(List.of(child2, rootB, child1, rootA));
+
+        assertEquals(List.of("ROOTAAAA", "ROOTBBBB"), ids(tree.getRootTasks()));
+        assertEquals(List.of("CHILD001", "CHILD002"), ids(tree.getRootTasks().get(0).getSubtasks()));
+    }
+
+    @Test
+    void taskBelowDeletedParentMovesUpToNearestActiveAncestor() {
+        Task root = task("ROOT0001", null);
+        Task deletedParent = task("DELETED1", root);
+        Task orphan = task("ORPHAN01", deletedParent);
+        Task orphanChild = task("ORPHANC1", orphan);
+        orphanChild.setStatus(TaskStatus.COMPLETED);
+
+        // The deleted parent is not among the loaded tasks
+        TaskTreeAssembler.AssembledTaskTree tree = assembler.assemble(List.of(root, orphan, orphanChild));
+
+        assertEquals(List.of("ROOT0001"), ids(tree.getRootTasks()));
+        ProjectTaskHierarchyResponse.TaskHierarchy orphanNode = tree.getRootTasks().get(0).getSubtasks().get(0);
+        assertEquals("ORPHAN01", orphanNode.getTaskId());
+        assertEquals(List.of("ORPHANC1"), ids(orphanNode.getSubtasks()));
+        assertEquals(3, tree.getTotalTasks());
+        assertEquals(1, tree.getCompletedTasks());
+    }
+
+    @Test
+    void taskWithoutActiveAncestorIsListedAsRoot() {
+        Task deletedRoot = task("DELETED1", null);
+        Task orphan = task("ORPHAN01", deletedRoot);
+        Task root = task("ROOT0001", null);
+
+        TaskTreeAssembler.AssembledTaskTree tree = assembler.assemble(List.of(root, orphan));
+
+        // Path order: /DELETED1/ORPHAN01/ before /ROOT0001/
+        assertEquals(List.of("ORPHAN01", "ROOT0001"), ids(tree.getRootTasks()));
+        assertEquals(2, tree.getTotalTasks());
+    }
+
+    @Test
+    void assemblesEmptyProject() {
+        TaskTreeAssembler.AssembledTaskTree tree = assembler.assemble(List.of());
+
+        assertTrue(tree.getRootTasks().isEmpty());
+        assertEquals(0, tree.getTotalTasks());
+    }
+
+    @Test
+    void assemblesDeepTreeWithoutLosingTasks() {
+        List<Task> tasks = new ArrayList<>();
+        Task parent = null;
+        for (int i = 0; i < 200; i++) {
+            Task task = task(String.format("T%07d", i), parent);
+            tasks.add(task);
+            parent = task;
+        }
+
+        TaskTreeAssembler.AssembledTaskTree tree = assembler.assemble(tasks);
+
+        int depth = 0;
+        List<ProjectTaskHierarchyResponse.TaskHierarchy> level = tree.getRootTasks();
+        while (!level.isEmpty()) {
+            assertEquals(1, level.size());
+            depth++;
+            level = level.get(0).getSubtasks();
+        }
+        assertEquals(200, depth);
+        assertEquals(200, tree.getTotalTasks());
+    }
+
+    private static Task task(String id, Task parent) {
+        Task task = new Task(id, "Task " + id, null, TaskPriority.MEDIUM, "PRJ001", null);
+        task.placeUnder(parent);
+        return task;
+    }
+
+    private static List<String> ids(List<ProjectTaskHierarchyResponse.TaskHierarchy> nodes) {
+        return nodes.stream().map(ProjectTaskHierarchyResponse.TaskHierarchy::getTaskId).toList();
+    }
+}
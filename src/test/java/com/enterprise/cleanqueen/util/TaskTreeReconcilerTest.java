@@ -0,0 +1,155 @@
+package com.enterprise.cleanqueen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.enterprise.cleanqueen.dto.project.TaskUpdateRequest;
+import com.enterprise.cleanqueen.entity.Task;
+import com.enterprise.cleanqueen.enums.TaskPriority;
+import com.enterprise.cleanqueen.enums.TaskStatus;
+
+@ExtendWith(MockitoExtension.class)
+class TaskTreeReconcilerTest {
+
+    private static final String PROJECT_ID = "PRJ001";
+
+    @Spy
+    private CodeGenerator codeGenerator = new CodeGenerator();
+
+    @InjectMocks
+    private TaskTreeReconciler reconciler;
+
+    private Task root;
+    private Task child;
+    private Task grandchild;
+
+    @BeforeEach
+    void setUp() {
+        root = task("ROOT0001", null);
+        child = task("CHILD001", root);
+        grandchild = task("GRAND001", child);
+    }
+
+    @Test
+    void unchangedTreeProducesNoWrites() {
+        TaskTreeReconciler.TaskTreeChanges changes = reconciler.reconcile(
+                List.of(request(root, request(child, request(grandchild)))), PROJECT_ID, existing());
+
+        assertTrue(changes.getTasksToInsert().isEmpty());
+        assertTrue(changes.getTasksToUpdate().isEmpty());
+        assertTrue(changes.getTasksToDelete().isEmpty());
+        assertTrue(changes.getCounterDelta().isEmpty());
+    }
+
+    @Test
+    void changedAddedAndRemovedTasksAreSeparated() {
+        TaskUpdateRequest renamedChild = request(child);
+        renamedChild.setName("Renamed");
+        TaskUpdateRequest newTask = new TaskUpdateRequest(null, "New", null, TaskStatus.IN_PROGRESS, null, null);
+        renamedChild.setSubtasks(List.of(newTask)); // grandchild dropped
+
+        TaskTreeReconciler.TaskTreeChanges changes = reconciler.reconcile(
+                List.of(request(root, renamedChild)), PROJECT_ID, existing());
+
+        assertEquals(List.of(child), changes.getTasksToUpdate());
+        assertEquals("Renamed", child.getName());
+        assertEquals(List.of("GRAND001"), changes.getTaskIdsToDelete());
+
+        assertEquals(1, changes.getTasksToInsert().size());
+        Task inserted = changes.getTasksToInsert().get(0);
+        assertEquals("CHILD001", inserted.getParentId());
+        assertEquals("/ROOT0001/CHILD001/" + inserted.getId() + "/", inserted.getPath());
+        assertEquals(TaskPriority.MEDIUM, inserted.getPriority());
+        assertEquals(PROJECT_ID, inserted.getProjectId());
+
+        // One task in, one task out, and the new one is in progress
+        assertEquals(0, changes.getCounterDelta().getTotalTasks());
+        assertEquals(1, changes.getCounterDelta().getActiveTasks());
+        assertEquals(0, changes.getCounterDelta().getCompletedTasks());
+    }
+
+    @Test
+    void movedTaskAndItsSubtreeGetNewPaths() {
+        // Child moves to the top level, taking the grandchild with it
+        TaskTreeReconciler.TaskTreeChanges changes = reconciler.reconcile(
+                List.of(request(root), request(child, request(grandchild))), PROJECT_ID, existing());
+
+        assertEquals(List.of(child, grandchild), changes.getTasksToUpdate());
+        assertNull(child.getParentId());
+        assertEquals("/CHILD001/", child.getPath());
+        assertEquals(0, child.getDepth());
+        assertEquals("/CHILD001/GRAND001/", grandchild.getPath());
+        assertEquals(1, grandchild.getDepth());
+        assertTrue(changes.getCounterDelta().isEmpty());
+    }
+
+    @Test
+    void statusChangesAreCountedOnce() {
+        TaskUpdateRequest completedGrandchild = request(grandchild);
+        completedGrandchild.setStatus(TaskStatus.COMPLETED);
+
+        TaskTreeReconciler.TaskTreeChanges changes = reconciler.reconcile(
+                List.of(request(root, request(child, completedGrandchild))), PROJECT_ID, existing());
+
+        assertEquals(List.of(grandchild), changes.getTasksToUpdate());
+        assertEquals(0, changes.getCounterDelta().getTotalTasks());
+        assertEquals(1, changes.getCounterDelta().getCompletedTasks());
+    }
+
+    @Test
+    void legacyTreeIsIndexedOnceAndThenLeftAlone() {
+        // Written before the hierarchy index: no paths, and a root row that only got its path
+        root.setDepth(null);
+        child.setPath(null);
+        child.setDepth(null);
+        grandchild.setPath(null);
+        grandchild.setDepth(null);
+        List<TaskUpdateRequest> requests = List.of(request(root, request(child, request(grandchild))));
+
+        TaskTreeReconciler.TaskTreeChanges first = reconciler.reconcile(requests, PROJECT_ID, existing());
+
+        assertEquals(List.of(root, child, grandchild), first.getTasksToUpdate());
+        assertEquals("/ROOT0001/CHILD001/GRAND001/", grandchild.getPath());
+        assertEquals(2, grandchild.getDepth());
+
+        TaskTreeReconciler.TaskTreeChanges second = reconciler.reconcile(requests, PROJECT_ID, existing());
+
+        assertTrue(second.getTasksToUpdate().isEmpty());
+    }
+
+    @Test
+    void repeatedIdBecomesNewTask() {
+        TaskTreeReconciler.TaskTreeChanges changes = reconciler.reconcile(
+                List.of(request(root, request(child, request(grandchild))), request(root)), PROJECT_ID, existing());
+
+        assertEquals(1, changes.getTasksToInsert().size());
+        assertNotEquals("ROOT0001", changes.getTasksToInsert().get(0).getId());
+        assertEquals(1, changes.getCounterDelta().getTotalTasks());
+    }
+
+    private List<Task> existing() {
+        return List.of(root, child, grandchild);
+    }
+
+    private static Task task(String id, Task parent) {
+        Task task = new Task(id, "Task " + id, null, TaskPriority.MEDIUM, PROJECT_ID, null);
+        task.placeUnder(parent);
+        return task;
+    }
+
+    private static TaskUpdateRequest request(Task task, TaskUpdateRequest... subtasks) {
+        return new TaskUpdateRequest(task.getId(), task.getName(), task.getDescription(), task.getStatus(),
+                task.getPriority(), List.of(subtasks));
+    }
+}